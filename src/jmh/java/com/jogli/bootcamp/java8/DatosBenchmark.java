@@ -0,0 +1,104 @@
+package com.jogli.bootcamp.java8;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * Generadores de datos compartidos por los benchmarks JMH
+ *
+ * Los datos son deterministas (semilla fija) para que las mediciones
+ * sean comparables entre ejecuciones.
+ */
+public final class DatosBenchmark {
+
+    private static final long SEMILLA = 42L;
+
+    // Mismo vocabulario que usan los ejemplos
+    private static final String[] VOCABULARIO = {
+        "casa", "coche", "árbol", "libro", "sol", "mar",
+        "Carlos", "Ana", "Beatriz", "David", "Elena"
+    };
+
+    private DatosBenchmark() {
+    }
+
+    /**
+     * Lista de palabras con, como mucho, {@code distintas} valores diferentes
+     */
+    public static List<String> palabras(int cantidad, int distintas) {
+        SplittableRandom random = new SplittableRandom(SEMILLA);
+        List<String> palabras = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int id = random.nextInt(Math.max(1, distintas));
+            String base = VOCABULARIO[id % VOCABULARIO.length];
+            palabras.add(id < VOCABULARIO.length ? base : base + id);
+        }
+        return palabras;
+    }
+
+    /**
+     * Lista de enteros 1..cantidad, igual que en ejemplo5_StreamsParalelos
+     */
+    public static List<Integer> numeros(int cantidad) {
+        return IntStream.rangeClosed(1, cantidad)
+            .boxed()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Lista de enteros 1..cantidad desordenada
+     */
+    public static List<Integer> numerosDesordenados(int cantidad) {
+        List<Integer> numeros = numeros(cantidad);
+        Collections.shuffle(numeros, new Random(SEMILLA));
+        return numeros;
+    }
+
+    /**
+     * Lista de listas para los ejemplos de flatMap
+     */
+    public static List<List<String>> listasAnidadas(int cantidad) {
+        List<String> palabras = palabras(cantidad, VOCABULARIO.length);
+        List<List<String>> anidadas = new ArrayList<>();
+        for (int i = 0; i < palabras.size(); i += 3) {
+            anidadas.add(palabras.subList(i, Math.min(i + 3, palabras.size())));
+        }
+        return anidadas;
+    }
+
+    /**
+     * Archivo de texto UTF-8 de unos {@code bytes} bytes con palabras del
+     * vocabulario (y variantes numeradas), unas 10 por línea
+     *
+     * Se genera en el directorio temporal la primera vez y se reutiliza en
+     * las siguientes ejecuciones.
+     */
+    public static Path corpus(long bytes) throws IOException {
+        Path archivo = Paths.get(System.getProperty("java.io.tmpdir"), "corpus-" + bytes + ".txt");
+        if (Files.exists(archivo) && Files.size(archivo) >= bytes) {
+            return archivo;
+        }
+        Path temporal = Files.createTempFile(archivo.getParent(), "corpus", ".tmp");
+        SplittableRandom random = new SplittableRandom(SEMILLA);
+        try (Writer escritor = Files.newBufferedWriter(temporal, StandardCharsets.UTF_8)) {
+            long escritos = 0;
+            StringBuilder linea = new StringBuilder();
+            while (escritos < bytes) {
+                linea.setLength(0);
+                for (int i = 0; i < 10; i++) {
+                    int id = random.nextInt(100_000);
+                    String base = VOCABULARIO[id % VOCABULARIO.length];
+                    linea.append(i == 0 ? "" : " ").append(id < 1000 ? base : base + id);
+                }
+                linea.append('\n');
+                escritor.append(linea);
+                // Aproximado: el vocabulario solo tiene un carácter no ASCII
+                escritos += linea.length();
+            }
+        }
+        return Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,74 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import com.jogli.bootcamp.java8.DatosBenchmark;
+import com.jogli.bootcamp.java8.disco.Serializador;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Coste de {@link AgrupacionExterna} frente a groupingBy en memoria
+ *
+ * Con un heap de 1 GB, groupingBy de 5M palabras todavía cabe; la
+ * variante externa se mide con presupuestos que obligan a volcar a disco
+ * (32 MB) y que no (1 GB), para ver cuánto cuesta el volcado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class AgrupacionExternaBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Datos {
+        @Param({"5000000"})
+        public int elementos;
+
+        @Param({"33554432", "1073741824"})
+        public long memoriaMaxima;
+
+        public List<String> palabras;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            palabras = DatosBenchmark.palabras(elementos, 100_000);
+        }
+    }
+
+    @Benchmark
+    public Map<String, Long> groupingByContando(Datos d) {
+        return d.palabras.stream()
+            .collect(Collectors.groupingBy(p -> p, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<String, Long> externaContando(Datos d) {
+        return d.palabras.stream()
+            .collect(AgrupacionExterna.agruparPor(p -> p, HashMap::new, Collectors.counting(),
+                Serializador.cadenas(), d.memoriaMaxima));
+    }
+
+    @Benchmark
+    public long externaVisitando(Datos d) {
+        long[] total = new long[1];
+        d.palabras.stream()
+            .collect(AgrupacionExterna.visitarGrupos(p -> p, Collectors.counting(),
+                Serializador.cadenas(), d.memoriaMaxima, (clave, cuenta) -> total[0] += cuenta));
+        return total[0];
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> groupingByListas(Datos d) {
+        return d.palabras.stream()
+            .collect(Collectors.groupingBy(String::length));
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> externaListas(Datos d) {
+        return d.palabras.stream()
+            .collect(AgrupacionExterna.agruparPor(String::length, Serializador.cadenas(), d.memoriaMaxima));
+    }
+}
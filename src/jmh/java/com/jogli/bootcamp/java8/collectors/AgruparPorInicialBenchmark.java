@@ -0,0 +1,55 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import com.jogli.bootcamp.java8.DatosBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Agrupar 100M palabras por inicial: substring + toUpperCase frente a {@link Iniciales}
+ *
+ * Las dos variantes cuentan con counting() para que la diferencia sea
+ * solo el cálculo de la clave y la búsqueda del grupo. Con -prof gc se
+ * ven las dos String por palabra de la versión de los ejemplos.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class AgruparPorInicialBenchmark {
+
+    @Param({"100000000"})
+    public int palabras;
+
+    private List<String> corpus;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        // Solo palabras del vocabulario (con "árbol"), compartidas: la lista pesa 400 MB
+        corpus = DatosBenchmark.palabras(palabras, 11);
+    }
+
+    @Benchmark
+    public Map<String, Long> substringToUpperCase() {
+        return corpus.stream()
+            .collect(Collectors.groupingBy(p -> p.substring(0, 1).toUpperCase(), Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<String, Long> inicialConTabla() {
+        return corpus.stream()
+            .collect(CollectorsPrimitivos.agruparPorInicial(p -> p, Collectors.counting()))
+            .comoMapa();
+    }
+
+    @Benchmark
+    public Map<String, Long> inicialConTablaParalelo() {
+        return corpus.parallelStream()
+            .collect(CollectorsPrimitivos.agruparPorInicial(p -> p, Collectors.counting()))
+            .comoMapa();
+    }
+}
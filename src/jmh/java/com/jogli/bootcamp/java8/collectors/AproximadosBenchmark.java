@@ -0,0 +1,79 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import com.jogli.bootcamp.java8.DatosBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * {@link Aproximados} frente a distinct().count() y toSet()
+ *
+ * La precisión se imprime al preparar los datos (error relativo de
+ * HyperLogLog y elementos perdidos por el filtro de Bloom); la memoria
+ * se ve con -prof gc (bytes asignados por operación).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AproximadosBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Datos {
+        @Param({"10000000"})
+        public int elementos;
+
+        @Param({"1000", "1000000"})
+        public int distintas;
+
+        public List<String> palabras;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            palabras = DatosBenchmark.palabras(elementos, distintas);
+            long exacto = palabras.stream().distinct().count();
+            long hll = palabras.stream().collect(Aproximados.contarDistintos(0.01));
+            long bloom = palabras.stream().filter(Aproximados.sinRepetidos(distintas, 0.01)).count();
+            System.out.printf("%nexacto=%d hll=%d (%.2f%%) bloom=%d (%.2f%% perdidos)%n",
+                exacto, hll, 100.0 * (hll - exacto) / exacto, bloom, 100.0 * (exacto - bloom) / exacto);
+        }
+    }
+
+    @Benchmark
+    public long distinctCount(Datos d) {
+        return d.palabras.stream().distinct().count();
+    }
+
+    @Benchmark
+    public long distinctCountParalelo(Datos d) {
+        return d.palabras.parallelStream().distinct().count();
+    }
+
+    @Benchmark
+    public int toSet(Datos d) {
+        return d.palabras.stream().collect(Collectors.toSet()).size();
+    }
+
+    @Benchmark
+    public long hyperLogLog(Datos d) {
+        return d.palabras.stream().collect(Aproximados.contarDistintos(0.01));
+    }
+
+    @Benchmark
+    public long hyperLogLogParalelo(Datos d) {
+        return d.palabras.parallelStream().collect(Aproximados.contarDistintos(0.01));
+    }
+
+    @Benchmark
+    public long bloomSinRepetidos(Datos d) {
+        return d.palabras.stream().filter(Aproximados.sinRepetidos(d.distintas, 0.01)).count();
+    }
+
+    @Benchmark
+    public long bloomSinRepetidosParalelo(Datos d) {
+        return d.palabras.parallelStream().filter(Aproximados.sinRepetidos(d.distintas, 0.01)).count();
+    }
+}
@@ -0,0 +1,162 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import com.jogli.bootcamp.java8.DatosBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Benchmarks JMH de los collectors de {@link CollectorExamples}
+ *
+ * Cubre groupingBy, partitioningBy, toMap, summarizingInt, joining y
+ * EstadisticasString, en versión secuencial y paralela (ForkJoinPool con
+ * {@code hilos} hilos).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectorExamplesBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Datos {
+        @Param({"10", "1000", "100000", "10000000"})
+        public int elementos;
+
+        public List<String> palabras;
+        public List<Integer> numeros;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            palabras = DatosBenchmark.palabras(elementos, 1000);
+            numeros = DatosBenchmark.numeros(elementos);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DatosParalelos extends Datos {
+        @Param({"1", "2", "4", "8"})
+        public int hilos;
+
+        public ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void prepararPool() {
+            pool = new ForkJoinPool(hilos);
+        }
+
+        @TearDown(Level.Trial)
+        public void liberar() {
+            pool.shutdown();
+        }
+
+        <T> T ejecutar(Callable<T> tarea) {
+            return pool.submit(tarea).join();
+        }
+    }
+
+    // groupingBy
+
+    @Benchmark
+    public Map<Integer, List<String>> groupingBy(Datos d) {
+        return d.palabras.stream()
+            .collect(Collectors.groupingBy(String::length));
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> groupingByParalelo(DatosParalelos d) {
+        return d.ejecutar(() -> d.palabras.parallelStream()
+            .collect(Collectors.groupingBy(String::length)));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> groupingByCounting(Datos d) {
+        return d.palabras.stream()
+            .collect(Collectors.groupingBy(String::length, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> groupingByCountingParalelo(DatosParalelos d) {
+        return d.ejecutar(() -> d.palabras.parallelStream()
+            .collect(Collectors.groupingBy(String::length, Collectors.counting())));
+    }
+
+    // partitioningBy
+
+    @Benchmark
+    public Map<Boolean, List<Integer>> partitioningBy(Datos d) {
+        return d.numeros.stream()
+            .collect(Collectors.partitioningBy(n -> n % 2 == 0));
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Integer>> partitioningByParalelo(DatosParalelos d) {
+        return d.ejecutar(() -> d.numeros.parallelStream()
+            .collect(Collectors.partitioningBy(n -> n % 2 == 0)));
+    }
+
+    // toMap
+
+    @Benchmark
+    public Map<String, Integer> toMap(Datos d) {
+        return d.palabras.stream()
+            .collect(Collectors.toMap(
+                palabra -> palabra,
+                String::length,
+                (existente, nuevo) -> existente));
+    }
+
+    @Benchmark
+    public Map<String, Integer> toMapParalelo(DatosParalelos d) {
+        return d.ejecutar(() -> d.palabras.parallelStream()
+            .collect(Collectors.toMap(
+                palabra -> palabra,
+                String::length,
+                (existente, nuevo) -> existente)));
+    }
+
+    // summarizingInt
+
+    @Benchmark
+    public IntSummaryStatistics summarizingInt(Datos d) {
+        return d.numeros.stream()
+            .collect(Collectors.summarizingInt(Integer::intValue));
+    }
+
+    @Benchmark
+    public IntSummaryStatistics summarizingIntParalelo(DatosParalelos d) {
+        return d.ejecutar(() -> d.numeros.parallelStream()
+            .collect(Collectors.summarizingInt(Integer::intValue)));
+    }
+
+    // joining
+
+    @Benchmark
+    public String joining(Datos d) {
+        return d.palabras.stream()
+            .collect(Collectors.joining(" - "));
+    }
+
+    @Benchmark
+    public String joiningParalelo(DatosParalelos d) {
+        return d.ejecutar(() -> d.palabras.parallelStream()
+            .collect(Collectors.joining(" - ")));
+    }
+
+    // EstadisticasString (una pasada, sin materializar la lista)
+
+    @Benchmark
+    public CollectorExamples.EstadisticasString estadisticasString(Datos d) {
+        return d.palabras.stream()
+            .collect(CollectorExamples.EstadisticasString.collector());
+    }
+
+    @Benchmark
+    public CollectorExamples.EstadisticasString estadisticasStringParalelo(DatosParalelos d) {
+        return d.ejecutar(() -> d.palabras.parallelStream()
+            .collect(CollectorExamples.EstadisticasString.collector()));
+    }
+}
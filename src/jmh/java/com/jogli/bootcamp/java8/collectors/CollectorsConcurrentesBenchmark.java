@@ -0,0 +1,85 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import com.jogli.bootcamp.java8.DatosBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Benchmarks JMH de {@link CollectorsConcurrentes} frente a los collectors estándar
+ *
+ * Conteo por palabra (alta cardinalidad) sobre 10M palabras con 1K y 1M
+ * claves distintas, en paralelo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class CollectorsConcurrentesBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Datos {
+        @Param({"10000000"})
+        public int elementos;
+
+        @Param({"1000", "1000000"})
+        public int distintas;
+
+        @Param({"4", "8"})
+        public int hilos;
+
+        public List<String> palabras;
+        public ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            palabras = DatosBenchmark.palabras(elementos, distintas);
+            pool = new ForkJoinPool(hilos);
+        }
+
+        @TearDown(Level.Trial)
+        public void liberar() {
+            pool.shutdown();
+        }
+
+        <T> T ejecutar(Callable<T> tarea) {
+            return pool.submit(tarea).join();
+        }
+    }
+
+    @Benchmark
+    public Map<String, Long> groupingByCounting(Datos d) {
+        return d.ejecutar(() -> d.palabras.parallelStream()
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting())));
+    }
+
+    @Benchmark
+    public Map<String, Long> groupingByConcurrentCounting(Datos d) {
+        return d.ejecutar(() -> d.palabras.parallelStream()
+            .collect(Collectors.groupingByConcurrent(Function.identity(), Collectors.counting())));
+    }
+
+    @Benchmark
+    public Map<String, Long> contarPor(Datos d) {
+        return d.ejecutar(() -> d.palabras.parallelStream()
+            .collect(CollectorsConcurrentes.contarPor(Function.identity())));
+    }
+
+    @Benchmark
+    public Map<Integer, IntSummaryStatistics> groupingBySummarizing(Datos d) {
+        return d.ejecutar(() -> d.palabras.parallelStream()
+            .collect(Collectors.groupingBy(String::length, Collectors.summarizingInt(String::length))));
+    }
+
+    @Benchmark
+    public Map<Integer, CollectorsConcurrentes.EstadisticasIntConcurrentes> agruparPorConcurrenteResumiendo(Datos d) {
+        return d.ejecutar(() -> d.palabras.parallelStream()
+            .collect(CollectorsConcurrentes.agruparPorConcurrente(
+                String::length,
+                CollectorsConcurrentes.resumiendoInt(String::length))));
+    }
+}
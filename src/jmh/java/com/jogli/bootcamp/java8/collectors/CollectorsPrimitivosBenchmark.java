@@ -0,0 +1,87 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import com.jogli.bootcamp.java8.DatosBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * {@link CollectorsPrimitivos} frente a groupingBy y partitioningBy con 50M elementos
+ *
+ * Lo interesante es la memoria: ejecutar con -prof gc para ver
+ * gc.alloc.rate.norm (bytes por operación) y gc.count. Particionar
+ * enteros con partitioningBy crea un Integer por valor; groupingBy con
+ * counting() crea un Long por elemento. Cada operación tarda segundos,
+ * así que se mide una ejecución suelta por iteración.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CollectorsPrimitivosBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Numeros {
+        @Param({"50000000"})
+        public int elementos;
+
+        public int[] valores;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            valores = new SplittableRandom(42).ints(elementos).toArray();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Palabras {
+        @Param({"50000000"})
+        public int elementos;
+
+        public List<String> palabras;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            // Solo palabras del vocabulario: las cadenas se comparten y no pesan
+            palabras = DatosBenchmark.palabras(elementos, 11);
+        }
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Integer>> partitioningBy(Numeros n) {
+        return IntStream.of(n.valores).boxed().collect(Collectors.partitioningBy(v -> v % 2 == 0));
+    }
+
+    @Benchmark
+    public ParticionEnteros particionar(Numeros n) {
+        return CollectorsPrimitivos.particionar(IntStream.of(n.valores), v -> v % 2 == 0);
+    }
+
+    @Benchmark
+    public ParticionEnteros particionarParalelo(Numeros n) {
+        return CollectorsPrimitivos.particionar(IntStream.of(n.valores).parallel(), v -> v % 2 == 0);
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> groupingBy(Palabras p) {
+        return p.palabras.stream().collect(Collectors.groupingBy(String::length));
+    }
+
+    @Benchmark
+    public Map<Integer, List<String>> agruparPorEntero(Palabras p) {
+        return p.palabras.stream().collect(CollectorsPrimitivos.agruparPorEntero(String::length));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> groupingByCounting(Palabras p) {
+        return p.palabras.stream().collect(Collectors.groupingBy(String::length, Collectors.counting()));
+    }
+
+    @Benchmark
+    public Map<Integer, Long> contarPorEntero(Palabras p) {
+        return p.palabras.stream().collect(CollectorsPrimitivos.contarPorEntero(String::length));
+    }
+}
@@ -0,0 +1,79 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Percentiles con {@link Cuantiles} frente a guardar y ordenar las muestras
+ *
+ * Las muestras imitan latencias (log-normal); se comparan summarizingInt
+ * (sin percentiles), el resumen con cuantiles y la versión exacta que
+ * copia y ordena todo el array.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CuantilesBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Datos {
+        @Param({"10000000"})
+        public int elementos;
+
+        public int[] latencias;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            SplittableRandom random = new SplittableRandom(42);
+            latencias = new int[elementos];
+            for (int i = 0; i < elementos; i++) {
+                latencias[i] = (int) Math.exp(8 + 1.5 * normal(random));
+            }
+        }
+
+        private static double normal(SplittableRandom random) {
+            // Box-Muller: SplittableRandom no tiene nextGaussian en Java 8
+            return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        }
+    }
+
+    @Benchmark
+    public IntSummaryStatistics summarizingInt(Datos d) {
+        return IntStream.of(d.latencias).summaryStatistics();
+    }
+
+    @Benchmark
+    public int[] exactoOrdenando(Datos d) {
+        int[] ordenadas = d.latencias.clone();
+        Arrays.sort(ordenadas);
+        int n = ordenadas.length;
+        return new int[] {ordenadas[n / 2], ordenadas[(int) (n * 0.99)], ordenadas[(int) (n * 0.999)]};
+    }
+
+    @Benchmark
+    public int[] conCuantiles(Datos d) {
+        EstadisticasIntConCuantiles e = IntStream.of(d.latencias)
+            .collect(EstadisticasIntConCuantiles::new, EstadisticasIntConCuantiles::accept,
+                EstadisticasIntConCuantiles::combine);
+        return new int[] {e.getMediana(), e.getP99(), e.getP999()};
+    }
+
+    @Benchmark
+    public int[] conCuantilesParalelo(Datos d) {
+        EstadisticasIntConCuantiles e = IntStream.of(d.latencias).parallel()
+            .collect(EstadisticasIntConCuantiles::new, EstadisticasIntConCuantiles::accept,
+                EstadisticasIntConCuantiles::combine);
+        return new int[] {e.getMediana(), e.getP99(), e.getP999()};
+    }
+
+    @Benchmark
+    public Map<Integer, Integer> p99PorGrupo(Datos d) {
+        return IntStream.of(d.latencias).boxed()
+            .collect(Collectors.groupingBy(v -> v & 15, Cuantiles.cuantil(Integer::intValue, 0.99)));
+    }
+}
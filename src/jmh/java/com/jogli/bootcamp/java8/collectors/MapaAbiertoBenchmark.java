@@ -0,0 +1,67 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * toMap(palabra, longitud) con millones de claves distintas: HashMap frente a {@link CollectorsMapaAbierto}
+ *
+ * Las claves se crean una vez en el setup, así que con -prof gc los bytes
+ * por operación son solo los del mapa: nodos e Integer en HashMap, los
+ * arrays de la tabla en el mapa abierto (y nada más si va dimensionado).
+ * La variante paralela mide el combinador.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class MapaAbiertoBenchmark {
+
+    @Param({"5000000"})
+    public int claves;
+
+    private List<String> palabras;
+
+    @Setup
+    public void preparar() {
+        palabras = IntStream.range(0, claves)
+            .mapToObj(i -> "palabra-" + Integer.toString(i * 0x9E3779B1 >>> 1, 36))
+            .collect(Collectors.toList());
+        Collections.shuffle(palabras, new Random(42));
+    }
+
+    @Benchmark
+    public Map<String, Integer> hashMapToMap() {
+        return palabras.stream().collect(Collectors.toMap(p -> p, String::length, (a, b) -> a));
+    }
+
+    @Benchmark
+    public Map<String, Integer> mapaAbierto() {
+        return palabras.stream().collect(CollectorsMapaAbierto.aMapa(p -> p, String::length, (a, b) -> a));
+    }
+
+    @Benchmark
+    public Map<String, Integer> mapaAbiertoDimensionado() {
+        return palabras.stream().collect(CollectorsMapaAbierto.aMapa(p -> p, String::length, (a, b) -> a, claves));
+    }
+
+    @Benchmark
+    public MapaAbiertoEntero<String> mapaAbiertoEnteroDimensionado() {
+        return palabras.stream().collect(CollectorsMapaAbierto.aMapaEntero(p -> p, String::length, (a, b) -> a, claves));
+    }
+
+    @Benchmark
+    public Map<String, Integer> hashMapToMapParalelo() {
+        return palabras.parallelStream().collect(Collectors.toMap(p -> p, String::length, (a, b) -> a));
+    }
+
+    @Benchmark
+    public MapaAbiertoEntero<String> mapaAbiertoEnteroParalelo() {
+        return palabras.parallelStream().collect(CollectorsMapaAbierto.aMapaEntero(p -> p, String::length, (a, b) -> a));
+    }
+}
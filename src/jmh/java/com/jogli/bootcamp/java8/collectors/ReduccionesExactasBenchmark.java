@@ -0,0 +1,99 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * {@link ReduccionesExactas} frente a reduce
+ *
+ * Con valores cuyo producto cabe en un long (casi todos 1 y -1) se mide
+ * el coste de las comprobaciones frente al reduce de los ejemplos, que
+ * encajona, y frente a un reduce primitivo sin comprobar. Con n! se
+ * compara el árbol de productos con ir multiplicando un BigInteger
+ * elemento a elemento.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReduccionesExactasBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Datos {
+        @Param({"10000000"})
+        public int elementos;
+
+        public int[] valores;
+        public List<Integer> encajonados;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            SplittableRandom random = new SplittableRandom(42);
+            valores = new int[elementos];
+            for (int i = 0; i < elementos; i++) {
+                // Uno de cada mil es 2 o -2: el producto se queda en unos 2^10000 como mucho
+                int v = random.nextInt(1000) == 0 ? 2 : 1;
+                valores[i] = random.nextBoolean() ? v : -v;
+            }
+            encajonados = IntStream.of(valores).boxed().collect(Collectors.toList());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Factorial {
+        @Param({"100000"})
+        public int n;
+    }
+
+    @Benchmark
+    public int reduceEncajonado(Datos d) {
+        return d.encajonados.stream().reduce(1, (a, b) -> a * b);
+    }
+
+    @Benchmark
+    public long reducePrimitivo(Datos d) {
+        return IntStream.of(d.valores).asLongStream().reduce(1, (a, b) -> a * b);
+    }
+
+    @Benchmark
+    public BigInteger productoExacto(Datos d) {
+        return ReduccionesExactas.producto(IntStream.of(d.valores));
+    }
+
+    @Benchmark
+    public BigInteger productoExactoParalelo(Datos d) {
+        return ReduccionesExactas.producto(IntStream.of(d.valores).parallel());
+    }
+
+    @Benchmark
+    public long sumaPrimitiva(Datos d) {
+        return IntStream.of(d.valores).asLongStream().sum();
+    }
+
+    @Benchmark
+    public BigInteger sumaExacta(Datos d) {
+        return ReduccionesExactas.suma(IntStream.of(d.valores));
+    }
+
+    @Benchmark
+    public BigInteger factorialBigIntegerSecuencial(Factorial f) {
+        return IntStream.rangeClosed(2, f.n)
+            .mapToObj(BigInteger::valueOf)
+            .reduce(BigInteger.ONE, BigInteger::multiply);
+    }
+
+    @Benchmark
+    public BigInteger factorialExacto(Factorial f) {
+        return ReduccionesExactas.producto(IntStream.rangeClosed(2, f.n));
+    }
+
+    @Benchmark
+    public BigInteger factorialExactoParalelo(Factorial f) {
+        return ReduccionesExactas.factorial(f.n);
+    }
+}
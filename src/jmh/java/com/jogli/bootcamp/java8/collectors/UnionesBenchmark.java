@@ -0,0 +1,81 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Exportar 50M palabras unidas (unos 300M caracteres): joining + escribir frente a {@link UnionEnFlujo}
+ *
+ * Las palabras se generan al vuelo para que la memoria sea solo la de la
+ * unión, y el destino es un canal que descarta los bytes. La versión en
+ * flujo se ejecuta con un heap de 64 MB para comprobar que no depende del
+ * tamaño del texto; joining necesita varios GB. Con -prof gc se ven los
+ * bytes reservados por operación.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@State(Scope.Benchmark)
+public class UnionesBenchmark {
+
+    private static final String[] PALABRAS = {"casa", "coche", "árbol", "libro", "sol", "mar"};
+
+    @Param({"50000000"})
+    public int palabras;
+
+    private Stream<String> generar() {
+        return IntStream.range(0, palabras).mapToObj(i -> PALABRAS[i % PALABRAS.length]);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+    public long joiningYEscribir() throws IOException {
+        String texto = generar().collect(Collectors.joining(" - ", "[", "]"));
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        return new Descarte().write(ByteBuffer.wrap(bytes));
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+    public int uniendoDimensionado() {
+        // 50M palabras de 4,5 caracteres de media más 3 por separador
+        return generar().collect(Uniones.uniendo(" - ", "[", "]", 380_000_000)).length();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Xmx64m")
+    public long unionEnFlujo() {
+        Descarte descarte = new Descarte();
+        Uniones.escribir(generar(), UnionEnFlujo.en(descarte, StandardCharsets.UTF_8, " - ", "[", "]"));
+        return descarte.bytes;
+    }
+
+    // Canal que cuenta los bytes y los tira
+    private static final class Descarte implements WritableByteChannel {
+        long bytes;
+
+        @Override
+        public int write(ByteBuffer origen) {
+            int n = origen.remaining();
+            origen.position(origen.limit());
+            bytes += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.jogli.bootcamp.java8.lambdas;
+
+import com.jogli.bootcamp.java8.lambdas.LambdaExamples.Calculadora;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks JMH de una {@link Calculadora} sobre 100M pares: par a par,
+ * por lotes y por lotes en paralelo
+ *
+ * El bucle par a par se alimenta en el setup con las tres lambdas, como
+ * ocurre cuando se reutiliza con calculadoras distintas, así su llamada a
+ * calcular(a, b) es megamórfica.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CalculosEnLoteBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Datos {
+        @Param({"100000000"})
+        public int elementos;
+
+        @Param({"suma", "multiplicacion", "potencia"})
+        public String operacion;
+
+        public int[] a;
+        public int[] b;
+        public int[] resultado;
+        public Calculadora lambda;
+        public Calculadora basica;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            Random random = new Random(42);
+            a = new int[elementos];
+            b = new int[elementos];
+            resultado = new int[elementos];
+            for (int i = 0; i < elementos; i++) {
+                a[i] = random.nextInt(201) - 100;
+                b[i] = random.nextInt(16);
+            }
+
+            Calculadora suma = (x, y) -> x + y;
+            Calculadora multiplicacion = (x, y) -> x * y;
+            Calculadora potencia = (x, y) -> (int) Math.pow(x, y);
+            int[] muestra = new int[1 << 16];
+            for (Calculadora c : Arrays.asList(suma, multiplicacion, potencia)) {
+                for (int i = 0; i < 20; i++) {
+                    parAPar(c, muestra, muestra, muestra);
+                }
+            }
+            switch (operacion) {
+                case "suma":
+                    lambda = suma;
+                    basica = CalculosEnLote.SUMA;
+                    break;
+                case "multiplicacion":
+                    lambda = multiplicacion;
+                    basica = CalculosEnLote.MULTIPLICACION;
+                    break;
+                default:
+                    lambda = potencia;
+                    basica = CalculosEnLote.POTENCIA;
+            }
+        }
+    }
+
+    static void parAPar(Calculadora calculadora, int[] a, int[] b, int[] resultado) {
+        for (int i = 0; i < a.length; i++) {
+            resultado[i] = calculadora.calcular(a[i], b[i]);
+        }
+    }
+
+    @Benchmark
+    public int[] escalar(Datos d) {
+        parAPar(d.lambda, d.a, d.b, d.resultado);
+        return d.resultado;
+    }
+
+    @Benchmark
+    public int[] loteLambda(Datos d) {
+        d.lambda.calcularLote(d.a, d.b, d.resultado);
+        return d.resultado;
+    }
+
+    @Benchmark
+    public int[] loteBasica(Datos d) {
+        d.basica.calcularLote(d.a, d.b, d.resultado);
+        return d.resultado;
+    }
+
+    @Benchmark
+    public int[] loteBasicaParalelo(Datos d) {
+        d.basica.calcularLoteEnParalelo(d.a, d.b, d.resultado);
+        return d.resultado;
+    }
+}
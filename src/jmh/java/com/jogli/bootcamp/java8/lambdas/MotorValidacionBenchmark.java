@@ -0,0 +1,88 @@
+package com.jogli.bootcamp.java8.lambdas;
+
+import com.jogli.bootcamp.java8.DatosBenchmark;
+import com.jogli.bootcamp.java8.lambdas.LambdaExamples.Validador;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks JMH de {@link MotorValidacion} frente a str.matches(...) por llamada
+ *
+ * Con -prof gc (activado en la tarea jmh) la asignación por operación de las
+ * variantes del motor debe ser 0 B/op.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MotorValidacionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Reglas {
+        public String[] palabras;
+
+        public Validador<String> vocalLambda;
+        public Validador<String> compuestoLambda;
+        public Validador<String> vocalMotor;
+        public Validador<String> patronMotor;
+        public Validador<String> compuestoCompilado;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            palabras = DatosBenchmark.palabras(1024, 1024).toArray(new String[0]);
+
+            Validador<String> largo = str -> str.length() > 5;
+            vocalLambda = str -> str.matches(".*[aeiou].*");
+            // Composición encadenada como en LambdaExamples, con lambdas anidadas
+            Validador<String> sinDigitos = str -> !str.matches(".*[0-9].*");
+            compuestoLambda = str -> largo.validar(str) && vocalLambda.validar(str) && sinDigitos.validar(str);
+
+            vocalMotor = MotorValidacion.regex(".*[aeiou].*");
+            patronMotor = MotorValidacion.regex("[a-záéíóú]+[0-9]*");
+            compuestoCompilado = MotorValidacion.compilar(
+                largo.and(vocalMotor).and(MotorValidacion.regex(".*[0123456789].*").negate()));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int i;
+
+        String siguiente(Reglas r) {
+            return r.palabras[i++ & (r.palabras.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public boolean vocalMatchesPorLlamada(Reglas r, Cursor c) {
+        return r.vocalLambda.validar(c.siguiente(r));
+    }
+
+    @Benchmark
+    public boolean vocalMotor(Reglas r, Cursor c) {
+        return r.vocalMotor.validar(c.siguiente(r));
+    }
+
+    @Benchmark
+    public boolean patronMatchesPorLlamada(Reglas r, Cursor c) {
+        return c.siguiente(r).matches("[a-záéíóú]+[0-9]*");
+    }
+
+    @Benchmark
+    public boolean patronMotor(Reglas r, Cursor c) {
+        return r.patronMotor.validar(c.siguiente(r));
+    }
+
+    @Benchmark
+    public boolean compuestoLambda(Reglas r, Cursor c) {
+        return r.compuestoLambda.validar(c.siguiente(r));
+    }
+
+    @Benchmark
+    public boolean compuestoCompilado(Reglas r, Cursor c) {
+        return r.compuestoCompilado.validar(c.siguiente(r));
+    }
+}
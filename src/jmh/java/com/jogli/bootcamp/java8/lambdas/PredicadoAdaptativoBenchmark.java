@@ -0,0 +1,86 @@
+package com.jogli.bootcamp.java8.lambdas;
+
+import com.jogli.bootcamp.java8.DatosBenchmark;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Benchmark JMH de {@link PredicadoAdaptativo} con costes de predicado sesgados
+ *
+ * El primer predicado es caro y casi nunca falla; el segundo es barato y
+ * falla casi siempre. El orden fijo de Predicate.and paga el caro en cada
+ * llamada; el adaptativo debe acercarse al orden óptimo escrito a mano.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PredicadoAdaptativoBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Predicados {
+        public String[] palabras;
+        public Predicate<String> fijo;
+        public Predicate<String> optimoManual;
+        public PredicadoAdaptativo<String> adaptativo;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            palabras = DatosBenchmark.palabras(1024, 1024).toArray(new String[0]);
+            // Caro (~cientos de ns) y casi siempre verdadero
+            Predicate<String> caro = str -> {
+                int h = 0;
+                for (int i = 0; i < 200; i++) {
+                    h = 31 * h + str.charAt(i % str.length());
+                }
+                return h != 42;
+            };
+            // Barato y casi siempre falso
+            Predicate<String> barato = str -> str.length() > 7;
+            fijo = caro.and(barato);
+            optimoManual = barato.and(caro);
+            adaptativo = PredicadoAdaptativo.todos(caro, barato);
+        }
+
+        @TearDown(Level.Trial)
+        public void informar() {
+            System.out.println("\nOrden adaptativo: " + adaptativo
+                + " (reordenaciones: " + adaptativo.getReordenaciones() + ")");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int i;
+
+        String siguiente(Predicados p) {
+            return p.palabras[i++ & (p.palabras.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public boolean ordenFijo(Predicados p, Cursor c) {
+        return p.fijo.test(c.siguiente(p));
+    }
+
+    @Benchmark
+    public boolean ordenOptimoManual(Predicados p, Cursor c) {
+        return p.optimoManual.test(c.siguiente(p));
+    }
+
+    @Benchmark
+    public boolean adaptativo(Predicados p, Cursor c) {
+        return p.adaptativo.test(c.siguiente(p));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean adaptativoConcurrente(Predicados p, Cursor c) {
+        return p.adaptativo.test(c.siguiente(p));
+    }
+}
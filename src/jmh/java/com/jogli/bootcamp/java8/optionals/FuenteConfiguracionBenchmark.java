@@ -0,0 +1,88 @@
+package com.jogli.bootcamp.java8.optionals;
+
+import com.jogli.bootcamp.java8.optionals.OptionalExamples.Configuracion;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmarks JMH de {@link FuenteConfiguracion}
+ *
+ * - lectura*: camino de petición (throughput; con -prof gc la asignación
+ *   por operación debe ser 0 B/op en la fuente mapeada).
+ * - recargar: latencia de volver a mapear el archivo y publicar la
+ *   instantánea nueva.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuenteConfiguracionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Fuente {
+        // Claves de relleno para que el archivo tenga un tamaño realista
+        @Param({"1000"})
+        public int claves;
+
+        public Path archivo;
+        public FuenteConfiguracion fuente;
+
+        @Setup(Level.Trial)
+        public void preparar() throws IOException {
+            archivo = Files.createTempFile("configuracion", ".properties");
+            StringBuilder contenido = new StringBuilder("# configuración de prueba\n");
+            for (int i = 0; i < claves; i++) {
+                contenido.append("clave").append(i).append('=').append("valor").append(i).append('\n');
+            }
+            contenido.append("host=servidor.com\npuerto=9090\n");
+            Files.write(archivo, contenido.toString().getBytes(StandardCharsets.UTF_8));
+            fuente = new FuenteConfiguracion(archivo);
+        }
+
+        @TearDown(Level.Trial)
+        public void liberar() throws IOException {
+            fuente.close();
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    // Patrón anterior: construir la configuración y encadenar flatMap/orElse en cada lectura
+    private static Optional<Configuracion> cargarConfiguracion() {
+        return Optional.of(new Configuracion(Optional.of("servidor.com"), Optional.of(9090)));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int lecturaConstruyendoConfiguracion() {
+        return cargarConfiguracion()
+            .flatMap(Configuracion::getPuerto)
+            .orElse(8080);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Optional<Integer> lecturaPuertoMapeado(Fuente f) {
+        return f.fuente.configuracion().getPuerto();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Optional<String> lecturaClaveMapeada(Fuente f) {
+        return f.fuente.get("clave500");
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public FuenteConfiguracion.Instantanea recargar(Fuente f) throws IOException {
+        f.fuente.recargar();
+        return f.fuente.actual();
+    }
+}
@@ -0,0 +1,78 @@
+package com.jogli.bootcamp.java8.optionals;
+
+import com.jogli.bootcamp.java8.optionals.OptionalExamples.Usuario;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * Benchmark JMH de {@link UsuarioRepository} con 64 llamadas concurrentes
+ *
+ * El cargador simula un almacén lento con una latencia fija. Los ids se
+ * eligen con una distribución sesgada (unos pocos usuarios muy consultados)
+ * sobre más usuarios de los que caben en la caché, y un 10% no existen para
+ * ejercitar el cacheo de resultados negativos. Al terminar se imprimen los
+ * contadores de la caché.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class UsuarioRepositoryBenchmark {
+
+    private static final int USUARIOS = 100_000;
+
+    @State(Scope.Benchmark)
+    public static class Repositorio {
+        @Param({"10000"})
+        public int capacidad;
+
+        @Param({"1000"})
+        public long latenciaMicros;
+
+        public UsuarioRepository repositorio;
+        public String[] ids;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            ids = new String[USUARIOS];
+            for (int i = 0; i < USUARIOS; i++) {
+                ids[i] = "usuario" + i;
+            }
+            repositorio = new UsuarioRepository(this::cargar, capacidad, 1, TimeUnit.MINUTES);
+        }
+
+        Optional<Usuario> cargar(String id) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(latenciaMicros));
+            if (id.hashCode() % 10 == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new Usuario(id, Optional.of(id + "@email.com")));
+        }
+
+        @TearDown(Level.Trial)
+        public void informar() {
+            System.out.println("\nCaché: " + repositorio.estadisticas());
+        }
+    }
+
+    // Índice sesgado: el cubo de un uniforme concentra las consultas en ids bajos
+    private static int idSesgado() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        return (int) (u * u * u * USUARIOS);
+    }
+
+    @Benchmark
+    public Optional<Usuario> sinCache(Repositorio r) {
+        return r.cargar(r.ids[idSesgado()]);
+    }
+
+    @Benchmark
+    public Optional<Usuario> conCache(Repositorio r) {
+        return r.repositorio.buscarUsuario(r.ids[idSesgado()]);
+    }
+}
@@ -0,0 +1,82 @@
+package com.jogli.bootcamp.java8.salida;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+/**
+ * Coste por línea de cada {@link Salida}
+ *
+ * Todas escriben en /dev/null para medir el coste de imprimir y no el del
+ * terminal. La estándar se construye como System.out (buffer de 8 KB y
+ * vaciado en cada println), así que hace una llamada al sistema por línea.
+ * En la asíncrona el tiempo incluye esperar al escritor cuando el buffer
+ * circular se llena, es decir, es el coste sostenido y no solo el de
+ * encolar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SalidaBenchmark {
+
+    private static final String[] LINEAS = {
+        "Suma secuencial: 500000500000",
+        "Palabras que empiezan con 'c': [casa, coche]",
+        "Tiempo paralelo: 3 ms",
+        "Primeros 10 pares (paralelo): [2, 4, 6, 8, 10, 12, 14, 16, 18, 20]",
+    };
+
+    @State(Scope.Benchmark)
+    public static class Salidas {
+        @Param({"estandar", "asincrona", "nula"})
+        public String tipo;
+
+        public Salida salida;
+
+        @Setup(Level.Trial)
+        public void preparar() throws IOException {
+            Path nulo = Paths.get("/dev/null");
+            switch (tipo) {
+                case "estandar":
+                    salida = new SalidaEstandar(new PrintStream(
+                        new BufferedOutputStream(new FileOutputStream(nulo.toFile()), 8192), true));
+                    break;
+                case "asincrona":
+                    salida = new SalidaAsincrona(FileChannel.open(nulo, StandardOpenOption.WRITE));
+                    break;
+                default:
+                    salida = SalidaNula.INSTANCIA;
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void liberar() {
+            salida.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int i;
+
+        String siguiente() {
+            return LINEAS[i++ & (LINEAS.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public void println(Salidas s, Cursor c) {
+        s.salida.println(c.siguiente());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void printlnConcurrente(Salidas s, Cursor c) {
+        s.salida.println(c.siguiente());
+    }
+}
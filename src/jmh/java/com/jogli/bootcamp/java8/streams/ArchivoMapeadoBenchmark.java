@@ -0,0 +1,160 @@
+package com.jogli.bootcamp.java8.streams;
+
+import com.jogli.bootcamp.java8.DatosBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.*;
+import java.util.stream.*;
+
+/**
+ * Pipelines de ejemplo1/ejemplo2 sobre archivos de 1 GB y 10 GB:
+ * {@link ArchivoMapeado} frente a Files.lines y BufferedReader
+ *
+ * Los archivos se generan una vez en el directorio temporal. Cada
+ * operación recorre el archivo entero, así que el resultado se puede leer
+ * como segundos por pasada (tamaño / tiempo = rendimiento). Con archivos
+ * más grandes que la memoria libre el tiempo incluye leer del disco.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ArchivoMapeadoBenchmark {
+
+    private static final Pattern ESPACIOS = Pattern.compile(" ");
+
+    @State(Scope.Benchmark)
+    public static class Datos {
+        @Param({"1073741824", "10737418240"})
+        public long tamanio;
+
+        public Path archivo;
+        public ArchivoMapeado mapeado;
+
+        @Setup(Level.Trial)
+        public void preparar() throws IOException {
+            archivo = DatosBenchmark.corpus(tamanio);
+            mapeado = ArchivoMapeado.abrir(archivo);
+        }
+    }
+
+    private static Stream<String> palabrasDeLineas(Stream<String> lineas) {
+        return lineas.flatMap(ESPACIOS::splitAsStream);
+    }
+
+    // distinct
+
+    @Benchmark
+    public long distintasMapeado(Datos d) {
+        return d.mapeado.palabras().distinct().count();
+    }
+
+    @Benchmark
+    public long distintasMapeadoParalelo(Datos d) {
+        return d.mapeado.palabras().parallel().distinct().count();
+    }
+
+    @Benchmark
+    public long distintasFilesLines(Datos d) throws IOException {
+        try (Stream<String> lineas = Files.lines(d.archivo)) {
+            return palabrasDeLineas(lineas).distinct().count();
+        }
+    }
+
+    @Benchmark
+    public long distintasFilesLinesParalelo(Datos d) throws IOException {
+        try (Stream<String> lineas = Files.lines(d.archivo)) {
+            return palabrasDeLineas(lineas.parallel()).distinct().count();
+        }
+    }
+
+    @Benchmark
+    public long distintasBufferedReader(Datos d) throws IOException {
+        Set<String> distintas = new HashSet<>();
+        try (BufferedReader lector = Files.newBufferedReader(d.archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                Collections.addAll(distintas, ESPACIOS.split(linea));
+            }
+        }
+        return distintas.size();
+    }
+
+    // anyMatch sin coincidencias: recorre todo el archivo
+
+    @Benchmark
+    public boolean anyMatchMapeadoParalelo(Datos d) {
+        return d.mapeado.palabras().parallel().anyMatch("ausente"::equals);
+    }
+
+    @Benchmark
+    public boolean anyMatchFilesLinesParalelo(Datos d) throws IOException {
+        try (Stream<String> lineas = Files.lines(d.archivo)) {
+            return palabrasDeLineas(lineas.parallel()).anyMatch("ausente"::equals);
+        }
+    }
+
+    // filter + map
+
+    @Benchmark
+    public long filtrarYMapearMapeado(Datos d) {
+        return d.mapeado.palabras()
+            .filter(p -> p.length() > 6)
+            .map(String::toUpperCase)
+            .filter(p -> p.startsWith("C"))
+            .count();
+    }
+
+    @Benchmark
+    public long filtrarYMapearMapeadoParalelo(Datos d) {
+        return d.mapeado.palabras().parallel()
+            .filter(p -> p.length() > 6)
+            .map(String::toUpperCase)
+            .filter(p -> p.startsWith("C"))
+            .count();
+    }
+
+    @Benchmark
+    public long filtrarYMapearFilesLines(Datos d) throws IOException {
+        try (Stream<String> lineas = Files.lines(d.archivo)) {
+            return palabrasDeLineas(lineas)
+                .filter(p -> p.length() > 6)
+                .map(String::toUpperCase)
+                .filter(p -> p.startsWith("C"))
+                .count();
+        }
+    }
+
+    @Benchmark
+    public long filtrarYMapearBufferedReader(Datos d) throws IOException {
+        long total = 0;
+        try (BufferedReader lector = Files.newBufferedReader(d.archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                for (String p : ESPACIOS.split(linea)) {
+                    if (p.length() > 6 && p.toUpperCase().startsWith("C")) {
+                        total++;
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    // sorted: solo las distintas, para no ordenar el archivo entero en memoria
+
+    @Benchmark
+    public List<String> distintasOrdenadasMapeadoParalelo(Datos d) {
+        return d.mapeado.palabras().parallel()
+            .distinct()
+            .sorted()
+            .limit(100)
+            .collect(Collectors.toList());
+    }
+}
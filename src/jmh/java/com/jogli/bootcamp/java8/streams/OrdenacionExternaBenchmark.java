@@ -0,0 +1,83 @@
+package com.jogli.bootcamp.java8.streams;
+
+import com.jogli.bootcamp.java8.DatosBenchmark;
+import com.jogli.bootcamp.java8.disco.Serializador;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Coste de {@link OrdenacionExterna} frente a sorted()
+ *
+ * Con 10M palabras en una lista (heap de 2 GB) se comparan sorted() y la
+ * ordenación externa con un presupuesto que cabe entero (sin disco) y con
+ * uno de 64 MB (unas 25 rachas). El caso grande genera las palabras sobre
+ * la marcha con un heap fijo de 512 MB, donde sorted() no es una opción.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class OrdenacionExternaBenchmark {
+
+    private static final long MB = 1024 * 1024;
+
+    @State(Scope.Benchmark)
+    public static class Datos {
+        @Param({"10000000"})
+        public int elementos;
+
+        public List<String> palabras;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            palabras = DatosBenchmark.palabras(elementos, 1_000_000);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Generadas {
+        @Param({"20000000", "200000000"})
+        public long generadas;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+    public long sorted(Datos d) {
+        return d.palabras.stream()
+            .sorted()
+            .mapToLong(String::length)
+            .sum();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+    public long externaEnMemoria(Datos d) {
+        try (Stream<String> ordenadas = OrdenacionExterna.ordenar(
+                d.palabras.stream(), Serializador.cadenas(), 1024 * MB)) {
+            return ordenadas.mapToLong(String::length).sum();
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+    public long externaConDisco(Datos d) {
+        try (Stream<String> ordenadas = OrdenacionExterna.ordenar(
+                d.palabras.stream(), Serializador.cadenas(), 64 * MB)) {
+            return ordenadas.mapToLong(String::length).sum();
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+    public long externaGeneradas(Generadas g) {
+        // Unas 1M palabras distintas en orden pseudoaleatorio, sin guardar ninguna lista
+        Stream<String> fuente = LongStream.range(0, g.generadas)
+            .mapToObj(i -> "palabra" + (i * 0x9E3779B97F4A7C15L >>> 44));
+        try (Stream<String> ordenadas = OrdenacionExterna.ordenar(fuente, Serializador.cadenas(), 128 * MB)) {
+            return ordenadas.mapToLong(String::length).sum();
+        }
+    }
+}
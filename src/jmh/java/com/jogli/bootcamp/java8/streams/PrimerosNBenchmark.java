@@ -0,0 +1,95 @@
+package com.jogli.bootcamp.java8.streams;
+
+import com.jogli.bootcamp.java8.DatosBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Latencia hasta obtener los primeros N: filter().limit() paralelo frente a {@link PrimerosN}
+ *
+ * {@code cadaCuantos} controla la selectividad del filtro: 2 reproduce el
+ * ejemplo de los pares; valores altos hacen que las coincidencias sean raras.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimerosNBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Datos {
+        @Param({"1000000"})
+        public int elementos;
+
+        @Param({"2", "10000"})
+        public int cadaCuantos;
+
+        @Param({"10"})
+        public int n;
+
+        @Param({"4"})
+        public int hilos;
+
+        public List<Integer> numeros;
+        public ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            numeros = DatosBenchmark.numeros(elementos);
+            pool = new ForkJoinPool(hilos);
+        }
+
+        @TearDown(Level.Trial)
+        public void liberar() {
+            pool.shutdown();
+        }
+
+        <T> T ejecutar(Callable<T> tarea) {
+            return pool.submit(tarea).join();
+        }
+    }
+
+    @Benchmark
+    public List<Integer> filterLimitParalelo(Datos d) {
+        int m = d.cadaCuantos;
+        return d.ejecutar(() -> d.numeros.parallelStream()
+            .filter(x -> x % m == 0)
+            .limit(d.n)
+            .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<Integer> filterLimitParaleloUnordered(Datos d) {
+        int m = d.cadaCuantos;
+        return d.ejecutar(() -> d.numeros.parallelStream()
+            .unordered()
+            .filter(x -> x % m == 0)
+            .limit(d.n)
+            .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<Integer> filterLimitSecuencial(Datos d) {
+        int m = d.cadaCuantos;
+        return d.numeros.stream()
+            .filter(x -> x % m == 0)
+            .limit(d.n)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Integer> primerosNCualesquiera(Datos d) {
+        int m = d.cadaCuantos;
+        return d.ejecutar(() -> PrimerosN.cualesquiera(d.numeros, x -> x % m == 0, d.n));
+    }
+
+    @Benchmark
+    public List<Integer> primerosNEnOrden(Datos d) {
+        int m = d.cadaCuantos;
+        return d.ejecutar(() -> PrimerosN.enOrden(d.numeros, x -> x % m == 0, d.n));
+    }
+}
@@ -0,0 +1,296 @@
+package com.jogli.bootcamp.java8.streams;
+
+import com.jogli.bootcamp.java8.DatosBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Benchmarks JMH de los pipelines de {@link StreamExamples}
+ *
+ * Cada método reproduce un pipeline de ejemplo1 a ejemplo5 sin imprimir,
+ * devolviendo el resultado para evitar la eliminación de código muerto.
+ * Los pipelines paralelos se ejecutan en un ForkJoinPool con {@code hilos}
+ * hilos en lugar del pool común.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamExamplesBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Datos {
+        @Param({"10", "1000", "100000", "10000000"})
+        public int elementos;
+
+        public List<String> palabras;
+        public List<Integer> numeros;
+        public List<List<String>> listasAnidadas;
+        public SecuenciaEnteros secuencia;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            palabras = DatosBenchmark.palabras(elementos, 1000);
+            numeros = DatosBenchmark.numeros(elementos);
+            listasAnidadas = DatosBenchmark.listasAnidadas(elementos);
+            secuencia = SecuenciaEnteros.rango(1, elementos + 1);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DatosParalelos extends Datos {
+        @Param({"1", "2", "4", "8"})
+        public int hilos;
+
+        public ForkJoinPool pool;
+
+        @Setup(Level.Trial)
+        public void prepararPool() {
+            pool = new ForkJoinPool(hilos);
+        }
+
+        @TearDown(Level.Trial)
+        public void liberar() {
+            pool.shutdown();
+        }
+
+        <T> T ejecutar(Callable<T> tarea) {
+            return pool.submit(tarea).join();
+        }
+    }
+
+    // Ejemplo 1: operaciones básicas
+
+    @Benchmark
+    public long ejemplo1_count(Datos d) {
+        return d.palabras.stream().count();
+    }
+
+    @Benchmark
+    public List<String> ejemplo1_distinct(Datos d) {
+        return d.palabras.stream()
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public boolean ejemplo1_anyMatch(Datos d) {
+        return d.palabras.stream().anyMatch(p -> p.length() > 4);
+    }
+
+    @Benchmark
+    public boolean ejemplo1_allMatch(Datos d) {
+        return d.palabras.stream().allMatch(p -> p.length() <= 4);
+    }
+
+    @Benchmark
+    public boolean ejemplo1_noneMatch(Datos d) {
+        return d.palabras.stream().noneMatch(String::isEmpty);
+    }
+
+    // Ejemplo 2: filtrado y transformación
+
+    @Benchmark
+    public List<Integer> ejemplo2_filterPares(Datos d) {
+        return d.numeros.stream()
+            .filter(n -> n % 2 == 0)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Integer> ejemplo2_mapCuadrados(Datos d) {
+        return d.numeros.stream()
+            .map(n -> n * n)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> ejemplo2_filterMapString(Datos d) {
+        return d.numeros.stream()
+            .filter(n -> n % 2 == 0)
+            .map(n -> "Par: " + n)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> ejemplo2_flatMap(Datos d) {
+        return d.listasAnidadas.stream()
+            .flatMap(List::stream)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public double ejemplo2_mapToDoubleAverage(Datos d) {
+        return d.numeros.stream().mapToDouble(Integer::doubleValue).average().orElse(0.0);
+    }
+
+    // Ejemplo 3: ordenamiento y limitación
+
+    @Benchmark
+    public List<String> ejemplo3_sorted(Datos d) {
+        return d.palabras.stream()
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> ejemplo3_sortedPorLongitud(Datos d) {
+        return d.palabras.stream()
+            .sorted(Comparator.comparing(String::length))
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> ejemplo3_sortedDescendente(Datos d) {
+        return d.palabras.stream()
+            .sorted(Comparator.reverseOrder())
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> ejemplo3_sortedLimit(Datos d) {
+        return d.palabras.stream()
+            .sorted()
+            .limit(3)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> ejemplo3_sortedSkipLimit(Datos d) {
+        return d.palabras.stream()
+            .sorted()
+            .skip(1)
+            .limit(2)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<String> ejemplo3_topK(Datos d) {
+        return d.palabras.stream()
+            .collect(TopK.menores(3, Comparator.<String>naturalOrder()));
+    }
+
+    @Benchmark
+    public List<String> ejemplo3_topKPorLongitud(Datos d) {
+        return d.palabras.stream()
+            .collect(TopK.menores(3, Comparator.comparing(String::length)));
+    }
+
+    @Benchmark
+    public List<String> ejemplo3_topKDescendente(Datos d) {
+        return d.palabras.stream()
+            .collect(TopK.menores(3, Comparator.<String>reverseOrder()));
+    }
+
+    @Benchmark
+    public List<String> ejemplo3_topKPagina(Datos d) {
+        return d.palabras.stream()
+            .collect(TopK.pagina(1, 2, Comparator.<String>naturalOrder()));
+    }
+
+    @Benchmark
+    public List<String> ejemplo3_topKParalelo(DatosParalelos d) {
+        return d.ejecutar(() -> d.palabras.parallelStream()
+            .collect(TopK.menores(3, Comparator.<String>naturalOrder())));
+    }
+
+    // Ejemplo 4: operaciones matemáticas
+
+    @Benchmark
+    public int ejemplo4_sum(Datos d) {
+        return d.numeros.stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Benchmark
+    public OptionalDouble ejemplo4_average(Datos d) {
+        return d.numeros.stream().mapToInt(Integer::intValue).average();
+    }
+
+    @Benchmark
+    public OptionalInt ejemplo4_max(Datos d) {
+        return d.numeros.stream().mapToInt(Integer::intValue).max();
+    }
+
+    @Benchmark
+    public OptionalInt ejemplo4_min(Datos d) {
+        return d.numeros.stream().mapToInt(Integer::intValue).min();
+    }
+
+    @Benchmark
+    public int ejemplo4_reduceProducto(Datos d) {
+        return d.numeros.stream().reduce(1, (a, b) -> a * b);
+    }
+
+    @Benchmark
+    public Optional<Integer> ejemplo4_reduceSuma(Datos d) {
+        return d.numeros.stream().reduce(Integer::sum);
+    }
+
+    // Ejemplo 5: streams paralelos
+
+    @Benchmark
+    public long ejemplo5_sumaSecuencial(Datos d) {
+        return d.numeros.stream()
+            .mapToLong(Integer::longValue)
+            .sum();
+    }
+
+    @Benchmark
+    public long ejemplo5_sumaParalela(DatosParalelos d) {
+        return d.ejecutar(() -> d.numeros.parallelStream()
+            .mapToLong(Integer::longValue)
+            .sum());
+    }
+
+    @Benchmark
+    public List<Integer> ejemplo5_filterLimitParalelo(DatosParalelos d) {
+        return d.ejecutar(() -> d.numeros.parallelStream()
+            .filter(n -> n % 2 == 0)
+            .limit(10)
+            .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<Integer> ejemplo5_limitSortedParalelo(DatosParalelos d) {
+        return d.ejecutar(() -> d.numeros.parallelStream()
+            .limit(1000)
+            .sorted()
+            .collect(Collectors.toList()));
+    }
+
+    // Ejemplo 5 con SecuenciaEnteros (sin boxing), para comparar con los anteriores
+
+    @Benchmark
+    public long ejemplo5_sumaSecuencialPrimitiva(Datos d) {
+        return d.secuencia.stream()
+            .asLongStream()
+            .sum();
+    }
+
+    @Benchmark
+    public long ejemplo5_sumaParalelaPrimitiva(DatosParalelos d) {
+        return d.ejecutar(() -> d.secuencia.parallelStream()
+            .asLongStream()
+            .sum());
+    }
+
+    @Benchmark
+    public int[] ejemplo5_filterLimitParaleloPrimitivo(DatosParalelos d) {
+        return d.ejecutar(() -> d.secuencia.parallelStream()
+            .filter(n -> n % 2 == 0)
+            .limit(10)
+            .toArray());
+    }
+
+    @Benchmark
+    public int[] ejemplo5_limitSortedParaleloPrimitivo(DatosParalelos d) {
+        return d.ejecutar(() -> d.secuencia.parallelStream()
+            .limit(1000)
+            .sorted()
+            .toArray());
+    }
+}
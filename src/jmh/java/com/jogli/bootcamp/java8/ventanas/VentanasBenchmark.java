@@ -0,0 +1,99 @@
+package com.jogli.bootcamp.java8.ventanas;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Coste por evento de las ventanas
+ *
+ * Cada invocación agrega {@value #EVENTOS} eventos, así que el resultado
+ * es tiempo por evento; 50M eventos/s equivalen a 20 ns por evento. Se
+ * compara con recalcular la ventana por cantidad entera con un bucle
+ * cada vez que llega un evento (lo que haría un código ingenuo).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VentanasBenchmark {
+
+    private static final int EVENTOS = 1 << 20;
+
+    @Param({"1000"})
+    public int tamanio;
+
+    private long[] valores;
+    private long[] instantes;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        SplittableRandom random = new SplittableRandom(42);
+        valores = random.longs(EVENTOS, 0, 1_000_000).toArray();
+        instantes = new long[EVENTOS];
+        long ahora = 0;
+        for (int i = 0; i < EVENTOS; i++) {
+            // Entre 0 y 2 µs entre eventos: ~1M eventos/s de media en instantes de ns
+            ahora += random.nextInt(2000);
+            instantes[i] = ahora;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTOS)
+    public long deslizantePorCantidad() {
+        VentanaDeslizante ventana = VentanaDeslizante.porCantidad(tamanio);
+        long control = 0;
+        for (long valor : valores) {
+            ventana.agregar(valor);
+            control += ventana.getMinimo() + ventana.getMaximo() + ventana.getSuma();
+        }
+        return control;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTOS)
+    public long deslizantePorTiempo() {
+        // 1 ms de ventana: unos 1000 eventos dentro, como la de cantidad
+        VentanaDeslizante ventana = VentanaDeslizante.porTiempo(1_000_000);
+        long control = 0;
+        for (int i = 0; i < EVENTOS; i++) {
+            ventana.agregar(instantes[i], valores[i]);
+            control += ventana.getMinimo() + ventana.getMaximo() + ventana.getSuma();
+        }
+        return control;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTOS)
+    public long fijaPorCantidad() {
+        long[] control = new long[1];
+        VentanaFija ventana = VentanaFija.porCantidad(tamanio, r -> control[0] += r.getMaximo());
+        for (long valor : valores) {
+            ventana.agregar(valor);
+        }
+        return control[0];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTOS)
+    public long recalculandoPorCantidad() {
+        long control = 0;
+        for (int i = 0; i < EVENTOS; i++) {
+            long minimo = Long.MAX_VALUE;
+            long maximo = Long.MIN_VALUE;
+            long suma = 0;
+            for (int j = Math.max(0, i - tamanio + 1); j <= i; j++) {
+                long v = valores[j];
+                minimo = Math.min(minimo, v);
+                maximo = Math.max(maximo, v);
+                suma += v;
+            }
+            control += minimo + maximo + suma;
+        }
+        return control;
+    }
+}
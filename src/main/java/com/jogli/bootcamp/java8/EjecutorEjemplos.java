@@ -0,0 +1,336 @@
+package com.jogli.bootcamp.java8;
+
+import com.jogli.bootcamp.java8.salida.*;
+
+import java.io.*;
+import java.lang.management.*;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.*;
+
+import static com.jogli.bootcamp.java8.salida.Salidas.salida;
+
+/**
+ * Ejecuta suites de ejemplos y mide cada ejemplo
+ *
+ * Una suite es una clase *Examples; sus ejemplos son los métodos públicos y
+ * estáticos sin parámetros llamados ejemploN_..., en orden de N. Si no tiene
+ * ninguno, el único ejemplo es ejecutarEjemplos(). Las clases se cargan
+ * por nombre solo cuando se va a ejecutar o listar la suite.
+ *
+ * En modo concurrente cada suite se ejecuta en un hilo de un pool acotado
+ * con una {@link Salida} propia en memoria, que se vuelca completa en la
+ * salida global, en el orden de las suites, al terminar. Lo que se imprima
+ * desde otros hilos (por ejemplo, trabajadores de un stream paralelo) va
+ * directamente a la salida global.
+ *
+ * De cada ejemplo se mide el tiempo real y, si la JVM lo permite, el tiempo
+ * de CPU y los bytes asignados por el hilo que lo ejecuta (no incluye el
+ * trabajo hecho en otros hilos).
+ */
+public class EjecutorEjemplos {
+
+    private static final Pattern EJEMPLO = Pattern.compile("ejemplo(\\d+)_.*");
+
+    private final Map<String, Suite> suites = new LinkedHashMap<>();
+
+    /**
+     * Registra una suite por nombre corto y nombre de clase, sin cargarla
+     */
+    public EjecutorEjemplos registrar(String nombre, String titulo, String clase) {
+        suites.put(nombre, new Suite(nombre, titulo, clase));
+        return this;
+    }
+
+    public Set<String> getNombres() {
+        return Collections.unmodifiableSet(suites.keySet());
+    }
+
+    /**
+     * Nombres de los ejemplos de una suite (carga su clase)
+     */
+    public List<String> ejemplos(String suite) {
+        List<String> nombres = new ArrayList<>();
+        for (Method metodo : buscar(suite).metodos()) {
+            nombres.add(metodo.getName());
+        }
+        return nombres;
+    }
+
+    /**
+     * Resuelve la selección de la línea de comandos
+     *
+     * Cada elemento es "suite" (todos sus ejemplos) o "suite.ejemploN" /
+     * "suite.nombreDelMetodo" (uno solo). Sin elementos se eligen todas las
+     * suites. Una suite pedida entera anula sus ejemplos sueltos. Las suites
+     * se devuelven en el orden de registro.
+     */
+    public Map<String, List<Method>> seleccionar(List<String> seleccion) {
+        Set<String> completas = new HashSet<>();
+        Map<String, Set<String>> sueltos = new HashMap<>();
+        if (seleccion.isEmpty()) {
+            completas.addAll(suites.keySet());
+        }
+        for (String elemento : seleccion) {
+            int punto = elemento.indexOf('.');
+            String suite = punto < 0 ? elemento : elemento.substring(0, punto);
+            buscar(suite);
+            if (punto < 0) {
+                completas.add(suite);
+            } else {
+                sueltos.computeIfAbsent(suite, s -> new LinkedHashSet<>()).add(elemento.substring(punto + 1));
+            }
+        }
+        Map<String, List<Method>> resultado = new LinkedHashMap<>();
+        for (String nombre : suites.keySet()) {
+            if (completas.contains(nombre)) {
+                resultado.put(nombre, suites.get(nombre).metodos());
+                continue;
+            }
+            Set<String> pedidos = sueltos.get(nombre);
+            if (pedidos == null) {
+                continue;
+            }
+            List<Method> metodos = suites.get(nombre).metodos();
+            List<Method> elegidos = new ArrayList<>();
+            for (String pedido : pedidos) {
+                elegidos.add(buscarEjemplo(nombre, metodos, pedido));
+            }
+            resultado.put(nombre, elegidos);
+        }
+        return resultado;
+    }
+
+    /**
+     * Ejecuta la selección; hilos <= 1 ejecuta las suites una tras otra
+     */
+    public List<Medicion> ejecutar(Map<String, List<Method>> seleccion, int hilos) throws InterruptedException {
+        if (hilos <= 1 || seleccion.size() <= 1) {
+            List<Medicion> mediciones = new ArrayList<>();
+            for (Map.Entry<String, List<Method>> suite : seleccion.entrySet()) {
+                mediciones.addAll(ejecutarSuite(suites.get(suite.getKey()), suite.getValue()));
+            }
+            return mediciones;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(hilos, seleccion.size()));
+        try {
+            List<Future<Resultado>> futuros = new ArrayList<>();
+            for (Map.Entry<String, List<Method>> suite : seleccion.entrySet()) {
+                Suite s = suites.get(suite.getKey());
+                List<Method> metodos = suite.getValue();
+                futuros.add(executor.submit(() -> {
+                    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                    Salidas.usarEnEsteHilo(new SalidaEstandar(new PrintStream(buffer, true)));
+                    try {
+                        return new Resultado(ejecutarSuite(s, metodos), buffer);
+                    } finally {
+                        Salidas.usarEnEsteHilo(null);
+                    }
+                }));
+            }
+            List<Medicion> mediciones = new ArrayList<>();
+            for (Future<Resultado> futuro : futuros) {
+                Resultado resultado = obtener(futuro);
+                salida().print(resultado.salida.toString());
+                mediciones.addAll(resultado.mediciones);
+            }
+            return mediciones;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Resultado obtener(Future<Resultado> futuro) throws InterruptedException {
+        try {
+            return futuro.get();
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+
+    private List<Medicion> ejecutarSuite(Suite suite, List<Method> metodos) {
+        salida().println("🔸 EJEMPLOS DE " + suite.titulo);
+        salida().println("=======================");
+        List<Medicion> mediciones = new ArrayList<>();
+        for (Method metodo : metodos) {
+            mediciones.add(medir(suite.nombre, metodo));
+        }
+        salida().println();
+        return mediciones;
+    }
+
+    private static Medicion medir(String suite, Method metodo) {
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+        boolean cpu = hilos.isCurrentThreadCpuTimeSupported();
+        long cpuInicio = cpu ? hilos.getCurrentThreadCpuTime() : -1;
+        long bytesInicio = bytesAsignados();
+        long inicio = System.nanoTime();
+        try {
+            metodo.invoke(null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw new IllegalStateException(causa);
+        }
+        long nanos = System.nanoTime() - inicio;
+        long cpuNanos = cpu ? hilos.getCurrentThreadCpuTime() - cpuInicio : -1;
+        long bytesFin = bytesAsignados();
+        long bytes = bytesInicio >= 0 && bytesFin >= 0 ? bytesFin - bytesInicio : -1;
+        return new Medicion(suite, metodo.getName(), nanos, cpuNanos, bytes);
+    }
+
+    // -1 si la JVM no ofrece la medida de asignación por hilo
+    private static long bytesAsignados() {
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+        if (hilos instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean extendido = (com.sun.management.ThreadMXBean) hilos;
+            if (extendido.isThreadAllocatedMemorySupported() && extendido.isThreadAllocatedMemoryEnabled()) {
+                return extendido.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Tabla con una fila por ejemplo: tiempo real, CPU y memoria asignada
+     */
+    public static void imprimirTabla(List<Medicion> mediciones, Salida salida) {
+        String formato = "%-11s %-36s %10s %10s %12s%n";
+        salida.printf(formato, "Suite", "Ejemplo", "Real (ms)", "CPU (ms)", "Asignado");
+        for (Medicion m : mediciones) {
+            salida.printf(formato, m.getSuite(), m.getEjemplo(),
+                milisegundos(m.getNanos()), milisegundos(m.getCpuNanos()), tamanio(m.getBytesAsignados()));
+        }
+    }
+
+    private static String milisegundos(long nanos) {
+        return nanos < 0 ? "n/d" : String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    private static String tamanio(long bytes) {
+        if (bytes < 0) {
+            return "n/d";
+        }
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format("%.1f KB", bytes / 1024.0);
+        }
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private Suite buscar(String nombre) {
+        Suite suite = suites.get(nombre);
+        if (suite == null) {
+            throw new IllegalArgumentException("Suite desconocida: " + nombre + " (disponibles: " + suites.keySet() + ")");
+        }
+        return suite;
+    }
+
+    private static Method buscarEjemplo(String suite, List<Method> metodos, String pedido) {
+        for (Method metodo : metodos) {
+            String nombre = metodo.getName();
+            if (nombre.equals(pedido) || nombre.startsWith(pedido + "_")) {
+                return metodo;
+            }
+        }
+        throw new IllegalArgumentException("Ejemplo desconocido: " + suite + "." + pedido);
+    }
+
+    private static final class Suite {
+        final String nombre;
+        final String titulo;
+        final String clase;
+        private List<Method> metodos;
+
+        Suite(String nombre, String titulo, String clase) {
+            this.nombre = nombre;
+            this.titulo = titulo;
+            this.clase = clase;
+        }
+
+        // Carga la clase y busca sus ejemplos la primera vez que se piden
+        synchronized List<Method> metodos() {
+            if (metodos == null) {
+                metodos = descubrir();
+            }
+            return metodos;
+        }
+
+        private List<Method> descubrir() {
+            Class<?> tipo;
+            try {
+                tipo = Class.forName(clase);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("No se encontró la suite " + nombre + ": " + clase, e);
+            }
+            TreeMap<Integer, Method> ejemplos = new TreeMap<>();
+            for (Method metodo : tipo.getMethods()) {
+                Matcher m = EJEMPLO.matcher(metodo.getName());
+                if (m.matches() && Modifier.isStatic(metodo.getModifiers()) && metodo.getParameterCount() == 0) {
+                    ejemplos.put(Integer.valueOf(m.group(1)), metodo);
+                }
+            }
+            if (!ejemplos.isEmpty()) {
+                return Collections.unmodifiableList(new ArrayList<>(ejemplos.values()));
+            }
+            try {
+                return Collections.singletonList(tipo.getMethod("ejecutarEjemplos"));
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("La suite " + nombre + " no tiene ejemplos", e);
+            }
+        }
+    }
+
+    private static final class Resultado {
+        final List<Medicion> mediciones;
+        final ByteArrayOutputStream salida;
+
+        Resultado(List<Medicion> mediciones, ByteArrayOutputStream salida) {
+            this.mediciones = mediciones;
+            this.salida = salida;
+        }
+    }
+
+    /**
+     * Medidas de un ejemplo; -1 en CPU o bytes si no están disponibles
+     */
+    public static final class Medicion {
+        private final String suite;
+        private final String ejemplo;
+        private final long nanos;
+        private final long cpuNanos;
+        private final long bytesAsignados;
+
+        Medicion(String suite, String ejemplo, long nanos, long cpuNanos, long bytesAsignados) {
+            this.suite = suite;
+            this.ejemplo = ejemplo;
+            this.nanos = nanos;
+            this.cpuNanos = cpuNanos;
+            this.bytesAsignados = bytesAsignados;
+        }
+
+        public String getSuite() { return suite; }
+        public String getEjemplo() { return ejemplo; }
+        public long getNanos() { return nanos; }
+        public long getCpuNanos() { return cpuNanos; }
+        public long getBytesAsignados() { return bytesAsignados; }
+    }
+}
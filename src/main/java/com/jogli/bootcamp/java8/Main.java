@@ -1,34 +1,132 @@
 package com.jogli.bootcamp.java8;
 
-import com.jogli.bootcamp.java8.lambdas.LambdaExamples;
-import com.jogli.bootcamp.java8.streams.StreamExamples;
+import com.jogli.bootcamp.java8.salida.*;
+
+import java.lang.reflect.*;
+import java.util.*;
+
+import static com.jogli.bootcamp.java8.salida.Salidas.salida;
 
 /**
  * Clase principal que ejecuta todos los ejemplos de Java 8
- * 
+ *
  * Esta clase demuestra las características más importantes de Java 8:
  * - Lambdas y expresiones funcionales
  * - Streams y operaciones de flujo
  * - Optionals para manejo de valores nulos
  * - Collectors para agrupación y transformación
  * - Interfaces funcionales
+ *
+ * Uso: Main [--lista] [--paralelo[=hilos]] [--salida=estandar|asincrona|nula]
+ *            [suite | suite.ejemploN ...]
+ * - Sin suites se ejecutan las cinco: lambdas, streams, optionals,
+ *   collectors y functional.
+ * - "streams.ejemplo3" ejecuta solo ese ejemplo de la suite.
+ * - --paralelo ejecuta las suites a la vez (una por hilo, con su salida
+ *   agrupada); sin número usa tantos hilos como procesadores.
+ * - --lista muestra las suites y sus ejemplos sin ejecutarlos.
+ * - --salida elige dónde escriben los ejemplos: System.out (por defecto),
+ *   un escritor asíncrono por lotes, o ningún sitio (solo la tabla final).
+ * Al final se imprime una tabla con el tiempo de cada ejemplo.
  */
 public class Main {
-    
-    public static void main(String[] args) {
-        System.out.println("=== EJEMPLOS DE CARACTERÍSTICAS DE JAVA 8 ===\n");
-        
-        // Ejecutar ejemplos de lambdas
-        System.out.println("🔸 EJEMPLOS DE LAMBDAS");
-        System.out.println("=======================");
-        LambdaExamples.ejecutarEjemplos();
-        System.out.println();
-        
-        // Ejecutar ejemplos de streams
-        System.out.println("🔸 EJEMPLOS DE STREAMS");
-        System.out.println("=======================");
-        StreamExamples.ejecutarEjemplos();
-        System.out.println();
-    
+
+    public static void main(String[] args) throws InterruptedException {
+        // Las clases se nombran como texto para cargarlas solo si se usan
+        EjecutorEjemplos ejecutor = new EjecutorEjemplos()
+            .registrar("lambdas", "LAMBDAS", "com.jogli.bootcamp.java8.lambdas.LambdaExamples")
+            .registrar("streams", "STREAMS", "com.jogli.bootcamp.java8.streams.StreamExamples")
+            .registrar("optionals", "OPTIONALS", "com.jogli.bootcamp.java8.optionals.OptionalExamples")
+            .registrar("collectors", "COLLECTORS", "com.jogli.bootcamp.java8.collectors.CollectorExamples")
+            .registrar("functional", "INTERFACES FUNCIONALES", "com.jogli.bootcamp.java8.functional.FunctionalExamples");
+
+        int hilos = 1;
+        boolean lista = false;
+        String tipoSalida = "estandar";
+        List<String> seleccion = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--lista")) {
+                lista = true;
+            } else if (arg.equals("--paralelo")) {
+                hilos = Runtime.getRuntime().availableProcessors();
+            } else if (arg.startsWith("--paralelo=")) {
+                hilos = hilos(arg.substring("--paralelo=".length()));
+            } else if (arg.startsWith("--salida=")) {
+                tipoSalida = arg.substring("--salida=".length());
+            } else if (arg.startsWith("--")) {
+                salirConError("Opción desconocida: " + arg);
+            } else {
+                seleccion.add(arg);
+            }
+        }
+
+        Map<String, List<Method>> elegidos;
+        try {
+            elegidos = ejecutor.seleccionar(seleccion);
+        } catch (IllegalArgumentException e) {
+            salirConError(e.getMessage());
+            return;
+        }
+
+        if (lista) {
+            for (Map.Entry<String, List<Method>> suite : elegidos.entrySet()) {
+                System.out.println(suite.getKey());
+                for (Method ejemplo : suite.getValue()) {
+                    System.out.println("  " + suite.getKey() + "." + ejemplo.getName());
+                }
+            }
+            return;
+        }
+
+        Salida salidaEjemplos;
+        switch (tipoSalida) {
+            case "estandar":
+                salidaEjemplos = new SalidaEstandar();
+                break;
+            case "asincrona":
+                salidaEjemplos = SalidaAsincrona.consola();
+                break;
+            case "nula":
+                salidaEjemplos = SalidaNula.INSTANCIA;
+                break;
+            default:
+                salirConError("Salida desconocida: " + tipoSalida);
+                return;
+        }
+
+        Salidas.usar(salidaEjemplos);
+        List<EjecutorEjemplos.Medicion> mediciones;
+        try {
+            salida().println("=== EJEMPLOS DE CARACTERÍSTICAS DE JAVA 8 ===\n");
+            mediciones = ejecutor.ejecutar(elegidos, hilos);
+        } finally {
+            Salidas.usar(new SalidaEstandar());
+            salidaEjemplos.close();
+        }
+
+        // La tabla se imprime siempre, también con --salida=nula
+        salida().println("=== TIEMPOS POR EJEMPLO ===");
+        EjecutorEjemplos.imprimirTabla(mediciones, salida());
+    }
+
+    // Número de hilos de --paralelo=N; sale con el uso si no es un entero positivo
+    private static int hilos(String valor) {
+        int hilos = 0;
+        try {
+            hilos = Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            // Se informa abajo junto con los valores fuera de rango
+        }
+        if (hilos < 1) {
+            salirConError("--paralelo necesita un número de hilos mayor que 0: " + valor);
+        }
+        return hilos;
+    }
+
+    private static void salirConError(String mensaje) {
+        System.err.println(mensaje);
+        System.err.println("Uso: Main [--lista] [--paralelo[=hilos]] [--salida=estandar|asincrona|nula]"
+            + " [suite | suite.ejemploN ...]");
+        System.exit(2);
     }
-} 
\ No newline at end of file
+}
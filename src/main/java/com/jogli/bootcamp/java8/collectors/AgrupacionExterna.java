@@ -0,0 +1,361 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import com.jogli.bootcamp.java8.disco.Serializador;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * groupingBy para datos que no caben en el heap
+ *
+ * Mientras los elementos pendientes caben en el presupuesto de memoria se
+ * guardan en una lista. Al superarlo se reparten por hash de la clave en
+ * {@value #PARTICIONES} archivos temporales (uno por partición) y se vacía
+ * la lista. Al terminar se procesa una partición cada vez: se leen sus
+ * elementos, se agrupan con el collector de cada grupo y se entregan, así
+ * que en memoria solo hay a la vez los grupos de una partición.
+ *
+ * La clave se vuelve a calcular al leer, de modo que solo hace falta
+ * serializar los elementos; el clasificador debe ser determinista. Dentro
+ * de cada grupo se conserva el orden de encuentro, como en groupingBy.
+ *
+ * El presupuesto de memoria es por contenedor e incluye los buffers de
+ * los {@value #PARTICIONES} archivos (hasta la mitad del presupuesto, de
+ * 512 bytes a 64 KB cada uno); la otra mitad es para los pendientes. En
+ * un stream paralelo cada hoja tiene su contenedor, así que el total
+ * puede llegar a hojas × memoriaMaxima: para un tope global hay que
+ * dividirlo entre el paralelismo. Los archivos temporales se borran al
+ * terminar o si falla la escritura o la lectura. Todos cuelgan de un
+ * directorio común con un único gancho de apagado que lo borra entero, así
+ * que los de contenedores abandonados (el stream falló antes de llegar al
+ * final) se borran al salir de la JVM sin acumular registros por archivo.
+ */
+public final class AgrupacionExterna {
+
+    private static final int PARTICIONES = 64;
+    private static final int BUFFER_MINIMO = 512;
+    private static final int BUFFER_MAXIMO = 1 << 16;
+
+    private static Path raiz;
+
+    private AgrupacionExterna() {
+    }
+
+    /**
+     * Equivalente a groupingBy(clasificador) con volcado a disco
+     *
+     * @param memoriaMaxima bytes de heap por contenedor (estimados con el serializador), buffers de escritura incluidos
+     */
+    public static <T, K> Collector<T, ?, Map<K, List<T>>> agruparPor(
+            Function<? super T, ? extends K> clasificador,
+            Serializador<T> serializador,
+            long memoriaMaxima) {
+        return agruparPor(clasificador, HashMap::new, Collectors.toList(), serializador, memoriaMaxima);
+    }
+
+    /**
+     * Equivalente a groupingBy(clasificador, fabricaMapa, downstream) con volcado a disco
+     *
+     * El mapa final sí se construye entero; si tampoco cabe, usar visitarGrupos.
+     */
+    public static <T, K, A, D, M extends Map<K, D>> Collector<T, ?, M> agruparPor(
+            Function<? super T, ? extends K> clasificador,
+            Supplier<M> fabricaMapa,
+            Collector<? super T, A, D> downstream,
+            Serializador<T> serializador,
+            long memoriaMaxima) {
+        Objects.requireNonNull(fabricaMapa, "fabricaMapa");
+        return Collector.of(
+            () -> new Volcado<T, K>(clasificador, serializador, memoriaMaxima),
+            Volcado::agregar,
+            Volcado::combinar,
+            volcado -> {
+                M mapa = fabricaMapa.get();
+                volcado.recorrerGrupos(downstream, mapa::put);
+                return mapa;
+            });
+    }
+
+    /**
+     * Agrupa y entrega cada grupo al visitante sin construir el mapa completo
+     *
+     * Los grupos llegan partición a partición, sin un orden definido. El
+     * resultado es el número de grupos visitados.
+     */
+    public static <T, K, A, D> Collector<T, ?, Long> visitarGrupos(
+            Function<? super T, ? extends K> clasificador,
+            Collector<? super T, A, D> downstream,
+            Serializador<T> serializador,
+            long memoriaMaxima,
+            BiConsumer<? super K, ? super D> visitante) {
+        Objects.requireNonNull(visitante, "visitante");
+        return Collector.of(
+            () -> new Volcado<T, K>(clasificador, serializador, memoriaMaxima),
+            Volcado::agregar,
+            Volcado::combinar,
+            volcado -> {
+                long[] grupos = new long[1];
+                volcado.recorrerGrupos(downstream, (clave, valor) -> {
+                    grupos[0]++;
+                    visitante.accept(clave, valor);
+                });
+                return grupos[0];
+            });
+    }
+
+    // Contenedor del collector: elementos pendientes en memoria y archivos por partición
+    private static final class Volcado<T, K> {
+        private final Function<? super T, ? extends K> clasificador;
+        private final Serializador<T> serializador;
+        private final long memoriaMaxima;
+        // Lo que queda del presupuesto tras reservar los buffers de las particiones
+        private final long memoriaPendientes;
+        private final int tamanioBuffer;
+
+        private final List<T> pendientes = new ArrayList<>();
+        private long memoria;
+
+        private final List<Path> directorios = new ArrayList<>();
+        private final List<List<Tramo>> particiones = new ArrayList<>();
+        private final DataOutputStream[] salidas = new DataOutputStream[PARTICIONES];
+        private final Tramo[] abiertos = new Tramo[PARTICIONES];
+
+        Volcado(Function<? super T, ? extends K> clasificador, Serializador<T> serializador, long memoriaMaxima) {
+            if (memoriaMaxima <= 0) {
+                throw new IllegalArgumentException("La memoria máxima debe ser positiva: " + memoriaMaxima);
+            }
+            this.clasificador = Objects.requireNonNull(clasificador, "clasificador");
+            this.serializador = Objects.requireNonNull(serializador, "serializador");
+            this.memoriaMaxima = memoriaMaxima;
+            this.tamanioBuffer = (int) Math.max(BUFFER_MINIMO, Math.min(BUFFER_MAXIMO, memoriaMaxima / (2 * PARTICIONES)));
+            this.memoriaPendientes = Math.max(0, memoriaMaxima - (long) PARTICIONES * tamanioBuffer);
+            for (int i = 0; i < PARTICIONES; i++) {
+                particiones.add(new ArrayList<>());
+            }
+        }
+
+        void agregar(T elemento) {
+            pendientes.add(elemento);
+            memoria += serializador.memoria(elemento);
+            if (memoria > memoriaPendientes) {
+                volcar();
+            }
+        }
+
+        Volcado<T, K> combinar(Volcado<T, K> otro) {
+            if (!volcado() && !otro.volcado() && memoria + otro.memoria <= memoriaPendientes) {
+                pendientes.addAll(otro.pendientes);
+                memoria += otro.memoria;
+                return this;
+            }
+            try {
+                // Los elementos de this van antes que los de otro: se vuelcan en ese orden
+                volcar();
+                cerrarSalidas();
+                otro.volcar();
+                otro.cerrarSalidas();
+            } catch (RuntimeException | Error e) {
+                otro.abandonar();
+                abandonar();
+                throw e;
+            }
+            for (int i = 0; i < PARTICIONES; i++) {
+                particiones.get(i).addAll(otro.particiones.get(i));
+            }
+            directorios.addAll(otro.directorios);
+            return this;
+        }
+
+        private boolean volcado() {
+            return !directorios.isEmpty();
+        }
+
+        private void volcar() {
+            try {
+                for (T elemento : pendientes) {
+                    int particion = particion(clasificador.apply(elemento));
+                    serializador.escribir(elemento, salida(particion));
+                    abiertos[particion].registros++;
+                }
+            } catch (IOException e) {
+                abandonar();
+                throw new UncheckedIOException(e);
+            }
+            pendientes.clear();
+            memoria = 0;
+        }
+
+        private DataOutputStream salida(int particion) throws IOException {
+            if (salidas[particion] == null) {
+                if (directorios.isEmpty()) {
+                    directorios.add(Files.createTempDirectory(raiz(), "volcado"));
+                }
+                Path archivo = Files.createTempFile(directorios.get(0), "particion" + particion + "-", ".bin");
+                Tramo tramo = new Tramo(archivo);
+                particiones.get(particion).add(tramo);
+                abiertos[particion] = tramo;
+                salidas[particion] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(archivo), tamanioBuffer));
+            }
+            return salidas[particion];
+        }
+
+        private void cerrarSalidas() {
+            try {
+                for (int i = 0; i < PARTICIONES; i++) {
+                    if (salidas[i] != null) {
+                        salidas[i].close();
+                        salidas[i] = null;
+                        abiertos[i] = null;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static int particion(Object clave) {
+            int h = Objects.hashCode(clave);
+            h ^= (h >>> 16);
+            return h & (PARTICIONES - 1);
+        }
+
+        // Agrupa partición a partición y entrega cada grupo terminado
+        <A, D> void recorrerGrupos(Collector<? super T, A, D> downstream, BiConsumer<? super K, ? super D> destino) {
+            Supplier<A> proveedor = downstream.supplier();
+            BiConsumer<A, ? super T> acumulador = downstream.accumulator();
+            Function<A, D> finalizador = downstream.finisher();
+            if (!volcado()) {
+                entregar(agrupar(pendientes, proveedor, acumulador), finalizador, destino);
+                return;
+            }
+            try {
+                volcar();
+                cerrarSalidas();
+                for (List<Tramo> tramos : particiones) {
+                    Map<K, A> grupos = new HashMap<>();
+                    for (Tramo tramo : tramos) {
+                        leer(tramo, grupos, proveedor, acumulador);
+                        Files.delete(tramo.archivo);
+                    }
+                    entregar(grupos, finalizador, destino);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                abandonar();
+            }
+        }
+
+        private <A> Map<K, A> agrupar(List<T> elementos, Supplier<A> proveedor, BiConsumer<A, ? super T> acumulador) {
+            Map<K, A> grupos = new HashMap<>();
+            for (T elemento : elementos) {
+                acumular(grupos, elemento, proveedor, acumulador);
+            }
+            return grupos;
+        }
+
+        private <A> void leer(Tramo tramo, Map<K, A> grupos, Supplier<A> proveedor,
+                              BiConsumer<A, ? super T> acumulador) throws IOException {
+            try (DataInputStream entrada = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(tramo.archivo), tamanioBuffer))) {
+                for (long i = 0; i < tramo.registros; i++) {
+                    acumular(grupos, serializador.leer(entrada), proveedor, acumulador);
+                }
+            }
+        }
+
+        private <A> void acumular(Map<K, A> grupos, T elemento, Supplier<A> proveedor,
+                                  BiConsumer<A, ? super T> acumulador) {
+            K clave = Objects.requireNonNull(clasificador.apply(elemento), "clave nula");
+            A contenedor = grupos.get(clave);
+            if (contenedor == null) {
+                contenedor = proveedor.get();
+                grupos.put(clave, contenedor);
+            }
+            acumulador.accept(contenedor, elemento);
+        }
+
+        private <A, D> void entregar(Map<K, A> grupos, Function<A, D> finalizador,
+                                     BiConsumer<? super K, ? super D> destino) {
+            for (Map.Entry<K, A> grupo : grupos.entrySet()) {
+                destino.accept(grupo.getKey(), finalizador.apply(grupo.getValue()));
+            }
+        }
+
+        // Cierra lo que quede abierto sin lanzar y borra todos los archivos
+        private void abandonar() {
+            for (int i = 0; i < PARTICIONES; i++) {
+                if (salidas[i] != null) {
+                    try {
+                        salidas[i].close();
+                    } catch (IOException e) {
+                        // Se borra igualmente
+                    }
+                    salidas[i] = null;
+                    abiertos[i] = null;
+                }
+            }
+            borrarTodo();
+        }
+
+        private void borrarTodo() {
+            for (List<Tramo> tramos : particiones) {
+                for (Tramo tramo : tramos) {
+                    try {
+                        Files.deleteIfExists(tramo.archivo);
+                    } catch (IOException e) {
+                        // Se intenta borrar el resto
+                    }
+                }
+                tramos.clear();
+            }
+            for (Path directorio : directorios) {
+                try {
+                    Files.deleteIfExists(directorio);
+                } catch (IOException e) {
+                    // El directorio temporal se queda si no está vacío
+                }
+            }
+            directorios.clear();
+        }
+    }
+
+    // Directorio común de los volcados; se crea con el primero que lo necesita
+    private static synchronized Path raiz() throws IOException {
+        if (raiz == null) {
+            Path directorio = Files.createTempDirectory("agrupacion");
+            // Último recurso para los contenedores que no llegan al final del stream
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> borrarArbol(directorio), "agrupacion-limpieza"));
+            raiz = directorio;
+        }
+        return raiz;
+    }
+
+    private static void borrarArbol(Path directorio) {
+        try (Stream<Path> rutas = Files.walk(directorio)) {
+            // Los archivos antes que los directorios que los contienen
+            rutas.sorted(Comparator.reverseOrder()).forEach(ruta -> {
+                try {
+                    Files.deleteIfExists(ruta);
+                } catch (IOException e) {
+                    // Se intenta borrar el resto
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            // Nada más que hacer mientras la JVM se apaga
+        }
+    }
+
+    // Archivo de una partición y cuántos elementos tiene
+    private static final class Tramo {
+        final Path archivo;
+        long registros;
+
+        Tramo(Path archivo) {
+            this.archivo = archivo;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Collectors y filtros aproximados para cuando basta con saber cuántos
+ * distintos hay o si un elemento ya se ha visto
+ *
+ * distinct().count() y toSet() guardan cada elemento distinto en un
+ * HashSet; con cientos de millones de valores eso es varios GB. Estos
+ * usan memoria fija ({@link HyperLogLog}, {@link FiltroBloom}) a cambio de
+ * un error configurable, y se combinan en streams paralelos.
+ */
+public final class Aproximados {
+
+    private static final int CERROJOS = 64;
+
+    private static final Collector.Characteristics[] SIN_ORDEN = {
+        Collector.Characteristics.UNORDERED
+    };
+
+    private Aproximados() {
+    }
+
+    /**
+     * Número aproximado de elementos distintos, como distinct().count()
+     *
+     * @param errorRelativo error típico máximo (p. ej. 0.01 para un 1%)
+     */
+    public static <T> Collector<T, ?, Long> contarDistintos(double errorRelativo) {
+        return Collectors.collectingAndThen(cardinalidad(errorRelativo), HyperLogLog::estimar);
+    }
+
+    /**
+     * El estimador sin finalizar, para combinarlo con otros más tarde
+     */
+    public static <T> Collector<T, ?, HyperLogLog> cardinalidad(double errorRelativo) {
+        int precision = HyperLogLog.precisionPara(errorRelativo);
+        return Collector.of(
+            () -> new HyperLogLog(precision),
+            HyperLogLog::agregar,
+            HyperLogLog::combinar,
+            SIN_ORDEN);
+    }
+
+    /**
+     * Filtro de Bloom con todos los elementos, para preguntar después si se vieron
+     */
+    public static <T> Collector<T, ?, FiltroBloom> filtroBloom(long esperados, double falsosPositivos) {
+        FiltroBloom modelo = new FiltroBloom(esperados, falsosPositivos);
+        return Collector.of(
+            modelo::vacioIgual,
+            FiltroBloom::agregar,
+            FiltroBloom::combinar,
+            SIN_ORDEN);
+    }
+
+    /**
+     * Predicado para filter() que deja pasar solo lo que no se ha visto antes
+     *
+     * Sustituye a distinct() en memoria fija: los repetidos se descartan
+     * siempre, y un elemento nuevo se descarta por error con probabilidad
+     * falsosPositivos. Es seguro en streams paralelos, aunque entonces no
+     * se garantiza cuál de las apariciones de un valor es la que pasa.
+     *
+     * FiltroBloom.agregar solo no basta en paralelo: dos hilos que agregan
+     * a la vez el mismo valor pueden recibir true los dos. Por eso cada
+     * valor pasa por uno de {@value #CERROJOS} cerrojos elegido por su
+     * hash, así las apariciones de un mismo valor se comprueban y marcan de
+     * una en una y valores distintos casi nunca esperan. Lo que ya parece
+     * estar en el filtro se descarta antes, sin bloquear.
+     */
+    public static <T> Predicate<T> sinRepetidos(long esperados, double falsosPositivos) {
+        FiltroBloom filtro = new FiltroBloom(esperados, falsosPositivos);
+        Object[] cerrojos = new Object[CERROJOS];
+        for (int i = 0; i < CERROJOS; i++) {
+            cerrojos[i] = new Object();
+        }
+        return valor -> {
+            long hash = Hashes.hash64(valor);
+            // Los repetidos, que suelen ser la mayoría, se descartan sin bloquear
+            if (filtro.puedeContenerHash(hash)) {
+                return false;
+            }
+            synchronized (cerrojos[(int) (hash >>> 58)]) {
+                return filtro.agregarHash(hash);
+            }
+        };
+    }
+}
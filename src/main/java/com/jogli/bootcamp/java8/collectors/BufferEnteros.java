@@ -0,0 +1,86 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Lista de int que crece sola, sin un Integer por elemento
+ *
+ * Ocupa 4 bytes por valor (más la holgura al crecer) frente a los unos 20
+ * de un ArrayList<Integer> con valores fuera de la caché de Integer.
+ * No es segura para varios hilos.
+ */
+public class BufferEnteros implements IntConsumer {
+
+    private int[] valores;
+    private int tamanio;
+
+    public BufferEnteros() {
+        this(16);
+    }
+
+    public BufferEnteros(int capacidad) {
+        if (capacidad < 0) {
+            throw new IllegalArgumentException("Capacidad negativa: " + capacidad);
+        }
+        this.valores = new int[capacidad];
+    }
+
+    @Override
+    public void accept(int valor) {
+        if (tamanio == valores.length) {
+            asegurar(tamanio + 1);
+        }
+        valores[tamanio++] = valor;
+    }
+
+    /**
+     * Añade al final todos los valores de otro buffer
+     */
+    public void agregarTodos(BufferEnteros otro) {
+        asegurar(tamanio + otro.tamanio);
+        System.arraycopy(otro.valores, 0, valores, tamanio, otro.tamanio);
+        tamanio += otro.tamanio;
+    }
+
+    private void asegurar(int minimo) {
+        if (minimo < 0) {
+            throw new OutOfMemoryError("Demasiados valores para un int[]");
+        }
+        if (minimo > valores.length) {
+            // Crece un 50% como ArrayList, sin pasar del máximo de un array
+            long crecida = valores.length + (valores.length >> 1) + 1L;
+            int capacidad = (int) Math.max(minimo, Math.min(Integer.MAX_VALUE - 8, crecida));
+            valores = Arrays.copyOf(valores, capacidad);
+        }
+    }
+
+    public int tamanio() {
+        return tamanio;
+    }
+
+    public int get(int indice) {
+        if (indice < 0 || indice >= tamanio) {
+            throw new IndexOutOfBoundsException("Índice " + indice + " fuera de [0, " + tamanio + ")");
+        }
+        return valores[indice];
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(valores, tamanio);
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(valores, 0, tamanio);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < tamanio; i++) {
+            joiner.add(Integer.toString(valores[i]));
+        }
+        return joiner.toString();
+    }
+}
@@ -1,8 +1,16 @@
 package com.jogli.bootcamp.java8.collectors;
 
+import com.jogli.bootcamp.java8.disco.Serializador;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
 import java.util.*;
 import java.util.stream.*;
 
+import static com.jogli.bootcamp.java8.salida.Salidas.salida;
+
 /**
  * Ejemplos de Collectors en Java 8
  * 
@@ -24,8 +32,8 @@ public class CollectorExamples {
      * Demuestra los collectors más comunes
      */
     public static void ejemplo1_RecoleccionBasica() {
-        System.out.println("1. RECOLECCIÓN BÁSICA");
-        System.out.println("---------------------");
+        salida().println("1. RECOLECCIÓN BÁSICA");
+        salida().println("---------------------");
         
         List<String> palabras = Arrays.asList("casa", "coche", "árbol", "libro", "sol");
         
@@ -33,23 +41,34 @@ public class CollectorExamples {
         List<String> lista = palabras.stream()
             .filter(p -> p.length() > 3)
             .collect(Collectors.toList());
-        System.out.println("Lista filtrada: " + lista);
+        salida().println("Lista filtrada: " + lista);
         
         // Recolectar en Set (elimina duplicados)
         Set<String> conjunto = palabras.stream()
             .map(String::toUpperCase)
             .collect(Collectors.toSet());
-        System.out.println("Conjunto en mayúsculas: " + conjunto);
+        salida().println("Conjunto en mayúsculas: " + conjunto);
+        
+        // Cuántos distintos hay, sin guardarlos (HyperLogLog con ~1% de error)
+        long distintosAprox = palabras.stream()
+            .collect(Aproximados.contarDistintos(0.01));
+        salida().println("Distintos (aproximado): " + distintosAprox);
+        
+        // ¿Se ha visto ya? Filtro de Bloom con un 1% de falsos positivos
+        FiltroBloom vistas = palabras.stream()
+            .collect(Aproximados.filtroBloom(1000, 0.01));
+        salida().println("¿Se vio 'casa'? " + vistas.puedeContener("casa")
+            + ", ¿y 'mesa'? " + vistas.puedeContener("mesa"));
         
         // Recolectar en ArrayList específico
         ArrayList<String> arrayList = palabras.stream()
             .collect(Collectors.toCollection(ArrayList::new));
-        System.out.println("ArrayList: " + arrayList);
+        salida().println("ArrayList: " + arrayList);
         
         // Recolectar en LinkedList
         LinkedList<String> linkedList = palabras.stream()
             .collect(Collectors.toCollection(LinkedList::new));
-        System.out.println("LinkedList: " + linkedList);
+        salida().println("LinkedList: " + linkedList);
         
         // Recolectar en Map
         Map<String, Integer> mapa = palabras.stream()
@@ -57,7 +76,7 @@ public class CollectorExamples {
                 palabra -> palabra,
                 String::length
             ));
-        System.out.println("Mapa palabra -> longitud: " + mapa);
+        salida().println("Mapa palabra -> longitud: " + mapa);
         
         // Recolectar en Map con manejo de duplicados
         List<String> palabrasConDuplicados = Arrays.asList("casa", "coche", "casa", "árbol");
@@ -67,8 +86,19 @@ public class CollectorExamples {
                 String::length,
                 (existente, nuevo) -> existente // mantener el existente
             ));
-        System.out.println("Mapa con duplicados manejados: " + mapaConDuplicados);
-        System.out.println();
+        salida().println("Mapa con duplicados manejados: " + mapaConDuplicados);
+        
+        // Lo mismo con direccionamiento abierto y la longitud como int, para millones de claves
+        MapaAbiertoEntero<String> mapaAbierto = palabrasConDuplicados.stream()
+            .collect(CollectorsMapaAbierto.aMapaEntero(
+                palabra -> palabra,
+                String::length,
+                (existente, nuevo) -> existente,
+                palabrasConDuplicados.size()
+            ));
+        salida().println("Mapa abierto con duplicados manejados: " + mapaAbierto);
+        salida().println("Longitud de 'casa' sin encajonar: " + mapaAbierto.getInt("casa", 0));
+        salida().println();
     }
     
     /**
@@ -76,21 +106,33 @@ public class CollectorExamples {
      * Demuestra groupingBy para agrupar elementos
      */
     public static void ejemplo2_Agrupacion() {
-        System.out.println("2. AGRUPACIÓN");
-        System.out.println("-------------");
+        salida().println("2. AGRUPACIÓN");
+        salida().println("-------------");
         
         List<String> palabras = Arrays.asList("casa", "coche", "árbol", "libro", "sol", "mar");
         
         // Agrupar por longitud
         Map<Integer, List<String>> porLongitud = palabras.stream()
             .collect(Collectors.groupingBy(String::length));
-        System.out.println("Agrupadas por longitud: " + porLongitud);
+        salida().println("Agrupadas por longitud: " + porLongitud);
+        
+        // Lo mismo con la clave int sin encajonar (mapa de direccionamiento abierto)
+        MapaEnteroObjeto<List<String>> porLongitudPrimitiva = palabras.stream()
+            .collect(CollectorsPrimitivos.agruparPorEntero(String::length));
+        salida().println("Agrupadas por longitud (clave int): " + porLongitudPrimitiva);
+        salida().println("  - De 5 letras: " + porLongitudPrimitiva.get(5));
         
         // Agrupar por primera letra
         Map<String, List<String>> porPrimeraLetra = palabras.stream()
             .collect(Collectors.groupingBy(palabra -> 
                 palabra.substring(0, 1).toUpperCase()));
-        System.out.println("Agrupadas por primera letra: " + porPrimeraLetra);
+        salida().println("Agrupadas por primera letra: " + porPrimeraLetra);
+        
+        // Lo mismo sin substring ni toUpperCase: la inicial es un int y la mayúscula sale de una tabla
+        GruposPorInicial<List<String>> porInicial = palabras.stream()
+            .collect(CollectorsPrimitivos.agruparPorInicial());
+        salida().println("Agrupadas por inicial: " + porInicial);
+        salida().println("  - Con á o Á: " + porInicial.get('á'));
         
         // Agrupar y contar
         Map<Integer, Long> conteoPorLongitud = palabras.stream()
@@ -98,7 +140,16 @@ public class CollectorExamples {
                 String::length,
                 Collectors.counting()
             ));
-        System.out.println("Conteo por longitud: " + conteoPorLongitud);
+        salida().println("Conteo por longitud: " + conteoPorLongitud);
+        
+        Map<Integer, Long> conteoPrimitivo = palabras.parallelStream()
+            .collect(CollectorsPrimitivos.contarPorEntero(String::length));
+        salida().println("Conteo por longitud (clave int): " + conteoPrimitivo);
+        
+        // Agrupar y contar en paralelo sobre un único mapa concurrente
+        Map<Integer, Long> conteoConcurrente = palabras.parallelStream()
+            .collect(CollectorsConcurrentes.contarPor(String::length));
+        salida().println("Conteo concurrente por longitud: " + conteoConcurrente);
         
         // Agrupar y transformar
         Map<Integer, List<String>> mayusculasPorLongitud = palabras.stream()
@@ -109,7 +160,7 @@ public class CollectorExamples {
                     Collectors.toList()
                 )
             ));
-        System.out.println("Mayúsculas por longitud: " + mayusculasPorLongitud);
+        salida().println("Mayúsculas por longitud: " + mayusculasPorLongitud);
         
         // Agrupar con múltiples criterios
         Map<String, Map<Integer, List<String>>> porLetraYLongitud = palabras.stream()
@@ -117,7 +168,7 @@ public class CollectorExamples {
                 palabra -> palabra.substring(0, 1).toUpperCase(),
                 Collectors.groupingBy(String::length)
             ));
-        System.out.println("Por letra y longitud: " + porLetraYLongitud);
+        salida().println("Por letra y longitud: " + porLetraYLongitud);
         
         // Agrupar en TreeMap (ordenado)
         TreeMap<Integer, List<String>> ordenadoPorLongitud = palabras.stream()
@@ -126,8 +177,34 @@ public class CollectorExamples {
                 TreeMap::new,
                 Collectors.toList()
             ));
-        System.out.println("Ordenado por longitud: " + ordenadoPorLongitud);
-        System.out.println();
+        salida().println("Ordenado por longitud: " + ordenadoPorLongitud);
+        
+        // Agrupar con volcado a disco: con un presupuesto de 200 bytes ya se vuelca
+        Map<Integer, List<String>> porLongitudExterna = palabras.stream()
+            .collect(AgrupacionExterna.agruparPor(String::length, Serializador.cadenas(), 200));
+        salida().println("Agrupadas por longitud (externa): " + porLongitudExterna);
+        
+        TreeMap<Integer, Long> conteoExterno = palabras.parallelStream()
+            .collect(AgrupacionExterna.agruparPor(
+                String::length,
+                TreeMap::new,
+                Collectors.counting(),
+                Serializador.cadenas(),
+                200
+            ));
+        salida().println("Conteo por longitud (externo, ordenado): " + conteoExterno);
+        
+        // Visitar los grupos uno a uno sin construir el mapa completo
+        long grupos = palabras.stream()
+            .collect(AgrupacionExterna.visitarGrupos(
+                palabra -> palabra.substring(0, 1).toUpperCase(),
+                Collectors.joining(", "),
+                Serializador.cadenas(),
+                200,
+                (letra, lista) -> salida().println("  " + letra + ": " + lista)
+            ));
+        salida().println("Grupos visitados: " + grupos);
+        salida().println();
     }
     
     /**
@@ -135,17 +212,23 @@ public class CollectorExamples {
      * Demuestra partitioningBy para dividir en dos grupos
      */
     public static void ejemplo3_Particionado() {
-        System.out.println("3. PARTICIONADO");
-        System.out.println("---------------");
+        salida().println("3. PARTICIONADO");
+        salida().println("---------------");
         
         List<Integer> numeros = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
         
         // Particionar por pares/impares
         Map<Boolean, List<Integer>> paresEImpares = numeros.stream()
             .collect(Collectors.partitioningBy(n -> n % 2 == 0));
-        System.out.println("Pares e impares: " + paresEImpares);
-        System.out.println("Pares: " + paresEImpares.get(true));
-        System.out.println("Impares: " + paresEImpares.get(false));
+        salida().println("Pares e impares: " + paresEImpares);
+        salida().println("Pares: " + paresEImpares.get(true));
+        salida().println("Impares: " + paresEImpares.get(false));
+        
+        // Particionar en dos int[] que crecen, sin una lista de Integer por lado
+        ParticionEnteros paresEImparesPrimitivos = numeros.stream()
+            .collect(CollectorsPrimitivos.particionarEnteros(Integer::intValue, n -> n % 2 == 0));
+        salida().println("Pares e impares (int[]): " + paresEImparesPrimitivos);
+        salida().println("Suma de pares (int[]): " + paresEImparesPrimitivos.get(true).stream().sum());
         
         // Particionar y contar
         Map<Boolean, Long> conteoParesImpares = numeros.stream()
@@ -153,7 +236,7 @@ public class CollectorExamples {
                 n -> n % 2 == 0,
                 Collectors.counting()
             ));
-        System.out.println("Conteo pares/impares: " + conteoParesImpares);
+        salida().println("Conteo pares/impares: " + conteoParesImpares);
         
         // Particionar y sumar
         Map<Boolean, Integer> sumaParesImpares = numeros.stream()
@@ -161,13 +244,13 @@ public class CollectorExamples {
                 n -> n % 2 == 0,
                 Collectors.summingInt(Integer::intValue)
             ));
-        System.out.println("Suma pares/impares: " + sumaParesImpares);
+        salida().println("Suma pares/impares: " + sumaParesImpares);
         
         // Particionar strings por longitud
         List<String> palabras = Arrays.asList("casa", "coche", "árbol", "libro", "sol");
         Map<Boolean, List<String>> cortasYLargas = palabras.stream()
             .collect(Collectors.partitioningBy(palabra -> palabra.length() > 4));
-        System.out.println("Cortas y largas: " + cortasYLargas);
+        salida().println("Cortas y largas: " + cortasYLargas);
         
         // Particionar y transformar
         Map<Boolean, List<String>> mayusculasCortasYLargas = palabras.stream()
@@ -178,8 +261,8 @@ public class CollectorExamples {
                     Collectors.toList()
                 )
             ));
-        System.out.println("Mayúsculas cortas y largas: " + mayusculasCortasYLargas);
-        System.out.println();
+        salida().println("Mayúsculas cortas y largas: " + mayusculasCortasYLargas);
+        salida().println();
     }
     
     /**
@@ -187,54 +270,78 @@ public class CollectorExamples {
      * Demuestra collectors para operaciones matemáticas
      */
     public static void ejemplo4_OperacionesDeAgregacion() {
-        System.out.println("4. OPERACIONES DE AGREGACIÓN");
-        System.out.println("----------------------------");
+        salida().println("4. OPERACIONES DE AGREGACIÓN");
+        salida().println("----------------------------");
         
         List<Integer> numeros = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
         
         // Contar elementos
         Long cantidad = numeros.stream()
             .collect(Collectors.counting());
-        System.out.println("Cantidad total: " + cantidad);
+        salida().println("Cantidad total: " + cantidad);
         
         // Sumar elementos
         Integer suma = numeros.stream()
             .collect(Collectors.summingInt(Integer::intValue));
-        System.out.println("Suma total: " + suma);
+        salida().println("Suma total: " + suma);
         
         // Promedio
         Double promedio = numeros.stream()
             .collect(Collectors.averagingInt(Integer::intValue));
-        System.out.println("Promedio: " + promedio);
+        salida().println("Promedio: " + promedio);
         
         // Estadísticas completas
         IntSummaryStatistics estadisticas = numeros.stream()
             .collect(Collectors.summarizingInt(Integer::intValue));
-        System.out.println("Estadísticas: " + estadisticas);
-        System.out.println("  - Conteo: " + estadisticas.getCount());
-        System.out.println("  - Suma: " + estadisticas.getSum());
-        System.out.println("  - Promedio: " + estadisticas.getAverage());
-        System.out.println("  - Mínimo: " + estadisticas.getMin());
-        System.out.println("  - Máximo: " + estadisticas.getMax());
-        
+        salida().println("Estadísticas: " + estadisticas);
+        salida().println("  - Conteo: " + estadisticas.getCount());
+        salida().println("  - Suma: " + estadisticas.getSum());
+        salida().println("  - Promedio: " + estadisticas.getAverage());
+        salida().println("  - Mínimo: " + estadisticas.getMin());
+        salida().println("  - Máximo: " + estadisticas.getMax());
+        
+        // Estadísticas con percentiles en memoria fija (error relativo < 1%)
+        EstadisticasIntConCuantiles conCuantiles = numeros.stream()
+            .collect(Cuantiles.resumiendoIntConCuantiles(Integer::intValue));
+        salida().println("Con cuantiles: " + conCuantiles);
+        salida().println("  - Percentil 90: " + conCuantiles.getCuantil(0.9));
+
         // Máximo y mínimo
         Optional<Integer> maximo = numeros.stream()
             .collect(Collectors.maxBy(Integer::compareTo));
         Optional<Integer> minimo = numeros.stream()
             .collect(Collectors.minBy(Integer::compareTo));
         
-        maximo.ifPresent(max -> System.out.println("Máximo: " + max));
-        minimo.ifPresent(min -> System.out.println("Mínimo: " + min));
+        maximo.ifPresent(max -> salida().println("Máximo: " + max));
+        minimo.ifPresent(min -> salida().println("Mínimo: " + min));
         
         // Reducción personalizada
         Integer producto = numeros.stream()
             .collect(Collectors.reducing(1, (a, b) -> a * b));
-        System.out.println("Producto: " + producto);
+        salida().println("Producto: " + producto);
+        
+        // Producto y suma exactos: pasan a BigInteger en vez de desbordar
+        ProductoExacto productoExacto = numeros.stream()
+            .collect(ReduccionesExactas.productoExacto(n -> n * 1_000_000L));
+        salida().println("Producto de millones: " + productoExacto.getProducto());
+        SumaExacta sumaExacta = numeros.stream()
+            .collect(ReduccionesExactas.sumaExacta(n -> Long.MAX_VALUE));
+        salida().println("Suma de diez Long.MAX_VALUE: " + sumaExacta.getSuma());
+        
+        // Combinar en cadena, como con un stream paralelo muy desequilibrado (Stream.iterate, Files.lines...)
+        ProductoExacto encadenado = new ProductoExacto();
+        for (int i = 1; i <= 1000; i++) {
+            ProductoExacto hoja = new ProductoExacto();
+            hoja.accept(i);
+            encadenado.combine(hoja);
+        }
+        salida().println("1000 combinaciones seguidas = 1000!: "
+            + encadenado.getProducto().equals(ReduccionesExactas.factorial(1000)));
         
         // Reducción con Optional
         Optional<Integer> sumaOpcional = numeros.stream()
             .collect(Collectors.reducing(Integer::sum));
-        sumaOpcional.ifPresent(s -> System.out.println("Suma con reducing: " + s));
+        sumaOpcional.ifPresent(s -> salida().println("Suma con reducing: " + s));
         
         // Agrupar y aplicar estadísticas
         List<String> palabras = Arrays.asList("casa", "coche", "árbol", "libro", "sol");
@@ -243,8 +350,16 @@ public class CollectorExamples {
                 String::length,
                 Collectors.summarizingInt(String::length)
             ));
-        System.out.println("Estadísticas por longitud: " + estadisticasPorLongitud);
-        System.out.println();
+        salida().println("Estadísticas por longitud: " + estadisticasPorLongitud);
+        
+        // Mediana por grupo como downstream de groupingBy
+        Map<Boolean, Integer> medianaPorParidad = numeros.stream()
+            .collect(Collectors.groupingBy(
+                n -> n % 2 == 0,
+                Cuantiles.cuantil(Integer::intValue, 0.5)
+            ));
+        salida().println("Mediana por paridad: " + medianaPorParidad);
+        salida().println();
     }
     
     /**
@@ -252,20 +367,20 @@ public class CollectorExamples {
      * Demuestra cómo crear collectors personalizados
      */
     public static void ejemplo5_CollectorsPersonalizados() {
-        System.out.println("5. COLLECTORS PERSONALIZADOS");
-        System.out.println("---------------------------");
+        salida().println("5. COLLECTORS PERSONALIZADOS");
+        salida().println("---------------------------");
         
         List<String> palabras = Arrays.asList("casa", "coche", "árbol", "libro", "sol");
         
         // Unir strings con separador
         String resultado = palabras.stream()
             .collect(Collectors.joining(" - "));
-        System.out.println("Palabras unidas: " + resultado);
+        salida().println("Palabras unidas: " + resultado);
         
         // Unir con prefijo y sufijo
         String resultadoConPrefijo = palabras.stream()
             .collect(Collectors.joining(", ", "[", "]"));
-        System.out.println("Con prefijo y sufijo: " + resultadoConPrefijo);
+        salida().println("Con prefijo y sufijo: " + resultadoConPrefijo);
         
         // Collector personalizado para concatenar con formato
         String formatoPersonalizado = palabras.stream()
@@ -273,7 +388,28 @@ public class CollectorExamples {
                 Collectors.joining(" | "),
                 str -> ">>> " + str + " <<<"
             ));
-        System.out.println("Formato personalizado: " + formatoPersonalizado);
+        salida().println("Formato personalizado: " + formatoPersonalizado);
+        
+        // Lo mismo con el StringBuilder ya dimensionado: sin copias al crecer ni concatenación final
+        String formatoDimensionado = palabras.stream()
+            .collect(Uniones.uniendo(" | ", ">>> ", " <<<", 64));
+        salida().println("Formato dimensionado: " + formatoDimensionado);
+        
+        // Unir directamente en un archivo, en memoria constante aunque el texto ocupe gigas
+        try {
+            Path exportacion = Files.createTempFile("union", ".txt");
+            try (FileChannel canal = FileChannel.open(exportacion, StandardOpenOption.WRITE)) {
+                UnionEnFlujo union = Uniones.escribir(palabras.stream(),
+                    UnionEnFlujo.en(canal, StandardCharsets.UTF_8, " - ", "", System.lineSeparator()));
+                salida().println("Escritas " + union.getElementos() + " palabras, "
+                    + Files.size(exportacion) + " bytes: "
+                    + new String(Files.readAllBytes(exportacion), StandardCharsets.UTF_8).trim());
+            } finally {
+                Files.delete(exportacion);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
         
         // Collector para obtener el primer y último elemento
         List<String> primerYUltimo = palabras.stream()
@@ -286,7 +422,7 @@ public class CollectorExamples {
                     return lista;
                 }
             ));
-        System.out.println("Primer y último: " + primerYUltimo);
+        salida().println("Primer y último: " + primerYUltimo);
         
         // Collector para obtener elementos únicos ordenados
         List<String> unicosOrdenados = palabras.stream()
@@ -294,22 +430,12 @@ public class CollectorExamples {
                 Collectors.toSet(),
                 set -> set.stream().sorted().collect(Collectors.toList())
             ));
-        System.out.println("Únicos ordenados: " + unicosOrdenados);
+        salida().println("Únicos ordenados: " + unicosOrdenados);
         
-        // Collector personalizado para estadísticas de strings
+        // Collector personalizado para estadísticas de strings (una sola pasada)
         EstadisticasString estadisticas = palabras.stream()
-            .collect(Collectors.collectingAndThen(
-                Collectors.toList(),
-                lista -> {
-                    int totalCaracteres = lista.stream().mapToInt(String::length).sum();
-                    double promedio = lista.stream().mapToDouble(String::length).average().orElse(0.0);
-                    String masLarga = lista.stream().max(Comparator.comparing(String::length)).orElse("");
-                    String masCorta = lista.stream().min(Comparator.comparing(String::length)).orElse("");
-                    
-                    return new EstadisticasString(totalCaracteres, promedio, masLarga, masCorta);
-                }
-            ));
-        System.out.println("Estadísticas personalizadas: " + estadisticas);
+            .collect(EstadisticasString.collector());
+        salida().println("Estadísticas personalizadas: " + estadisticas);
         
         // Collector para agrupar y transformar
         Map<String, String> agrupacionPersonalizada = palabras.stream()
@@ -320,28 +446,64 @@ public class CollectorExamples {
                     lista -> String.join(" + ", lista)
                 )
             ));
-        System.out.println("Agrupación personalizada: " + agrupacionPersonalizada);
-        System.out.println();
+        salida().println("Agrupación personalizada: " + agrupacionPersonalizada);
+        salida().println();
     }
     
     // Clase auxiliar para estadísticas personalizadas
+    // Acumulador mutable: calcula todo en una pasada y se puede combinar en paralelo
     static class EstadisticasString {
-        private int totalCaracteres;
-        private double promedio;
-        private String masLarga;
-        private String masCorta;
-        
-        public EstadisticasString(int totalCaracteres, double promedio, String masLarga, String masCorta) {
-            this.totalCaracteres = totalCaracteres;
-            this.promedio = promedio;
-            this.masLarga = masLarga;
-            this.masCorta = masCorta;
+        private long totalCaracteres;
+        private long cantidad;
+        private String masLarga = "";
+        private String masCorta = "";
+        
+        public static Collector<String, EstadisticasString, EstadisticasString> collector() {
+            return Collector.of(
+                EstadisticasString::new,
+                EstadisticasString::aceptar,
+                EstadisticasString::combinar
+            );
         }
         
+        public void aceptar(String palabra) {
+            int longitud = palabra.length();
+            if (cantidad == 0 || longitud > masLarga.length()) {
+                masLarga = palabra;
+            }
+            if (cantidad == 0 || longitud < masCorta.length()) {
+                masCorta = palabra;
+            }
+            totalCaracteres += longitud;
+            cantidad++;
+        }
+        
+        // En caso de empate se queda la palabra de la izquierda (la primera en aparecer)
+        public EstadisticasString combinar(EstadisticasString otra) {
+            if (otra.cantidad == 0) {
+                return this;
+            }
+            if (cantidad == 0 || otra.masLarga.length() > masLarga.length()) {
+                masLarga = otra.masLarga;
+            }
+            if (cantidad == 0 || otra.masCorta.length() < masCorta.length()) {
+                masCorta = otra.masCorta;
+            }
+            totalCaracteres += otra.totalCaracteres;
+            cantidad += otra.cantidad;
+            return this;
+        }
+        
+        public long getTotalCaracteres() { return totalCaracteres; }
+        public long getCantidad() { return cantidad; }
+        public double getPromedio() { return cantidad > 0 ? (double) totalCaracteres / cantidad : 0.0; }
+        public String getMasLarga() { return masLarga; }
+        public String getMasCorta() { return masCorta; }
+        
         @Override
         public String toString() {
             return String.format("Total: %d, Promedio: %.2f, Más larga: '%s', Más corta: '%s'",
-                totalCaracteres, promedio, masLarga, masCorta);
+                totalCaracteres, getPromedio(), masLarga, masCorta);
         }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
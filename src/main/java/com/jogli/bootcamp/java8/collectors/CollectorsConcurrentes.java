@@ -0,0 +1,204 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Collectors concurrentes para agrupar y contar en streams paralelos
+ *
+ * Collectors.groupingBy en paralelo crea un HashMap por cada hoja del
+ * fork/join y luego los fusiona mapa a mapa; con muchas claves distintas
+ * la fusión domina el tiempo. Estos collectors usan un único
+ * ConcurrentHashMap compartido (CONCURRENT + UNORDERED) y acumuladores
+ * striped (LongAdder) como valores, de modo que no hay fusión de mapas.
+ */
+public final class CollectorsConcurrentes {
+
+    // Collector.of copia las características, así que los arrays se pueden compartir
+    private static final Collector.Characteristics[] CONCURRENTE_SIN_ORDEN = {
+        Collector.Characteristics.CONCURRENT,
+        Collector.Characteristics.UNORDERED
+    };
+
+    private static final Collector.Characteristics[] CONCURRENTE_SIN_ORDEN_IDENTIDAD = {
+        Collector.Characteristics.CONCURRENT,
+        Collector.Characteristics.UNORDERED,
+        Collector.Characteristics.IDENTITY_FINISH
+    };
+
+    private CollectorsConcurrentes() {
+    }
+
+    /**
+     * Cuenta elementos por clave en un único mapa concurrente
+     *
+     * Equivalente a groupingBy(clasificador, counting()) pero sin fusionar mapas.
+     */
+    public static <T, K> Collector<T, ?, ConcurrentMap<K, Long>> contarPor(
+            Function<? super T, ? extends K> clasificador) {
+        return agruparPorConcurrente(clasificador, contando());
+    }
+
+    /**
+     * Cuenta elementos por clave dejando los LongAdder como resultado
+     *
+     * Evita la conversión final a Long cuando el mapa se sigue actualizando.
+     */
+    public static <T, K> Collector<T, ?, ConcurrentMap<K, LongAdder>> contadoresPor(
+            Function<? super T, ? extends K> clasificador) {
+        return agruparPorConcurrente(clasificador, contadores());
+    }
+
+    /**
+     * Agrupa en un único ConcurrentHashMap aplicando un collector por grupo
+     *
+     * Si el collector de cada grupo es CONCURRENT (contando, resumiendoInt...)
+     * su contenedor se comparte entre hilos sin bloqueo; si no lo es, el
+     * acceso a cada contenedor se sincroniza igual que en
+     * Collectors.groupingByConcurrent.
+     */
+    public static <T, K, A, D> Collector<T, ?, ConcurrentMap<K, D>> agruparPorConcurrente(
+            Function<? super T, ? extends K> clasificador,
+            Collector<? super T, A, D> downstream) {
+        Objects.requireNonNull(clasificador, "clasificador");
+        Supplier<A> proveedor = downstream.supplier();
+        BiConsumer<A, ? super T> acumuladorGrupo = downstream.accumulator();
+        BinaryOperator<A> combinadorGrupo = downstream.combiner();
+        boolean grupoConcurrente = downstream.characteristics()
+            .contains(Collector.Characteristics.CONCURRENT);
+
+        BiConsumer<ConcurrentHashMap<K, A>, T> acumulador = (mapa, elemento) -> {
+            K clave = Objects.requireNonNull(clasificador.apply(elemento), "clave nula");
+            A contenedor = mapa.get(clave);
+            if (contenedor == null) {
+                contenedor = mapa.computeIfAbsent(clave, k -> proveedor.get());
+            }
+            if (grupoConcurrente) {
+                acumuladorGrupo.accept(contenedor, elemento);
+            } else {
+                synchronized (contenedor) {
+                    acumuladorGrupo.accept(contenedor, elemento);
+                }
+            }
+        };
+
+        BinaryOperator<ConcurrentHashMap<K, A>> combinador = (m1, m2) -> {
+            m2.forEach((clave, contenedor) -> m1.merge(clave, contenedor, combinadorGrupo));
+            return m1;
+        };
+
+        if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            @SuppressWarnings("unchecked")
+            Function<ConcurrentHashMap<K, A>, ConcurrentMap<K, D>> identidad =
+                mapa -> (ConcurrentMap<K, D>) (ConcurrentMap<K, ?>) mapa;
+            return Collector.of(ConcurrentHashMap::new, acumulador, combinador,
+                identidad, CONCURRENTE_SIN_ORDEN);
+        }
+
+        Function<A, D> finalizadorGrupo = downstream.finisher();
+        Function<ConcurrentHashMap<K, A>, ConcurrentMap<K, D>> finalizador = mapa -> {
+            // Reutiliza el mismo mapa sustituyendo cada contenedor por su resultado
+            @SuppressWarnings("unchecked")
+            ConcurrentHashMap<K, Object> resultado = (ConcurrentHashMap<K, Object>) mapa;
+            resultado.replaceAll((clave, contenedor) -> {
+                @SuppressWarnings("unchecked")
+                A a = (A) contenedor;
+                return finalizadorGrupo.apply(a);
+            });
+            @SuppressWarnings("unchecked")
+            ConcurrentMap<K, D> tipado = (ConcurrentMap<K, D>) (ConcurrentMap<K, ?>) resultado;
+            return tipado;
+        };
+        return Collector.of(ConcurrentHashMap::new, acumulador, combinador, finalizador,
+            CONCURRENTE_SIN_ORDEN);
+    }
+
+    /**
+     * Collector concurrente que cuenta elementos con un LongAdder
+     */
+    public static <T> Collector<T, LongAdder, Long> contando() {
+        return Collector.of(
+            LongAdder::new,
+            (contador, elemento) -> contador.increment(),
+            (c1, c2) -> {
+                c1.add(c2.sum());
+                return c1;
+            },
+            LongAdder::sum,
+            CONCURRENTE_SIN_ORDEN);
+    }
+
+    /**
+     * Collector concurrente que deja el LongAdder como resultado
+     */
+    public static <T> Collector<T, LongAdder, LongAdder> contadores() {
+        return Collector.of(
+            LongAdder::new,
+            (contador, elemento) -> contador.increment(),
+            (c1, c2) -> {
+                c1.add(c2.sum());
+                return c1;
+            },
+            CONCURRENTE_SIN_ORDEN_IDENTIDAD);
+    }
+
+    /**
+     * Collector concurrente equivalente a summarizingInt
+     *
+     * Pensado como downstream de agruparPorConcurrente: cada grupo comparte
+     * un único EstadisticasIntConcurrentes entre todos los hilos.
+     */
+    public static <T> Collector<T, EstadisticasIntConcurrentes, EstadisticasIntConcurrentes> resumiendoInt(
+            ToIntFunction<? super T> mapper) {
+        Objects.requireNonNull(mapper, "mapper");
+        return Collector.of(
+            EstadisticasIntConcurrentes::new,
+            (estadisticas, elemento) -> estadisticas.aceptar(mapper.applyAsInt(elemento)),
+            EstadisticasIntConcurrentes::combinar,
+            CONCURRENTE_SIN_ORDEN_IDENTIDAD);
+    }
+
+    /**
+     * Versión thread-safe de IntSummaryStatistics basada en acumuladores striped
+     */
+    public static final class EstadisticasIntConcurrentes {
+        private final LongAdder cantidad = new LongAdder();
+        private final LongAdder suma = new LongAdder();
+        private final LongAccumulator minimo = new LongAccumulator(Math::min, Integer.MAX_VALUE);
+        private final LongAccumulator maximo = new LongAccumulator(Math::max, Integer.MIN_VALUE);
+
+        public void aceptar(int valor) {
+            cantidad.increment();
+            suma.add(valor);
+            minimo.accumulate(valor);
+            maximo.accumulate(valor);
+        }
+
+        public EstadisticasIntConcurrentes combinar(EstadisticasIntConcurrentes otra) {
+            cantidad.add(otra.cantidad.sum());
+            suma.add(otra.suma.sum());
+            minimo.accumulate(otra.minimo.get());
+            maximo.accumulate(otra.maximo.get());
+            return this;
+        }
+
+        public long getCount() { return cantidad.sum(); }
+        public long getSum() { return suma.sum(); }
+        public int getMin() { return (int) minimo.get(); }
+        public int getMax() { return (int) maximo.get(); }
+
+        public double getAverage() {
+            long n = getCount();
+            return n > 0 ? (double) getSum() / n : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s{count=%d, sum=%d, min=%d, average=%f, max=%d}",
+                getClass().getSimpleName(), getCount(), getSum(), getMin(), getAverage(), getMax());
+        }
+    }
+}
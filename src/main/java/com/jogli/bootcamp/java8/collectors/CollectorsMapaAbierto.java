@@ -0,0 +1,124 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Collectors.toMap sobre mapas de direccionamiento abierto, para muchas claves distintas
+ *
+ * aMapa devuelve un {@link MapaAbierto} (un Map, así que sustituye al
+ * HashMap de toMap) y aMapaEntero un {@link MapaAbiertoEntero} con los
+ * valores en un int[], para el caso típico palabra → longitud o
+ * palabra → contador. Con el número de claves esperado la tabla se
+ * reserva de una vez y no crece.
+ *
+ * En paralelo el mapa pequeño se vuelca en el grande usando los hash
+ * guardados, sin llamar a hashCode() otra vez; la función de fusión
+ * recibe siempre primero el valor que va antes en el stream.
+ */
+public final class CollectorsMapaAbierto {
+
+    private static final Collector.Characteristics[] IDENTIDAD = {
+        Collector.Characteristics.IDENTITY_FINISH
+    };
+
+    private CollectorsMapaAbierto() {
+    }
+
+    /**
+     * Como toMap(clave, valor): una clave repetida lanza IllegalStateException
+     */
+    public static <T, K, V> Collector<T, ?, MapaAbierto<K, V>> aMapa(
+            Function<? super T, ? extends K> clave,
+            Function<? super T, ? extends V> valor) {
+        return aMapa(clave, valor, CollectorsMapaAbierto.<V>duplicada(), 0);
+    }
+
+    /**
+     * Como toMap(clave, valor, fusion)
+     */
+    public static <T, K, V> Collector<T, ?, MapaAbierto<K, V>> aMapa(
+            Function<? super T, ? extends K> clave,
+            Function<? super T, ? extends V> valor,
+            BinaryOperator<V> fusion) {
+        return aMapa(clave, valor, fusion, 0);
+    }
+
+    /**
+     * Como toMap(clave, valor, fusion) con sitio para esperadas claves desde el principio
+     *
+     * Pensado para streams secuenciales: en paralelo cada hoja reservaría
+     * esa capacidad.
+     */
+    public static <T, K, V> Collector<T, ?, MapaAbierto<K, V>> aMapa(
+            Function<? super T, ? extends K> clave,
+            Function<? super T, ? extends V> valor,
+            BinaryOperator<V> fusion,
+            int esperadas) {
+        Objects.requireNonNull(fusion, "fusion");
+        BinaryOperator<V> fusionInvertida = (posterior, anterior) -> fusion.apply(anterior, posterior);
+        BiConsumer<MapaAbierto<K, V>, T> acumulador = (mapa, elemento) ->
+            mapa.merge(clave.apply(elemento), valor.apply(elemento), fusion);
+        BinaryOperator<MapaAbierto<K, V>> combinador = (a, b) -> {
+            if (a.size() >= b.size()) {
+                a.fusionar(b, fusion);
+                return a;
+            }
+            b.fusionar(a, fusionInvertida);
+            return b;
+        };
+        return Collector.of(() -> new MapaAbierto<>(esperadas), acumulador, combinador, IDENTIDAD);
+    }
+
+    /**
+     * Como toMap(clave, valor) con valores int: una clave repetida lanza IllegalStateException
+     */
+    public static <T, K> Collector<T, ?, MapaAbiertoEntero<K>> aMapaEntero(
+            Function<? super T, ? extends K> clave,
+            ToIntFunction<? super T> valor) {
+        return aMapaEntero(clave, valor, (anterior, posterior) -> {
+            throw new IllegalStateException(String.format("Clave duplicada (valores %d y %d)", anterior, posterior));
+        }, 0);
+    }
+
+    /**
+     * Como toMap(clave, valor, fusion) con valores int, sin encajonar
+     */
+    public static <T, K> Collector<T, ?, MapaAbiertoEntero<K>> aMapaEntero(
+            Function<? super T, ? extends K> clave,
+            ToIntFunction<? super T> valor,
+            IntBinaryOperator fusion) {
+        return aMapaEntero(clave, valor, fusion, 0);
+    }
+
+    /**
+     * Como toMap(clave, valor, fusion) con valores int y sitio para esperadas claves
+     */
+    public static <T, K> Collector<T, ?, MapaAbiertoEntero<K>> aMapaEntero(
+            Function<? super T, ? extends K> clave,
+            ToIntFunction<? super T> valor,
+            IntBinaryOperator fusion,
+            int esperadas) {
+        Objects.requireNonNull(fusion, "fusion");
+        IntBinaryOperator fusionInvertida = (posterior, anterior) -> fusion.applyAsInt(anterior, posterior);
+        BiConsumer<MapaAbiertoEntero<K>, T> acumulador = (mapa, elemento) ->
+            mapa.mergeInt(clave.apply(elemento), valor.applyAsInt(elemento), fusion);
+        BinaryOperator<MapaAbiertoEntero<K>> combinador = (a, b) -> {
+            if (a.size() >= b.size()) {
+                a.fusionar(b, fusion);
+                return a;
+            }
+            b.fusionar(a, fusionInvertida);
+            return b;
+        };
+        return Collector.of(() -> new MapaAbiertoEntero<>(esperadas), acumulador, combinador, IDENTIDAD);
+    }
+
+    // Como el de toMap en Java 8: no conoce la clave, solo los dos valores
+    private static <V> BinaryOperator<V> duplicada() {
+        return (anterior, posterior) -> {
+            throw new IllegalStateException(String.format("Clave duplicada (valores %s y %s)", anterior, posterior));
+        };
+    }
+}
@@ -0,0 +1,139 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * groupingBy y partitioningBy para claves y valores int sin encajonar
+ *
+ * agruparPorEntero guarda los grupos en un {@link MapaEnteroObjeto}
+ * (que es un Map<Integer, D>, así que sustituye directamente al
+ * resultado de groupingBy) y particionarEnteros guarda los valores en
+ * dos int[] que crecen ({@link ParticionEnteros}). agruparPorInicial
+ * sustituye a groupingBy(p -> p.substring(0, 1).toUpperCase()) sin crear
+ * cadenas ({@link GruposPorInicial}). Todos se pueden usar en paralelo:
+ * las hojas se fusionan en orden de encuentro.
+ */
+public final class CollectorsPrimitivos {
+
+    private static final Collector.Characteristics[] IDENTIDAD = {
+        Collector.Characteristics.IDENTITY_FINISH
+    };
+
+    private CollectorsPrimitivos() {
+    }
+
+    /**
+     * Como groupingBy(clasificador) con clave int
+     */
+    public static <T> Collector<T, ?, MapaEnteroObjeto<List<T>>> agruparPorEntero(
+            ToIntFunction<? super T> clasificador) {
+        return agruparPorEntero(clasificador, Collectors.toList());
+    }
+
+    /**
+     * Como groupingBy(clasificador, downstream) con clave int
+     */
+    public static <T, A, D> Collector<T, ?, MapaEnteroObjeto<D>> agruparPorEntero(
+            ToIntFunction<? super T> clasificador,
+            Collector<? super T, A, D> downstream) {
+        Supplier<A> crear = downstream.supplier();
+        // Fuera del acumulador para no crear una lambda por elemento
+        IntFunction<A> crearGrupo = clave -> crear.get();
+        BiConsumer<A, ? super T> acumular = downstream.accumulator();
+        BinaryOperator<A> combinar = downstream.combiner();
+        BiConsumer<MapaEnteroObjeto<A>, T> acumulador = (mapa, elemento) ->
+            acumular.accept(mapa.computeIfAbsent(clasificador.applyAsInt(elemento), crearGrupo), elemento);
+        BinaryOperator<MapaEnteroObjeto<A>> combinador = (a, b) -> {
+            a.fusionar(b, combinar);
+            return a;
+        };
+        boolean identidad = downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH);
+        // Como groupingBy: se terminan los contenedores en el sitio y se cambia el tipo
+        @SuppressWarnings("unchecked")
+        Function<A, A> terminar = (Function<A, A>) downstream.finisher();
+        return Collector.of(MapaEnteroObjeto<A>::new, acumulador, combinador, mapa -> {
+            if (!identidad) {
+                mapa.reemplazarValores(terminar);
+            }
+            @SuppressWarnings("unchecked")
+            MapaEnteroObjeto<D> terminado = (MapaEnteroObjeto<D>) (MapaEnteroObjeto<?>) mapa;
+            return terminado;
+        });
+    }
+
+    /**
+     * Como groupingBy(clasificador, counting()) con clave int
+     *
+     * Cuenta en un long[] por grupo; counting() de Java 8 crea un Long por elemento.
+     */
+    public static <T> Collector<T, ?, MapaEnteroObjeto<Long>> contarPorEntero(ToIntFunction<? super T> clasificador) {
+        return agruparPorEntero(clasificador, Collectors.summingLong(elemento -> 1L));
+    }
+
+    /**
+     * Como groupingBy(p -> p.substring(0, 1).toUpperCase()) sobre las propias palabras
+     */
+    public static <T extends CharSequence> Collector<T, ?, GruposPorInicial<List<T>>> agruparPorInicial() {
+        return agruparPorInicial(palabra -> palabra, Collectors.toList());
+    }
+
+    /**
+     * Como groupingBy(e -> palabra(e).substring(0, 1).toUpperCase(), downstream)
+     *
+     * La inicial se calcula con {@link Iniciales#inicial}: una consulta a
+     * tabla en vez de dos String y un toUpperCase por elemento.
+     */
+    public static <T, A, D> Collector<T, ?, GruposPorInicial<D>> agruparPorInicial(
+            Function<? super T, ? extends CharSequence> palabra,
+            Collector<? super T, A, D> downstream) {
+        Supplier<A> crear = downstream.supplier();
+        IntFunction<A> crearGrupo = inicial -> crear.get();
+        BiConsumer<A, ? super T> acumular = downstream.accumulator();
+        BinaryOperator<A> combinar = downstream.combiner();
+        boolean identidad = downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH);
+        @SuppressWarnings("unchecked")
+        Function<A, A> terminar = (Function<A, A>) downstream.finisher();
+        return Collector.of(
+            GruposPorInicial<A>::new,
+            (grupos, elemento) ->
+                acumular.accept(grupos.computeIfAbsent(Iniciales.inicial(palabra.apply(elemento)), crearGrupo), elemento),
+            (a, b) -> {
+                a.fusionar(b, combinar);
+                return a;
+            },
+            grupos -> {
+                if (!identidad) {
+                    grupos.reemplazarValores(terminar);
+                }
+                @SuppressWarnings("unchecked")
+                GruposPorInicial<D> terminados = (GruposPorInicial<D>) (GruposPorInicial<?>) grupos;
+                return terminados;
+            });
+    }
+
+    /**
+     * Como partitioningBy(predicado) sobre un valor int de cada elemento
+     */
+    public static <T> Collector<T, ?, ParticionEnteros> particionarEnteros(
+            ToIntFunction<? super T> valor, IntPredicate predicado) {
+        Objects.requireNonNull(predicado, "predicado");
+        return Collector.of(
+            () -> new ParticionEnteros(predicado),
+            (particion, elemento) -> particion.accept(valor.applyAsInt(elemento)),
+            (a, b) -> {
+                a.combine(b);
+                return a;
+            },
+            IDENTIDAD);
+    }
+
+    /**
+     * Particiona un IntStream sin encajonar ningún valor
+     */
+    public static ParticionEnteros particionar(IntStream valores, IntPredicate predicado) {
+        Objects.requireNonNull(predicado, "predicado");
+        return valores.collect(() -> new ParticionEnteros(predicado), ParticionEnteros::accept, ParticionEnteros::combine);
+    }
+}
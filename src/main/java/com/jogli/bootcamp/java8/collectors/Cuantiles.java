@@ -0,0 +1,73 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Collectors de percentiles en memoria fija, combinables en paralelo
+ *
+ * Sacar un percentil exacto obliga a guardar y ordenar todas las
+ * muestras. Estos collectors usan {@link HistogramaCuantiles}, así que
+ * sirven igual para mil que para miles de millones de valores, y se
+ * pueden usar como downstream de groupingBy.
+ */
+public final class Cuantiles {
+
+    /**
+     * Error relativo por defecto de los cuantiles (1%)
+     */
+    public static final double ERROR_POR_DEFECTO = 0.01;
+
+    private static final Collector.Characteristics[] SIN_ORDEN_IDENTIDAD = {
+        Collector.Characteristics.UNORDERED,
+        Collector.Characteristics.IDENTITY_FINISH
+    };
+
+    private Cuantiles() {
+    }
+
+    /**
+     * Como Collectors.summarizingInt, con p50/p99/p99.9 además
+     */
+    public static <T> Collector<T, ?, EstadisticasIntConCuantiles> resumiendoIntConCuantiles(
+            ToIntFunction<? super T> mapeador) {
+        return resumiendoIntConCuantiles(mapeador, ERROR_POR_DEFECTO);
+    }
+
+    public static <T> Collector<T, ?, EstadisticasIntConCuantiles> resumiendoIntConCuantiles(
+            ToIntFunction<? super T> mapeador, double errorRelativo) {
+        // Valida el error al crear el collector y no en la primera hoja
+        HistogramaCuantiles.bitsPara(errorRelativo);
+        return Collector.of(
+            () -> new EstadisticasIntConCuantiles(errorRelativo),
+            (estadisticas, elemento) -> estadisticas.accept(mapeador.applyAsInt(elemento)),
+            (a, b) -> {
+                a.combine(b);
+                return a;
+            },
+            SIN_ORDEN_IDENTIDAD);
+    }
+
+    /**
+     * Un único cuantil, p. ej. groupingBy(clave, cuantil(Peticion::getLatencia, 0.99))
+     */
+    public static <T> Collector<T, ?, Integer> cuantil(ToIntFunction<? super T> mapeador, double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("El cuantil debe estar en [0, 1]: " + q);
+        }
+        return Collectors.collectingAndThen(histograma(mapeador, ERROR_POR_DEFECTO), h -> h.cuantil(q));
+    }
+
+    /**
+     * El histograma sin finalizar, para consultar varios cuantiles o combinarlo después
+     */
+    public static <T> Collector<T, ?, HistogramaCuantiles> histograma(
+            ToIntFunction<? super T> mapeador, double errorRelativo) {
+        int bits = HistogramaCuantiles.bitsPara(errorRelativo);
+        return Collector.of(
+            () -> new HistogramaCuantiles(bits),
+            (histograma, elemento) -> histograma.agregar(mapeador.applyAsInt(elemento)),
+            HistogramaCuantiles::combinar,
+            SIN_ORDEN_IDENTIDAD);
+    }
+}
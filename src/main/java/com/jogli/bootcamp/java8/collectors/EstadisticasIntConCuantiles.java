@@ -0,0 +1,63 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.*;
+
+/**
+ * IntSummaryStatistics que además responde cuantiles (p50, p99, p99.9...)
+ *
+ * Conteo, suma, mínimo, máximo y media son exactos, como en la clase base;
+ * los cuantiles salen de un {@link HistogramaCuantiles} con memoria fija.
+ */
+public class EstadisticasIntConCuantiles extends IntSummaryStatistics {
+
+    private final HistogramaCuantiles histograma;
+
+    public EstadisticasIntConCuantiles() {
+        this(Cuantiles.ERROR_POR_DEFECTO);
+    }
+
+    public EstadisticasIntConCuantiles(double errorRelativo) {
+        this.histograma = HistogramaCuantiles.paraError(errorRelativo);
+    }
+
+    @Override
+    public void accept(int valor) {
+        super.accept(valor);
+        histograma.agregar(valor);
+    }
+
+    /**
+     * Combina otras estadísticas; los cuantiles solo si también los tienen
+     */
+    @Override
+    public void combine(IntSummaryStatistics otras) {
+        if (!(otras instanceof EstadisticasIntConCuantiles)) {
+            throw new IllegalArgumentException("Las estadísticas a combinar no tienen cuantiles");
+        }
+        super.combine(otras);
+        histograma.combinar(((EstadisticasIntConCuantiles) otras).histograma);
+    }
+
+    public int getCuantil(double q) {
+        return histograma.cuantil(q);
+    }
+
+    public int getMediana() {
+        return histograma.cuantil(0.5);
+    }
+
+    public int getP99() {
+        return histograma.cuantil(0.99);
+    }
+
+    public int getP999() {
+        return histograma.cuantil(0.999);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{count=%d, sum=%d, min=%d, average=%f, max=%d, p50=%d, p99=%d, p999=%d}",
+            getClass().getSimpleName(), getCount(), getSum(), getMin(), getAverage(), getMax(),
+            getMediana(), getP99(), getP999());
+    }
+}
@@ -0,0 +1,146 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Filtro de Bloom: "¿lo he visto ya?" con memoria fija y falsos positivos acotados
+ *
+ * Un elemento agregado siempre se reconoce; uno nuevo se confunde con uno
+ * visto con probabilidad falsosPositivos mientras no se pasen los
+ * elementos esperados. Se usan unos 1.2 bytes por elemento esperado con un
+ * 1% de falsos positivos, frente a los ~50 de un HashSet de cadenas cortas.
+ *
+ * Los bits se guardan en un AtomicLongArray, así que el mismo filtro se
+ * puede compartir entre hilos (p. ej. en un filter() paralelo) o usar uno
+ * por hilo y combinarlos con un OR.
+ */
+public final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long numeroBits;
+    private final int funciones;
+
+    public FiltroBloom(long esperados, double falsosPositivos) {
+        if (esperados <= 0) {
+            throw new IllegalArgumentException("Los elementos esperados deben ser positivos: " + esperados);
+        }
+        if (!(falsosPositivos > 0 && falsosPositivos < 1)) {
+            throw new IllegalArgumentException("Los falsos positivos deben estar en (0, 1): " + falsosPositivos);
+        }
+        double ln2 = Math.log(2);
+        long optimo = (long) Math.ceil(-esperados * Math.log(falsosPositivos) / (ln2 * ln2));
+        long palabras = (Math.max(64, optimo) + 63) / 64;
+        if (palabras > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Demasiados elementos esperados: " + esperados);
+        }
+        this.bits = new AtomicLongArray((int) palabras);
+        this.numeroBits = palabras * 64;
+        this.funciones = (int) Math.max(1, Math.round((double) numeroBits / esperados * ln2));
+    }
+
+    private FiltroBloom(FiltroBloom modelo) {
+        this.bits = new AtomicLongArray(modelo.bits.length());
+        this.numeroBits = modelo.numeroBits;
+        this.funciones = modelo.funciones;
+    }
+
+    /**
+     * Filtro vacío con el mismo tamaño, combinable con este
+     */
+    public FiltroBloom vacioIgual() {
+        return new FiltroBloom(this);
+    }
+
+    /**
+     * Agrega el valor; devuelve true si no estaba (o false si parecía estar)
+     *
+     * Si dos hilos agregan a la vez el mismo valor nuevo, ambos pueden
+     * recibir true.
+     */
+    public boolean agregar(Object valor) {
+        return agregarHash(Hashes.hash64(valor));
+    }
+
+    public boolean agregarHash(long hash) {
+        // Doble hashing (Kirsch-Mitzenmacher): k posiciones a partir de dos hashes de 32 bits
+        long h1 = hash & 0xFFFFFFFFL;
+        long h2 = hash >>> 32;
+        boolean nuevo = false;
+        for (int i = 0; i < funciones; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % numeroBits;
+            int palabra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long actual = bits.get(palabra);
+            while ((actual & mascara) == 0) {
+                if (bits.compareAndSet(palabra, actual, actual | mascara)) {
+                    nuevo = true;
+                    break;
+                }
+                actual = bits.get(palabra);
+            }
+        }
+        return nuevo;
+    }
+
+    /**
+     * true si el valor puede haberse agregado; false si seguro que no
+     */
+    public boolean puedeContener(Object valor) {
+        return puedeContenerHash(Hashes.hash64(valor));
+    }
+
+    public boolean puedeContenerHash(long hash) {
+        long h1 = hash & 0xFFFFFFFFL;
+        long h2 = hash >>> 32;
+        for (int i = 0; i < funciones; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % numeroBits;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Une otro filtro del mismo tamaño (OR de los bits)
+     */
+    public FiltroBloom combinar(FiltroBloom otro) {
+        if (otro.numeroBits != numeroBits || otro.funciones != funciones) {
+            throw new IllegalArgumentException("Filtros de distinto tamaño");
+        }
+        for (int i = 0; i < bits.length(); i++) {
+            long suyos = otro.bits.get(i);
+            if (suyos != 0) {
+                bits.getAndAccumulate(i, suyos, (a, b) -> a | b);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Probabilidad de falso positivo con la ocupación actual
+     */
+    public double falsosPositivosEstimados() {
+        long unos = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            unos += Long.bitCount(bits.get(i));
+        }
+        return Math.pow((double) unos / numeroBits, funciones);
+    }
+
+    public int getFunciones() {
+        return funciones;
+    }
+
+    /**
+     * Bytes que ocupan los bits
+     */
+    public long getMemoria() {
+        return numeroBits / 8;
+    }
+
+    @Override
+    public String toString() {
+        return "FiltroBloom{bits=" + numeroBits + ", funciones=" + funciones + "}";
+    }
+}
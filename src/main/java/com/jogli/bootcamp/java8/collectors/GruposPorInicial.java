@@ -0,0 +1,187 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Grupos indexados por inicial (código Unicode ya en mayúscula, ver {@link Iniciales})
+ *
+ * Los grupos están en un array disperso de dos niveles: páginas de 256
+ * códigos que solo se crean cuando aparece una inicial suya. Un texto en
+ * español usa dos o tres páginas (ASCII y Latin-1), así que buscar un
+ * grupo son dos accesos a array, sin hash ni claves String.
+ *
+ * La vista Map<String, V> (comoMapa, toString) se crea solo al pedirla,
+ * con las iniciales en orden de código Unicode. La cadena vacía tiene su
+ * propio grupo con clave "". No admite valores null. No es segura para
+ * varios hilos.
+ */
+public class GruposPorInicial<V> {
+
+    private static final int BITS_PAGINA = 8;
+    private static final int TAMANIO_PAGINA = 1 << BITS_PAGINA;
+
+    private final Object[][] paginas = new Object[(Character.MAX_CODE_POINT >> BITS_PAGINA) + 1][];
+    private Object sinInicial;
+    private int cantidad;
+    private Map<String, V> mapa;
+
+    /**
+     * Grupo de la inicial, creándolo con la fábrica si no existe
+     *
+     * @param inicial resultado de {@link Iniciales#inicial}
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(int inicial, IntFunction<? extends V> fabrica) {
+        if (inicial == Iniciales.NINGUNA) {
+            if (sinInicial == null) {
+                sinInicial = crear(inicial, fabrica);
+            }
+            return (V) sinInicial;
+        }
+        Object[] pagina = paginas[inicial >>> BITS_PAGINA];
+        if (pagina == null) {
+            pagina = new Object[TAMANIO_PAGINA];
+            paginas[inicial >>> BITS_PAGINA] = pagina;
+        }
+        Object valor = pagina[inicial & (TAMANIO_PAGINA - 1)];
+        if (valor == null) {
+            valor = crear(inicial, fabrica);
+            pagina[inicial & (TAMANIO_PAGINA - 1)] = valor;
+        }
+        return (V) valor;
+    }
+
+    private V crear(int inicial, IntFunction<? extends V> fabrica) {
+        cantidad++;
+        mapa = null;
+        return Objects.requireNonNull(fabrica.apply(inicial), "valor");
+    }
+
+    /**
+     * Grupo de las palabras que empiezan por el carácter, en mayúscula o minúscula
+     */
+    public V get(int codigo) {
+        return codigo == Iniciales.NINGUNA ? buscar(codigo) : buscar(Iniciales.plegar(codigo));
+    }
+
+    @SuppressWarnings("unchecked")
+    private V buscar(int inicial) {
+        if (inicial == Iniciales.NINGUNA) {
+            return (V) sinInicial;
+        }
+        Object[] pagina = paginas[inicial >>> BITS_PAGINA];
+        return pagina == null ? null : (V) pagina[inicial & (TAMANIO_PAGINA - 1)];
+    }
+
+    public int cantidadGrupos() {
+        return cantidad;
+    }
+
+    /**
+     * Añade los grupos de otro, combinando los de la misma inicial (los de este primero)
+     */
+    @SuppressWarnings("unchecked")
+    public void fusionar(GruposPorInicial<V> otro, BinaryOperator<V> combinar) {
+        if (otro.sinInicial != null) {
+            sinInicial = sinInicial == null
+                ? otro.sinInicial
+                : Objects.requireNonNull(combinar.apply((V) sinInicial, (V) otro.sinInicial), "valor");
+        }
+        for (int p = 0; p < paginas.length; p++) {
+            Object[] suya = otro.paginas[p];
+            if (suya == null) {
+                continue;
+            }
+            Object[] mia = paginas[p];
+            if (mia == null) {
+                // El otro no se vuelve a usar después de fusionarlo
+                paginas[p] = suya;
+                continue;
+            }
+            for (int i = 0; i < TAMANIO_PAGINA; i++) {
+                if (suya[i] != null) {
+                    mia[i] = mia[i] == null
+                        ? suya[i]
+                        : Objects.requireNonNull(combinar.apply((V) mia[i], (V) suya[i]), "valor");
+                }
+            }
+        }
+        recontar();
+    }
+
+    /**
+     * Sustituye cada grupo por el resultado de la función
+     */
+    @SuppressWarnings("unchecked")
+    public void reemplazarValores(Function<? super V, ? extends V> funcion) {
+        if (sinInicial != null) {
+            sinInicial = Objects.requireNonNull(funcion.apply((V) sinInicial), "valor");
+        }
+        for (Object[] pagina : paginas) {
+            if (pagina != null) {
+                for (int i = 0; i < TAMANIO_PAGINA; i++) {
+                    if (pagina[i] != null) {
+                        pagina[i] = Objects.requireNonNull(funcion.apply((V) pagina[i]), "valor");
+                    }
+                }
+            }
+        }
+        mapa = null;
+    }
+
+    private void recontar() {
+        int n = sinInicial == null ? 0 : 1;
+        for (Object[] pagina : paginas) {
+            if (pagina != null) {
+                for (Object valor : pagina) {
+                    if (valor != null) {
+                        n++;
+                    }
+                }
+            }
+        }
+        cantidad = n;
+        mapa = null;
+    }
+
+    /**
+     * Iniciales presentes en orden de código Unicode ({@link Iniciales#NINGUNA} primero si hay)
+     */
+    public int[] iniciales() {
+        int[] resultado = new int[cantidad];
+        int n = 0;
+        if (sinInicial != null) {
+            resultado[n++] = Iniciales.NINGUNA;
+        }
+        for (int p = 0; p < paginas.length; p++) {
+            if (paginas[p] != null) {
+                for (int i = 0; i < TAMANIO_PAGINA; i++) {
+                    if (paginas[p][i] != null) {
+                        resultado[n++] = (p << BITS_PAGINA) | i;
+                    }
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Los grupos como Map<String, V> de solo lectura; se crea la primera vez que se pide
+     */
+    public Map<String, V> comoMapa() {
+        if (mapa == null) {
+            Map<String, V> nuevo = new LinkedHashMap<>();
+            for (int inicial : iniciales()) {
+                nuevo.put(Iniciales.comoTexto(inicial), buscar(inicial));
+            }
+            mapa = Collections.unmodifiableMap(nuevo);
+        }
+        return mapa;
+    }
+
+    @Override
+    public String toString() {
+        return comoMapa().toString();
+    }
+}
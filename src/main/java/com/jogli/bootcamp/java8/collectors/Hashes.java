@@ -0,0 +1,49 @@
+package com.jogli.bootcamp.java8.collectors;
+
+/**
+ * Hash de 64 bits para las estructuras probabilísticas
+ *
+ * hashCode() solo da 32 bits y, en String, colisiona a partir de unos
+ * millones de valores distintos; HyperLogLog y el filtro de Bloom
+ * necesitan bits bien repartidos, así que las cadenas se recorren con un
+ * hash propio y el resto se mezcla con el finalizador de MurmurHash3.
+ */
+final class Hashes {
+
+    private static final long SEMILLA = 0x2545F4914F6CDD1DL;
+    private static final long MULTIPLICADOR = 0x9E3779B97F4A7C15L;
+
+    private Hashes() {
+    }
+
+    static long hash64(Object valor) {
+        if (valor instanceof CharSequence) {
+            return hash64((CharSequence) valor);
+        }
+        if (valor instanceof Long) {
+            return mezclar((Long) valor);
+        }
+        if (valor instanceof Integer) {
+            return mezclar((Integer) valor);
+        }
+        return mezclar(valor == null ? 0 : valor.hashCode());
+    }
+
+    static long hash64(CharSequence texto) {
+        long h = SEMILLA ^ texto.length();
+        for (int i = 0; i < texto.length(); i++) {
+            h = (h ^ texto.charAt(i)) * MULTIPLICADOR;
+        }
+        return mezclar(h);
+    }
+
+    // fmix64 de MurmurHash3: cada bit de entrada afecta a todos los de salida
+    static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,188 @@
+package com.jogli.bootcamp.java8.collectors;
+
+/**
+ * Histograma de cubetas logarítmicas para estimar cuantiles de enteros
+ *
+ * Los valores pequeños (menores que 2^bits) tienen una cubeta cada uno;
+ * a partir de ahí cada potencia de dos se divide en 2^(bits-1) cubetas
+ * iguales, así que el error relativo de un cuantil es como mucho 2^-bits
+ * en cualquier punto de la distribución, también en p99.9. La memoria es
+ * fija (unos 13 KB con un 1% de error) sea cual sea el número de
+ * muestras, y dos histogramas con la misma precisión se combinan sumando
+ * cubetas, con el mismo resultado que si se hubieran agregado juntos.
+ */
+public final class HistogramaCuantiles {
+
+    public static final int BITS_MINIMOS = 2;
+    public static final int BITS_MAXIMOS = 14;
+
+    private final int bits;
+    private final long[] positivos;
+    // Los negativos se guardan por magnitud y solo si aparecen
+    private long[] negativos;
+    private long cantidad;
+    private int minimo = Integer.MAX_VALUE;
+    private int maximo = Integer.MIN_VALUE;
+
+    public HistogramaCuantiles(int bits) {
+        if (bits < BITS_MINIMOS || bits > BITS_MAXIMOS) {
+            throw new IllegalArgumentException("Los bits deben estar entre " + BITS_MINIMOS
+                + " y " + BITS_MAXIMOS + ": " + bits);
+        }
+        this.bits = bits;
+        this.positivos = new long[cubeta(1L << 31, bits) + 1];
+    }
+
+    /**
+     * Histograma con la menor precisión cuyo error relativo no supera errorRelativo
+     *
+     * Lanza IllegalArgumentException si se pide menos de 2^-{@value #BITS_MAXIMOS}.
+     */
+    public static HistogramaCuantiles paraError(double errorRelativo) {
+        return new HistogramaCuantiles(bitsPara(errorRelativo));
+    }
+
+    static int bitsPara(double errorRelativo) {
+        if (!(errorRelativo > 0 && errorRelativo < 1)) {
+            throw new IllegalArgumentException("El error relativo debe estar en (0, 1): " + errorRelativo);
+        }
+        if (errorRelativo < Math.scalb(1.0, -BITS_MAXIMOS)) {
+            throw new IllegalArgumentException("El error relativo mínimo es 2^-" + BITS_MAXIMOS
+                + " (" + Math.scalb(1.0, -BITS_MAXIMOS) + "): " + errorRelativo);
+        }
+        int bits = BITS_MINIMOS;
+        while (Math.scalb(1.0, -bits) > errorRelativo) {
+            bits++;
+        }
+        return bits;
+    }
+
+    // Índice de la cubeta de una magnitud (0 <= magnitud <= 2^31)
+    private static int cubeta(long magnitud, int bits) {
+        if (magnitud < (1L << bits)) {
+            return (int) magnitud;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(magnitud);
+        int desplazamiento = exponente - bits + 1;
+        return (desplazamiento << (bits - 1)) + (int) (magnitud >>> desplazamiento);
+    }
+
+    private long inicio(int cubeta) {
+        if (cubeta < (1 << bits)) {
+            return cubeta;
+        }
+        int desplazamiento = (cubeta >>> (bits - 1)) - 1;
+        long sub = cubeta - ((long) desplazamiento << (bits - 1));
+        return sub << desplazamiento;
+    }
+
+    private long ancho(int cubeta) {
+        return cubeta < (1 << bits) ? 1 : 1L << ((cubeta >>> (bits - 1)) - 1);
+    }
+
+    public void agregar(int valor) {
+        if (valor >= 0) {
+            positivos[cubeta(valor, bits)]++;
+        } else {
+            if (negativos == null) {
+                negativos = new long[positivos.length];
+            }
+            negativos[cubeta(-(long) valor, bits)]++;
+        }
+        cantidad++;
+        if (valor < minimo) {
+            minimo = valor;
+        }
+        if (valor > maximo) {
+            maximo = valor;
+        }
+    }
+
+    public HistogramaCuantiles combinar(HistogramaCuantiles otro) {
+        if (otro.bits != bits) {
+            throw new IllegalArgumentException("Precisiones distintas: " + bits + " y " + otro.bits);
+        }
+        sumar(positivos, otro.positivos);
+        if (otro.negativos != null) {
+            if (negativos == null) {
+                negativos = new long[positivos.length];
+            }
+            sumar(negativos, otro.negativos);
+        }
+        cantidad += otro.cantidad;
+        minimo = Math.min(minimo, otro.minimo);
+        maximo = Math.max(maximo, otro.maximo);
+        return this;
+    }
+
+    private static void sumar(long[] destino, long[] origen) {
+        for (int i = 0; i < destino.length; i++) {
+            destino[i] += origen[i];
+        }
+    }
+
+    /**
+     * Valor aproximado del cuantil q (0 = mínimo, 0.5 = mediana, 1 = máximo)
+     *
+     * Sin muestras devuelve 0, igual que IntSummaryStatistics.getAverage().
+     */
+    public int cuantil(double q) {
+        if (!(q >= 0 && q <= 1)) {
+            throw new IllegalArgumentException("El cuantil debe estar en [0, 1]: " + q);
+        }
+        if (cantidad == 0) {
+            return 0;
+        }
+        // Posición (1..cantidad) de la muestra buscada en orden ascendente
+        long rango = Math.max(1, (long) Math.ceil(q * cantidad));
+        long acumulado = 0;
+        if (negativos != null) {
+            for (int i = negativos.length - 1; i >= 0; i--) {
+                acumulado += negativos[i];
+                if (acumulado >= rango) {
+                    return acotar(-representante(i));
+                }
+            }
+        }
+        for (int i = 0; i < positivos.length; i++) {
+            acumulado += positivos[i];
+            if (acumulado >= rango) {
+                return acotar(representante(i));
+            }
+        }
+        return maximo;
+    }
+
+    // Punto medio de la cubeta: el error queda repartido a ambos lados
+    private long representante(int cubeta) {
+        return inicio(cubeta) + (ancho(cubeta) - 1) / 2;
+    }
+
+    private int acotar(long valor) {
+        return (int) Math.max(minimo, Math.min(maximo, valor));
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Error relativo máximo de un cuantil
+     */
+    public double getErrorRelativo() {
+        return Math.scalb(1.0, -bits);
+    }
+
+    /**
+     * Bytes que ocupan las cubetas
+     */
+    public long getMemoria() {
+        return 8L * positivos.length * (negativos == null ? 1 : 2);
+    }
+
+    @Override
+    public String toString() {
+        return "HistogramaCuantiles{cantidad=" + cantidad + ", p50=" + cuantil(0.5)
+            + ", p99=" + cuantil(0.99) + ", p999=" + cuantil(0.999) + "}";
+    }
+}
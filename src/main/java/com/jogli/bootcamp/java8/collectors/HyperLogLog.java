@@ -0,0 +1,142 @@
+package com.jogli.bootcamp.java8.collectors;
+
+/**
+ * Estimador de cardinalidad HyperLogLog
+ *
+ * Cuenta elementos distintos con memoria fija: 2^precision registros de
+ * un byte, sea cual sea el número de elementos. El error relativo típico
+ * es 1.04 / sqrt(2^precision), por ejemplo un 0.8% con 16 KB
+ * (precision 14). Dos estimadores con la misma precisión se combinan
+ * tomando el máximo de cada registro, así que sirve como contenedor de
+ * un collector paralelo. Para cardinalidades pequeñas se usa el conteo
+ * lineal, que es más exacto.
+ */
+public final class HyperLogLog {
+
+    public static final int PRECISION_MINIMA = 4;
+    public static final int PRECISION_MAXIMA = 18;
+
+    // 2^-k para cada valor posible de un registro
+    private static final double[] INVERSAS = new double[65];
+
+    static {
+        for (int k = 0; k < INVERSAS.length; k++) {
+            INVERSAS[k] = Math.scalb(1.0, -k);
+        }
+    }
+
+    private final int precision;
+    private final byte[] registros;
+
+    public HyperLogLog(int precision) {
+        if (precision < PRECISION_MINIMA || precision > PRECISION_MAXIMA) {
+            throw new IllegalArgumentException("La precisión debe estar entre " + PRECISION_MINIMA
+                + " y " + PRECISION_MAXIMA + ": " + precision);
+        }
+        this.precision = precision;
+        this.registros = new byte[1 << precision];
+    }
+
+    /**
+     * Estimador con la menor precisión cuyo error típico no supera errorRelativo
+     */
+    public static HyperLogLog paraError(double errorRelativo) {
+        return new HyperLogLog(precisionPara(errorRelativo));
+    }
+
+    static int precisionPara(double errorRelativo) {
+        if (!(errorRelativo > 0 && errorRelativo < 1)) {
+            throw new IllegalArgumentException("El error relativo debe estar en (0, 1): " + errorRelativo);
+        }
+        int precision = PRECISION_MINIMA;
+        while (precision < PRECISION_MAXIMA && errorTipico(precision) > errorRelativo) {
+            precision++;
+        }
+        return precision;
+    }
+
+    /**
+     * Error relativo típico (una desviación estándar) para una precisión
+     */
+    public static double errorTipico(int precision) {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+
+    public void agregar(Object valor) {
+        agregarHash(Hashes.hash64(valor));
+    }
+
+    /**
+     * Agrega un hash de 64 bits ya calculado (debe estar bien repartido)
+     */
+    public void agregarHash(long hash) {
+        int indice = (int) (hash >>> (64 - precision));
+        // Posición del primer bit a 1 en el resto del hash; el bit centinela acota el valor
+        long resto = (hash << precision) | (1L << (precision - 1));
+        byte rango = (byte) (Long.numberOfLeadingZeros(resto) + 1);
+        if (rango > registros[indice]) {
+            registros[indice] = rango;
+        }
+    }
+
+    public HyperLogLog combinar(HyperLogLog otro) {
+        if (otro.precision != precision) {
+            throw new IllegalArgumentException("Precisiones distintas: " + precision + " y " + otro.precision);
+        }
+        for (int i = 0; i < registros.length; i++) {
+            if (otro.registros[i] > registros[i]) {
+                registros[i] = otro.registros[i];
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Número estimado de elementos distintos agregados
+     */
+    public long estimar() {
+        int m = registros.length;
+        double suma = 0;
+        int vacios = 0;
+        for (byte registro : registros) {
+            suma += INVERSAS[registro];
+            if (registro == 0) {
+                vacios++;
+            }
+        }
+        double estimacion = alfa(m) * m * (double) m / suma;
+        if (estimacion <= 2.5 * m && vacios > 0) {
+            estimacion = m * Math.log((double) m / vacios);
+        }
+        return Math.round(estimacion);
+    }
+
+    private static double alfa(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Bytes que ocupan los registros
+     */
+    public int getMemoria() {
+        return registros.length;
+    }
+
+    @Override
+    public String toString() {
+        return "HyperLogLog{precision=" + precision + ", estimacion=" + estimar() + "}";
+    }
+}
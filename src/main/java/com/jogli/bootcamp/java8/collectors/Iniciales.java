@@ -0,0 +1,55 @@
+package com.jogli.bootcamp.java8.collectors;
+
+/**
+ * Inicial en mayúscula de una palabra, como código Unicode y sin crear cadenas
+ *
+ * palabra.substring(0, 1).toUpperCase() crea dos String por palabra y
+ * consulta el Locale por defecto. Aquí la mayúscula de cada carácter del
+ * plano básico (incluidas á, é, ñ, ü...) se precalcula en una tabla de
+ * 64K chars (128 KB) y la inicial se lee con codePointAt, así que las
+ * letras fuera del plano básico no se parten por la mitad.
+ *
+ * La conversión es la de Character.toUpperCase, independiente del
+ * Locale: la i turca da I, y las letras cuya mayúscula son dos
+ * caracteres (ß) se quedan como están.
+ */
+public final class Iniciales {
+
+    /**
+     * Inicial de la cadena vacía
+     */
+    public static final int NINGUNA = -1;
+
+    private static final char[] MAYUSCULAS = new char[Character.MAX_VALUE + 1];
+
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            int mayuscula = Character.toUpperCase(c);
+            MAYUSCULAS[c] = Character.isBmpCodePoint(mayuscula) ? (char) mayuscula : (char) c;
+        }
+    }
+
+    private Iniciales() {
+    }
+
+    /**
+     * Mayúscula del código Unicode (él mismo si no tiene)
+     */
+    public static int plegar(int codigo) {
+        return codigo <= Character.MAX_VALUE && codigo >= 0 ? MAYUSCULAS[codigo] : Character.toUpperCase(codigo);
+    }
+
+    /**
+     * Primer código Unicode de la palabra en mayúscula, o {@link #NINGUNA} si está vacía
+     */
+    public static int inicial(CharSequence palabra) {
+        return palabra.length() == 0 ? NINGUNA : plegar(Character.codePointAt(palabra, 0));
+    }
+
+    /**
+     * La inicial como String, la clave que daba substring(0, 1).toUpperCase()
+     */
+    public static String comoTexto(int inicial) {
+        return inicial == NINGUNA ? "" : new String(Character.toChars(inicial));
+    }
+}
@@ -0,0 +1,104 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Mapa de direccionamiento abierto (Robin Hood) para muchas claves
+ *
+ * Por entrada ocupa una referencia a la clave, un int de hash y una
+ * referencia al valor (más el hueco de la ocupación máxima de 3/4), frente
+ * a los 32 bytes del nodo de HashMap más su referencia en la tabla. Con el
+ * tamaño esperado en el constructor no crece nunca. Ver
+ * {@link TablaAbierta}.
+ *
+ * No admite claves ni valores null, ni borrar entradas. No es seguro
+ * para varios hilos.
+ */
+public class MapaAbierto<K, V> extends TablaAbierta<K, V> {
+
+    private Object[] valores;
+
+    public MapaAbierto() {
+        this(0);
+    }
+
+    /**
+     * Mapa con sitio para esperadas claves sin crecer
+     */
+    public MapaAbierto(int esperadas) {
+        super(esperadas);
+    }
+
+    @Override
+    void reservarValores(int capacidad) {
+        valores = new Object[capacidad];
+    }
+
+    @Override
+    Object arrayValores() {
+        return valores;
+    }
+
+    @Override
+    void copiarValor(Object origen, int desde, int hasta) {
+        valores[hasta] = ((Object[]) origen)[desde];
+    }
+
+    @Override
+    void desplazarValores(int desde, int hueco) {
+        int mascara = valores.length - 1;
+        for (int j = hueco; j != desde; j = (j - 1) & mascara) {
+            valores[j] = valores[(j - 1) & mascara];
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    V valorEn(int posicion) {
+        return (V) valores[posicion];
+    }
+
+    @Override
+    public V put(K clave, V valor) {
+        Objects.requireNonNull(valor, "valor");
+        int hash = hash(clave);
+        int posicion = buscar(clave, hash);
+        if (posicion >= 0) {
+            V anterior = valorEn(posicion);
+            valores[posicion] = valor;
+            return anterior;
+        }
+        posicion = insertar(-posicion - 1, clave, hash);
+        valores[posicion] = valor;
+        return null;
+    }
+
+    /**
+     * Como Map.merge pero sin borrar: la función no puede devolver null
+     */
+    @Override
+    public V merge(K clave, V valor, BiFunction<? super V, ? super V, ? extends V> combinar) {
+        Objects.requireNonNull(valor, "valor");
+        int hash = hash(clave);
+        int posicion = buscar(clave, hash);
+        if (posicion >= 0) {
+            V combinado = Objects.requireNonNull(combinar.apply(valorEn(posicion), valor), "valor");
+            valores[posicion] = combinado;
+            return combinado;
+        }
+        posicion = insertar(-posicion - 1, clave, hash);
+        valores[posicion] = valor;
+        return valor;
+    }
+
+    /**
+     * Añade las entradas de otro mapa, combinando los valores de claves repetidas (los de este primero)
+     *
+     * Usa los hash guardados en el otro mapa: no llama a hashCode().
+     */
+    public void fusionar(MapaAbierto<K, V> otro, BinaryOperator<V> combinar) {
+        recorrerParaFusionar(otro, (aqui, alli) -> valores[aqui] = Objects.requireNonNull(
+            combinar.apply(valorEn(aqui), otro.valorEn(alli)), "valor"));
+    }
+}
@@ -0,0 +1,116 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * {@link MapaAbierto} con valores int sin encajonar (p. ej. String → longitud)
+ *
+ * Los valores van en un int[]: un mapa de 10M claves no crea ningún
+ * Integer ni ningún nodo. getInt, putInt y mergeInt trabajan con int; la
+ * vista de Map encajona al leer.
+ *
+ * No admite claves null ni borrar entradas. No es seguro para varios
+ * hilos.
+ */
+public class MapaAbiertoEntero<K> extends TablaAbierta<K, Integer> {
+
+    private int[] valores;
+
+    public MapaAbiertoEntero() {
+        this(0);
+    }
+
+    /**
+     * Mapa con sitio para esperadas claves sin crecer
+     */
+    public MapaAbiertoEntero(int esperadas) {
+        super(esperadas);
+    }
+
+    @Override
+    void reservarValores(int capacidad) {
+        valores = new int[capacidad];
+    }
+
+    @Override
+    Object arrayValores() {
+        return valores;
+    }
+
+    @Override
+    void copiarValor(Object origen, int desde, int hasta) {
+        valores[hasta] = ((int[]) origen)[desde];
+    }
+
+    @Override
+    void desplazarValores(int desde, int hueco) {
+        int mascara = valores.length - 1;
+        for (int j = hueco; j != desde; j = (j - 1) & mascara) {
+            valores[j] = valores[(j - 1) & mascara];
+        }
+    }
+
+    @Override
+    Integer valorEn(int posicion) {
+        return valores[posicion];
+    }
+
+    /**
+     * Valor de la clave, o porDefecto si no está
+     */
+    public int getInt(Object clave, int porDefecto) {
+        if (clave == null) {
+            return porDefecto;
+        }
+        int posicion = buscar(clave, hash(clave));
+        return posicion >= 0 ? valores[posicion] : porDefecto;
+    }
+
+    public void putInt(K clave, int valor) {
+        int hash = hash(clave);
+        int posicion = buscar(clave, hash);
+        if (posicion < 0) {
+            posicion = insertar(-posicion - 1, clave, hash);
+        }
+        valores[posicion] = valor;
+    }
+
+    @Override
+    public Integer put(K clave, Integer valor) {
+        Objects.requireNonNull(valor, "valor");
+        int hash = hash(clave);
+        int posicion = buscar(clave, hash);
+        if (posicion >= 0) {
+            int anterior = valores[posicion];
+            valores[posicion] = valor;
+            return anterior;
+        }
+        posicion = insertar(-posicion - 1, clave, hash);
+        valores[posicion] = valor;
+        return null;
+    }
+
+    /**
+     * Como Map.merge con int: guarda valor o combinar(actual, valor) y lo devuelve
+     */
+    public int mergeInt(K clave, int valor, IntBinaryOperator combinar) {
+        int hash = hash(clave);
+        int posicion = buscar(clave, hash);
+        if (posicion >= 0) {
+            return valores[posicion] = combinar.applyAsInt(valores[posicion], valor);
+        }
+        posicion = insertar(-posicion - 1, clave, hash);
+        return valores[posicion] = valor;
+    }
+
+    /**
+     * Añade las entradas de otro mapa, combinando los valores de claves repetidas (los de este primero)
+     *
+     * Usa los hash guardados en el otro mapa: no llama a hashCode().
+     */
+    public void fusionar(MapaAbiertoEntero<K> otro, IntBinaryOperator combinar) {
+        recorrerParaFusionar(otro, (aqui, alli) ->
+            valores[aqui] = combinar.applyAsInt(valores[aqui], otro.valores[alli]));
+    }
+}
@@ -0,0 +1,241 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Mapa de claves int a objetos con direccionamiento abierto
+ *
+ * Las claves van en un int[] y los valores en un Object[] paralelo, con
+ * sondeo lineal y capacidad potencia de dos: no hay un Integer por clave
+ * ni un nodo por entrada como en HashMap. Los métodos con int (get,
+ * put, computeIfAbsent...) no encajonan; la vista Map<Integer, V> de
+ * AbstractMap permite usarlo donde se esperaba el resultado de
+ * groupingBy, encajonando solo al recorrerlo.
+ *
+ * No admite valores null ni borrar entradas. No es seguro para varios hilos.
+ */
+public class MapaEnteroObjeto<V> extends AbstractMap<Integer, V> {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private int[] claves;
+    // null = hueco libre
+    private Object[] valores;
+    private int desplazamiento;
+    private int tamanio;
+
+    public MapaEnteroObjeto() {
+        this(CAPACIDAD_INICIAL / 2);
+    }
+
+    /**
+     * Mapa con sitio para esperadas claves sin crecer
+     */
+    public MapaEnteroObjeto(int esperadas) {
+        if (esperadas < 0) {
+            throw new IllegalArgumentException("Tamaño negativo: " + esperadas);
+        }
+        int capacidad = Math.max(CAPACIDAD_INICIAL, Integer.highestOneBit(Math.max(1, esperadas * 2 - 1)) << 1);
+        reservar(capacidad);
+    }
+
+    private void reservar(int capacidad) {
+        claves = new int[capacidad];
+        valores = new Object[capacidad];
+        desplazamiento = 32 - Integer.numberOfTrailingZeros(capacidad);
+    }
+
+    // Hash de Fibonacci: los bits altos del producto reparten bien claves consecutivas
+    private int posicionInicial(int clave) {
+        return (clave * 0x9E3779B9) >>> desplazamiento;
+    }
+
+    private int buscar(int clave) {
+        int mascara = claves.length - 1;
+        int i = posicionInicial(clave);
+        while (valores[i] != null) {
+            if (claves[i] == clave) {
+                return i;
+            }
+            i = (i + 1) & mascara;
+        }
+        // Hueco libre donde iría la clave, codificado en negativo
+        return -i - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int clave) {
+        int i = buscar(clave);
+        return i >= 0 ? (V) valores[i] : null;
+    }
+
+    public boolean contiene(int clave) {
+        return buscar(clave) >= 0;
+    }
+
+    /**
+     * Asocia el valor a la clave y devuelve el anterior (o null)
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int clave, V valor) {
+        Objects.requireNonNull(valor, "valor");
+        int i = buscar(clave);
+        if (i >= 0) {
+            V anterior = (V) valores[i];
+            valores[i] = valor;
+            return anterior;
+        }
+        insertar(-i - 1, clave, valor);
+        return null;
+    }
+
+    /**
+     * Valor de la clave, creándolo con la fábrica si no existe
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(int clave, IntFunction<? extends V> fabrica) {
+        int i = buscar(clave);
+        if (i >= 0) {
+            return (V) valores[i];
+        }
+        V valor = Objects.requireNonNull(fabrica.apply(clave), "valor");
+        insertar(-i - 1, clave, valor);
+        return valor;
+    }
+
+    private void insertar(int hueco, int clave, Object valor) {
+        // Ocupación máxima 1/2: con sondeo lineal, por encima las cadenas crecen deprisa
+        if ((tamanio + 1) * 2 > claves.length) {
+            crecer();
+            hueco = -buscar(clave) - 1;
+        }
+        claves[hueco] = clave;
+        valores[hueco] = valor;
+        tamanio++;
+    }
+
+    private void crecer() {
+        int[] clavesAnteriores = claves;
+        Object[] valoresAnteriores = valores;
+        reservar(claves.length * 2);
+        int mascara = claves.length - 1;
+        for (int j = 0; j < clavesAnteriores.length; j++) {
+            if (valoresAnteriores[j] != null) {
+                int i = posicionInicial(clavesAnteriores[j]);
+                while (valores[i] != null) {
+                    i = (i + 1) & mascara;
+                }
+                claves[i] = clavesAnteriores[j];
+                valores[i] = valoresAnteriores[j];
+            }
+        }
+    }
+
+    /**
+     * Añade las entradas de otro mapa, combinando los valores de claves repetidas
+     *
+     * Los valores de este mapa van primero en la combinación, como en el
+     * combinador de groupingBy.
+     */
+    @SuppressWarnings("unchecked")
+    public void fusionar(MapaEnteroObjeto<V> otro, BinaryOperator<V> combinar) {
+        for (int j = 0; j < otro.claves.length; j++) {
+            if (otro.valores[j] != null) {
+                int i = buscar(otro.claves[j]);
+                if (i >= 0) {
+                    valores[i] = Objects.requireNonNull(
+                        combinar.apply((V) valores[i], (V) otro.valores[j]), "valor");
+                } else {
+                    insertar(-i - 1, otro.claves[j], otro.valores[j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sustituye cada valor por el resultado de la función, sin reordenar
+     */
+    @SuppressWarnings("unchecked")
+    public void reemplazarValores(Function<? super V, ? extends V> funcion) {
+        for (int j = 0; j < valores.length; j++) {
+            if (valores[j] != null) {
+                valores[j] = Objects.requireNonNull(funcion.apply((V) valores[j]), "valor");
+            }
+        }
+    }
+
+    /**
+     * Claves presentes, en el orden interno del mapa
+     */
+    public int[] claves() {
+        int[] resultado = new int[tamanio];
+        int n = 0;
+        for (int j = 0; j < claves.length; j++) {
+            if (valores[j] != null) {
+                resultado[n++] = claves[j];
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public int size() {
+        return tamanio;
+    }
+
+    @Override
+    public V get(Object clave) {
+        return clave instanceof Integer ? get(((Integer) clave).intValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object clave) {
+        return clave instanceof Integer && contiene((Integer) clave);
+    }
+
+    @Override
+    public V put(Integer clave, V valor) {
+        return put(clave.intValue(), valor);
+    }
+
+    @Override
+    public Set<Entry<Integer, V>> entrySet() {
+        return new AbstractSet<Entry<Integer, V>>() {
+            @Override
+            public int size() {
+                return tamanio;
+            }
+
+            @Override
+            public Iterator<Entry<Integer, V>> iterator() {
+                return new Iterator<Entry<Integer, V>>() {
+                    private int siguiente = avanzarDesde(0);
+
+                    private int avanzarDesde(int j) {
+                        while (j < valores.length && valores[j] == null) {
+                            j++;
+                        }
+                        return j;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return siguiente < valores.length;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Entry<Integer, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int j = siguiente;
+                        siguiente = avanzarDesde(j + 1);
+                        return new SimpleImmutableEntry<>(claves[j], (V) valores[j]);
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Resultado de particionar enteros: dos {@link BufferEnteros} en vez de Map<Boolean, List<Integer>>
+ *
+ * get(true) son los que cumplen el predicado y get(false) los demás, cada
+ * uno en orden de llegada. combine() concatena los de otra partición
+ * detrás, así que en paralelo se conserva el orden de encuentro.
+ * No es segura para varios hilos.
+ */
+public class ParticionEnteros implements IntConsumer {
+
+    private final IntPredicate predicado;
+    private final BufferEnteros cumplen = new BufferEnteros();
+    private final BufferEnteros noCumplen = new BufferEnteros();
+
+    public ParticionEnteros(IntPredicate predicado) {
+        this.predicado = Objects.requireNonNull(predicado, "predicado");
+    }
+
+    @Override
+    public void accept(int valor) {
+        (predicado.test(valor) ? cumplen : noCumplen).accept(valor);
+    }
+
+    public void combine(ParticionEnteros otra) {
+        cumplen.agregarTodos(otra.cumplen);
+        noCumplen.agregarTodos(otra.noCumplen);
+    }
+
+    public BufferEnteros get(boolean cumple) {
+        return cumple ? cumplen : noCumplen;
+    }
+
+    public BufferEnteros getCumplen() {
+        return cumplen;
+    }
+
+    public BufferEnteros getNoCumplen() {
+        return noCumplen;
+    }
+
+    @Override
+    public String toString() {
+        // Mismo formato que el mapa de partitioningBy
+        return "{false=" + noCumplen + ", true=" + cumplen + "}";
+    }
+}
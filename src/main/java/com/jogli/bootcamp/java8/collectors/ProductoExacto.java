@@ -0,0 +1,133 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.math.*;
+import java.util.function.*;
+
+/**
+ * Producto exacto de enteros primitivos, sin desbordamiento silencioso
+ *
+ * Mientras el producto cabe en un long se multiplica en un long. Antes de
+ * cada multiplicación se comprueba, como hace Math.multiplyExact pero sin
+ * lanzar excepciones, que los bits de los dos factores sumen como mucho
+ * 62; si no, el long acumulado pasa a un árbol de BigInteger y se empieza
+ * otro. El árbol funciona como un contador binario: cada nivel guarda el
+ * producto de 2^k trozos, así que siempre se multiplican números de tamaño
+ * parecido (lo que aprovecha Karatsuba y Toom-Cook de BigInteger) en vez
+ * de ir multiplicando un número enorme por uno pequeño.
+ *
+ * combine() une dos acumuladores como dos subárboles, de modo que con un
+ * stream paralelo cada subárbol se multiplica en su propio hilo.
+ * No es segura para varios hilos; como LongSummaryStatistics, está pensada
+ * para IntStream.collect y LongStream.collect.
+ */
+public class ProductoExacto implements IntConsumer, LongConsumer {
+
+    // Los bits de un long sin el de signo menos uno de margen
+    private static final int BITS_SEGUROS = 62;
+
+    private long parcial = 1;
+    private int bitsParcial;
+    // niveles[k]: producto de 2^k trozos, o null
+    private final BigInteger[] niveles = new BigInteger[64];
+    private int cantidadNiveles;
+    private long cantidad;
+
+    @Override
+    public void accept(int valor) {
+        accept((long) valor);
+    }
+
+    @Override
+    public void accept(long valor) {
+        cantidad++;
+        int bits = bits(valor);
+        if (bitsParcial + bits > BITS_SEGUROS) {
+            subir(BigInteger.valueOf(parcial), 0);
+            parcial = valor;
+            bitsParcial = bits;
+        } else {
+            parcial *= valor;
+            bitsParcial = bits(parcial);
+        }
+    }
+
+    /**
+     * Añade el producto de otro acumulador
+     *
+     * El producto unido vuelve al árbol en el nivel que le corresponde por
+     * tamaño, no por el número de combinaciones: se puede llamar en un
+     * bucle tantas veces como se quiera.
+     */
+    public void combine(ProductoExacto otro) {
+        cantidad += otro.cantidad;
+        BigInteger producto = colapsar().multiply(otro.colapsar());
+        niveles[cantidadNiveles - 1] = null;
+        cantidadNiveles = 0;
+        subir(producto, nivelPara(producto));
+    }
+
+    // Un trozo de nivel k junta unos 2^k trozos de BITS_SEGUROS bits; como mucho nivel 25
+    private static int nivelPara(BigInteger producto) {
+        return 31 - Integer.numberOfLeadingZeros(Math.max(1, producto.bitLength() / BITS_SEGUROS));
+    }
+
+    // Sube un trozo al árbol: como sumar 1 en binario, con los acarreos multiplicados
+    private void subir(BigInteger trozo, int nivel) {
+        while (niveles[nivel] != null) {
+            trozo = niveles[nivel].multiply(trozo);
+            niveles[nivel] = null;
+            nivel++;
+        }
+        niveles[nivel] = trozo;
+        cantidadNiveles = Math.max(cantidadNiveles, nivel + 1);
+    }
+
+    // Deja todo el producto en el nivel más alto y lo devuelve
+    private BigInteger colapsar() {
+        BigInteger producto = BigInteger.valueOf(parcial);
+        for (int k = 0; k < cantidadNiveles; k++) {
+            if (niveles[k] != null) {
+                producto = niveles[k].multiply(producto);
+                niveles[k] = null;
+            }
+        }
+        parcial = 1;
+        bitsParcial = 0;
+        cantidadNiveles = Math.max(cantidadNiveles, 1);
+        niveles[cantidadNiveles - 1] = producto;
+        return producto;
+    }
+
+    // Bits del valor absoluto (a lo sumo |valor| <= 2^bits)
+    private static int bits(long valor) {
+        return 64 - Long.numberOfLeadingZeros(valor ^ (valor >> 63));
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Producto de todos los valores (1 si no hay ninguno)
+     */
+    public BigInteger getProducto() {
+        return cantidadNiveles == 0 ? BigInteger.valueOf(parcial) : colapsar();
+    }
+
+    /**
+     * Producto como long
+     *
+     * @throws ArithmeticException si no cabe en un long
+     */
+    public long getProductoLong() {
+        return cantidadNiveles == 0 ? parcial : getProducto().longValueExact();
+    }
+
+    @Override
+    public String toString() {
+        BigInteger producto = getProducto();
+        return String.format("%s{cantidad=%d, bits=%d, producto=%s}",
+            getClass().getSimpleName(), cantidad, producto.bitLength(),
+            producto.bitLength() <= 256 ? producto : "...");
+    }
+}
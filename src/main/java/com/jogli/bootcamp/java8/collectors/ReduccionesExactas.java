@@ -0,0 +1,77 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.math.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Productos y sumas exactos sobre streams, en vez de reduce(1, (a, b) -> a * b)
+ *
+ * Un reduce con int o long desborda sin avisar (13! ya no cabe en un int)
+ * y sobre Stream<Integer> encajona cada resultado intermedio. Estos
+ * métodos trabajan sobre primitivos con {@link ProductoExacto} y
+ * {@link SumaExacta}: son tan rápidos como el reduce mientras el
+ * resultado cabe en un long y pasan solos a BigInteger cuando no.
+ * Con streams paralelos cada subárbol del producto se calcula en su hilo.
+ */
+public final class ReduccionesExactas {
+
+    private static final Collector.Characteristics[] SIN_ORDEN_IDENTIDAD = {
+        Collector.Characteristics.UNORDERED,
+        Collector.Characteristics.IDENTITY_FINISH
+    };
+
+    private ReduccionesExactas() {
+    }
+
+    public static BigInteger producto(IntStream valores) {
+        return valores.collect(ProductoExacto::new, ProductoExacto::accept, ProductoExacto::combine).getProducto();
+    }
+
+    public static BigInteger producto(LongStream valores) {
+        return valores.collect(ProductoExacto::new, ProductoExacto::accept, ProductoExacto::combine).getProducto();
+    }
+
+    public static BigInteger suma(IntStream valores) {
+        return valores.collect(SumaExacta::new, SumaExacta::accept, SumaExacta::combine).getSuma();
+    }
+
+    public static BigInteger suma(LongStream valores) {
+        return valores.collect(SumaExacta::new, SumaExacta::accept, SumaExacta::combine).getSuma();
+    }
+
+    /**
+     * n! exacto, multiplicando en paralelo en el pool común
+     */
+    public static BigInteger factorial(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("El factorial no está definido para " + n);
+        }
+        return producto(IntStream.rangeClosed(2, n).parallel());
+    }
+
+    /**
+     * Collector con el producto exacto, p. ej. numeros.stream().collect(productoExacto(Integer::intValue))
+     */
+    public static <T> Collector<T, ?, ProductoExacto> productoExacto(ToLongFunction<? super T> mapeador) {
+        return Collector.of(
+            ProductoExacto::new,
+            (producto, elemento) -> producto.accept(mapeador.applyAsLong(elemento)),
+            (a, b) -> {
+                a.combine(b);
+                return a;
+            },
+            SIN_ORDEN_IDENTIDAD);
+    }
+
+    public static <T> Collector<T, ?, SumaExacta> sumaExacta(ToLongFunction<? super T> mapeador) {
+        return Collector.of(
+            SumaExacta::new,
+            (suma, elemento) -> suma.accept(mapeador.applyAsLong(elemento)),
+            (a, b) -> {
+                a.combine(b);
+                return a;
+            },
+            SIN_ORDEN_IDENTIDAD);
+    }
+}
@@ -0,0 +1,71 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.math.*;
+import java.util.function.*;
+
+/**
+ * Suma exacta de enteros primitivos, sin desbordamiento silencioso
+ *
+ * Se suma en un long y se cuenta cuántas veces da la vuelta (hacia arriba
+ * o hacia abajo): el resultado exacto es suma + vueltas * 2^64. Detectar
+ * la vuelta son unas pocas operaciones de bits sin saltos, así que no hay
+ * excepciones ni BigInteger hasta pedir el resultado.
+ * No es segura para varios hilos; se combina como LongSummaryStatistics.
+ */
+public class SumaExacta implements IntConsumer, LongConsumer {
+
+    private long suma;
+    private long vueltas;
+    private long cantidad;
+
+    @Override
+    public void accept(int valor) {
+        accept((long) valor);
+    }
+
+    @Override
+    public void accept(long valor) {
+        cantidad++;
+        sumar(valor);
+    }
+
+    public void combine(SumaExacta otra) {
+        cantidad += otra.cantidad;
+        vueltas += otra.vueltas;
+        sumar(otra.suma);
+    }
+
+    private void sumar(long valor) {
+        long resultado = suma + valor;
+        // Desborda si el resultado tiene distinto signo que los dos sumandos;
+        // hacia arriba si el valor era positivo y hacia abajo si era negativo
+        long desborde = ((suma ^ resultado) & (valor ^ resultado)) >> 63;
+        vueltas += desborde & (1 | (valor >> 63));
+        suma = resultado;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public BigInteger getSuma() {
+        return BigInteger.valueOf(vueltas).shiftLeft(64).add(BigInteger.valueOf(suma));
+    }
+
+    /**
+     * Suma como long
+     *
+     * @throws ArithmeticException si no cabe en un long
+     */
+    public long getSumaLong() {
+        if (vueltas != 0) {
+            throw new ArithmeticException("La suma no cabe en un long: " + getSuma());
+        }
+        return suma;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{cantidad=%d, suma=%s}", getClass().getSimpleName(), cantidad, getSuma());
+    }
+}
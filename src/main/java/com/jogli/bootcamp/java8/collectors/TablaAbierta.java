@@ -0,0 +1,253 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.*;
+
+/**
+ * Base de los mapas de direccionamiento abierto con sondeo Robin Hood
+ *
+ * Las claves van en un Object[] y su hash en un int[] paralelo; los
+ * valores los guarda cada subclase en su propio array (Object[] o int[]),
+ * así que no hay un nodo por entrada como en HashMap. Con Robin Hood cada
+ * grupo de posiciones ocupadas queda ordenado por posición inicial:
+ * insertar es desplazar una posición a la derecha el tramo hasta el
+ * siguiente hueco, y una búsqueda fallida se corta en cuanto llega a una
+ * clave que está más cerca de su casa que la buscada.
+ *
+ * Guardar el hash permite crecer y fusionar tablas sin volver a llamar a
+ * hashCode() ni a equals() salvo cuando dos hash coinciden. No admite
+ * claves null.
+ */
+abstract class TablaAbierta<K, V> extends AbstractMap<K, V> {
+
+    private static final int CAPACIDAD_MINIMA = 16;
+
+    Object[] claves;
+    int[] hashes;
+    private int desplazamiento;
+    private int mascara;
+    int tamanio;
+
+    TablaAbierta(int esperadas) {
+        if (esperadas < 0) {
+            throw new IllegalArgumentException("Tamaño negativo: " + esperadas);
+        }
+        reservar(capacidadPara(esperadas));
+    }
+
+    // Ocupación máxima 3/4: con Robin Hood las cadenas siguen siendo cortas
+    private static int capacidadPara(long entradas) {
+        long necesaria = Math.max(CAPACIDAD_MINIMA, entradas + (entradas + 2) / 3);
+        if (necesaria > 1 << 30) {
+            throw new IllegalStateException("Demasiadas entradas para un mapa abierto: " + entradas);
+        }
+        return Integer.highestOneBit((int) necesaria - 1) << 1;
+    }
+
+    private void reservar(int capacidad) {
+        claves = new Object[capacidad];
+        hashes = new int[capacidad];
+        mascara = capacidad - 1;
+        desplazamiento = 32 - Integer.numberOfTrailingZeros(capacidad);
+        reservarValores(capacidad);
+    }
+
+    /**
+     * Crea el array de valores para la capacidad
+     *
+     * Se llama desde el constructor: el campo de la subclase que guarda los
+     * valores no debe tener inicializador, o lo pisaría.
+     */
+    abstract void reservarValores(int capacidad);
+
+    /**
+     * El array de valores actual (Object[], int[]...)
+     */
+    abstract Object arrayValores();
+
+    /**
+     * Copia el valor de la posición desde del array origen (de esta tabla o de otra) a hasta
+     */
+    abstract void copiarValor(Object origen, int desde, int hasta);
+
+    /**
+     * Mueve una posición a la derecha los valores de [desde, hueco), en circular
+     */
+    abstract void desplazarValores(int desde, int hueco);
+
+    abstract V valorEn(int posicion);
+
+    // Hash de Fibonacci sobre hashCode: los bits altos indexan la tabla
+    static int hash(Object clave) {
+        return clave.hashCode() * 0x9E3779B9;
+    }
+
+    private int distancia(int posicion, int hash) {
+        return (posicion - (hash >>> desplazamiento)) & mascara;
+    }
+
+    /**
+     * Posición de la clave, o -(posición donde habría que insertarla) - 1
+     */
+    final int buscar(Object clave, int hash) {
+        int i = hash >>> desplazamiento;
+        for (int d = 0; ; d++) {
+            Object residente = claves[i];
+            if (residente == null || distancia(i, hashes[i]) < d) {
+                return -i - 1;
+            }
+            if (hashes[i] == hash && (residente == clave || residente.equals(clave))) {
+                return i;
+            }
+            i = (i + 1) & mascara;
+        }
+    }
+
+    /**
+     * Inserta una clave que no está en la posición que dio buscar(); devuelve la posición final
+     *
+     * Si la tabla tiene que crecer, la posición puede cambiar.
+     */
+    final int insertar(int posicion, Object clave, int hash) {
+        if (tamanio + 1 > (claves.length >> 2) * 3) {
+            crecer(capacidadPara(tamanio + 1L));
+            posicion = -buscar(clave, hash) - 1;
+        }
+        colocar(posicion, clave, hash);
+        return posicion;
+    }
+
+    private void colocar(int posicion, Object clave, int hash) {
+        int hueco = posicion;
+        while (claves[hueco] != null) {
+            hueco = (hueco + 1) & mascara;
+        }
+        if (hueco != posicion) {
+            for (int j = hueco; j != posicion; j = (j - 1) & mascara) {
+                int anterior = (j - 1) & mascara;
+                claves[j] = claves[anterior];
+                hashes[j] = hashes[anterior];
+            }
+            desplazarValores(posicion, hueco);
+        }
+        claves[posicion] = clave;
+        hashes[posicion] = hash;
+        tamanio++;
+    }
+
+    /**
+     * Asegura sitio para entradas claves sin volver a crecer
+     */
+    final void asegurar(long entradas) {
+        int capacidad = capacidadPara(entradas);
+        if (capacidad > claves.length) {
+            crecer(capacidad);
+        }
+    }
+
+    private void crecer(int capacidad) {
+        Object[] clavesAnteriores = claves;
+        int[] hashesAnteriores = hashes;
+        Object valoresAnteriores = arrayValores();
+        reservar(capacidad);
+        tamanio = 0;
+        // Empezando tras un hueco las claves llegan en orden de casa y casi nunca hay que desplazar
+        int inicio = 0;
+        while (clavesAnteriores[inicio] != null) {
+            inicio++;
+        }
+        for (int k = 0; k < clavesAnteriores.length; k++) {
+            int j = (inicio + k) & (clavesAnteriores.length - 1);
+            if (clavesAnteriores[j] != null) {
+                int posicion = -buscar(clavesAnteriores[j], hashesAnteriores[j]) - 1;
+                colocar(posicion, clavesAnteriores[j], hashesAnteriores[j]);
+                copiarValor(valoresAnteriores, j, posicion);
+            }
+        }
+    }
+
+    /**
+     * Añade las claves de otra tabla con el hash que ya tienen guardado
+     *
+     * Las que faltan se insertan con su valor; para las que ya están se
+     * llama a fusion con la posición aquí y en la otra tabla.
+     */
+    final void recorrerParaFusionar(TablaAbierta<K, V> otra, Fusion fusion) {
+        asegurar((long) tamanio + otra.tamanio);
+        Object valoresOtra = otra.arrayValores();
+        for (int j = 0; j < otra.claves.length; j++) {
+            Object clave = otra.claves[j];
+            if (clave != null) {
+                int posicion = buscar(clave, otra.hashes[j]);
+                if (posicion >= 0) {
+                    fusion.repetida(posicion, j);
+                } else {
+                    colocar(-posicion - 1, clave, otra.hashes[j]);
+                    copiarValor(valoresOtra, j, -posicion - 1);
+                }
+            }
+        }
+    }
+
+    interface Fusion {
+        void repetida(int aqui, int alli);
+    }
+
+    @Override
+    public final int size() {
+        return tamanio;
+    }
+
+    @Override
+    public final boolean containsKey(Object clave) {
+        return clave != null && buscar(clave, hash(clave)) >= 0;
+    }
+
+    @Override
+    public final V get(Object clave) {
+        if (clave == null) {
+            return null;
+        }
+        int posicion = buscar(clave, hash(clave));
+        return posicion >= 0 ? valorEn(posicion) : null;
+    }
+
+    @Override
+    public final Set<Entry<K, V>> entrySet() {
+        return new AbstractSet<Entry<K, V>>() {
+            @Override
+            public int size() {
+                return tamanio;
+            }
+
+            @Override
+            public Iterator<Entry<K, V>> iterator() {
+                return new Iterator<Entry<K, V>>() {
+                    private int siguiente = avanzarDesde(0);
+
+                    private int avanzarDesde(int j) {
+                        while (j < claves.length && claves[j] == null) {
+                            j++;
+                        }
+                        return j;
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return siguiente < claves.length;
+                    }
+
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public Entry<K, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int j = siguiente;
+                        siguiente = avanzarDesde(j + 1);
+                        return new SimpleImmutableEntry<>((K) claves[j], valorEn(j));
+                    }
+                };
+            }
+        };
+    }
+}
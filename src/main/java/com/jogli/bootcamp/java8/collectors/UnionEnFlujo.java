@@ -0,0 +1,229 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Collectors.joining que escribe según llegan los elementos, sin construir el String
+ *
+ * joining acumula todo en un StringBuilder que va duplicando su tamaño y
+ * al final lo copia en un String: el pico de memoria es de 2 a 3 veces el
+ * texto. Aquí cada elemento (con prefijo, delimitadores y sufijo) se
+ * copia a un buffer de caracteres fijo y, cuando se llena, se escribe en
+ * el Writer o se codifica en un buffer de bytes fijo que va al
+ * OutputStream o al canal. La memoria no depende del tamaño del texto.
+ *
+ * El prefijo se escribe con el primer elemento (o al terminar si no hay
+ * ninguno) y el sufijo al terminar. terminar() no cierra el destino. Los
+ * errores de E/S salen como UncheckedIOException. No es seguro para
+ * varios hilos: con streams, {@link Uniones#escribir} lo recorre con
+ * forEachOrdered, que sirve también en paralelo.
+ */
+public final class UnionEnFlujo implements Consumer<CharSequence>, Flushable {
+
+    private static final int TAMANIO_BUFFER = 8192;
+
+    private final String delimitador;
+    private final String prefijo;
+    private final String sufijo;
+
+    // Solo uno de los tres destinos es distinto de null
+    private final Writer escritor;
+    private final OutputStream flujo;
+    private final WritableByteChannel canal;
+
+    private final char[] caracteres = new char[TAMANIO_BUFFER];
+    private final CharBuffer pendientes = CharBuffer.wrap(caracteres);
+    private final CharsetEncoder codificador;
+    private final ByteBuffer bytes;
+    private int usados;
+
+    private long elementos;
+    private long escritos;
+    private boolean empezada;
+    private boolean terminada;
+
+    private UnionEnFlujo(CharSequence delimitador, CharSequence prefijo, CharSequence sufijo,
+                         Writer escritor, OutputStream flujo, WritableByteChannel canal, Charset charset) {
+        this.delimitador = delimitador.toString();
+        this.prefijo = prefijo.toString();
+        this.sufijo = sufijo.toString();
+        this.escritor = escritor;
+        this.flujo = flujo;
+        this.canal = canal;
+        if (charset == null) {
+            this.codificador = null;
+            this.bytes = null;
+        } else {
+            this.codificador = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.bytes = ByteBuffer.allocate((int) (TAMANIO_BUFFER * codificador.maxBytesPerChar()));
+        }
+    }
+
+    public static UnionEnFlujo en(Writer destino, CharSequence delimitador) {
+        return en(destino, delimitador, "", "");
+    }
+
+    public static UnionEnFlujo en(Writer destino, CharSequence delimitador, CharSequence prefijo, CharSequence sufijo) {
+        Objects.requireNonNull(destino, "destino");
+        return new UnionEnFlujo(delimitador, prefijo, sufijo, destino, null, null, null);
+    }
+
+    public static UnionEnFlujo en(OutputStream destino, Charset charset, CharSequence delimitador,
+                                  CharSequence prefijo, CharSequence sufijo) {
+        Objects.requireNonNull(destino, "destino");
+        return new UnionEnFlujo(delimitador, prefijo, sufijo, null, destino, null, charset);
+    }
+
+    public static UnionEnFlujo en(WritableByteChannel destino, Charset charset, CharSequence delimitador,
+                                  CharSequence prefijo, CharSequence sufijo) {
+        Objects.requireNonNull(destino, "destino");
+        return new UnionEnFlujo(delimitador, prefijo, sufijo, null, null, destino, charset);
+    }
+
+    @Override
+    public void accept(CharSequence elemento) {
+        if (terminada) {
+            throw new IllegalStateException("La unión ya está terminada");
+        }
+        if (!empezada) {
+            empezada = true;
+            agregar(prefijo);
+        } else {
+            agregar(delimitador);
+        }
+        agregar(elemento);
+        elementos++;
+    }
+
+    private void agregar(CharSequence texto) {
+        int longitud = texto.length();
+        int desde = 0;
+        while (desde < longitud) {
+            int n = Math.min(longitud - desde, caracteres.length - usados);
+            copiar(texto, desde, desde + n);
+            usados += n;
+            desde += n;
+            if (usados == caracteres.length) {
+                descargar(false);
+            }
+        }
+        escritos += longitud;
+    }
+
+    private void copiar(CharSequence texto, int desde, int hasta) {
+        if (texto instanceof String) {
+            ((String) texto).getChars(desde, hasta, caracteres, usados);
+        } else if (texto instanceof StringBuilder) {
+            ((StringBuilder) texto).getChars(desde, hasta, caracteres, usados);
+        } else {
+            for (int i = desde, j = usados; i < hasta; i++, j++) {
+                caracteres[j] = texto.charAt(i);
+            }
+        }
+    }
+
+    // Pasa los caracteres del buffer al destino (codificándolos si son bytes)
+    private void descargar(boolean fin) {
+        try {
+            if (escritor != null) {
+                escritor.write(caracteres, 0, usados);
+                usados = 0;
+                return;
+            }
+            pendientes.limit(usados).position(0);
+            while (codificador.encode(pendientes, bytes, fin).isOverflow()) {
+                escribirBytes();
+            }
+            if (fin) {
+                while (codificador.flush(bytes).isOverflow()) {
+                    escribirBytes();
+                }
+                escribirBytes();
+            }
+            // Un sustituto alto al final espera a su pareja en la siguiente descarga
+            int sobrantes = pendientes.remaining();
+            System.arraycopy(caracteres, pendientes.position(), caracteres, 0, sobrantes);
+            usados = sobrantes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escribirBytes() throws IOException {
+        bytes.flip();
+        if (flujo != null) {
+            flujo.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        } else {
+            while (bytes.hasRemaining()) {
+                canal.write(bytes);
+            }
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Escribe lo pendiente en el destino y lo vacía (sin terminar la unión)
+     */
+    @Override
+    public void flush() {
+        if (!terminada) {
+            descargar(false);
+        }
+        try {
+            if (escritor != null) {
+                escritor.flush();
+            } else {
+                escribirBytes();
+                if (flujo != null) {
+                    flujo.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Escribe el sufijo y todo lo pendiente; no cierra el destino
+     *
+     * Se puede llamar más de una vez; solo la primera escribe.
+     */
+    public UnionEnFlujo terminar() {
+        if (terminada) {
+            return this;
+        }
+        if (!empezada) {
+            empezada = true;
+            agregar(prefijo);
+        }
+        agregar(sufijo);
+        descargar(true);
+        terminada = true;
+        flush();
+        return this;
+    }
+
+    public long getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Caracteres escritos, contando prefijo, delimitadores y sufijo
+     */
+    public long getCaracteres() {
+        return escritos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{elementos=%d, caracteres=%d, terminada=%s}",
+            getClass().getSimpleName(), elementos, escritos, terminada);
+    }
+}
@@ -0,0 +1,120 @@
+package com.jogli.bootcamp.java8.collectors;
+
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * Alternativas a Collectors.joining según dónde acabe el texto
+ *
+ * - escribir: el texto va directo a un {@link UnionEnFlujo} (Writer,
+ *   OutputStream o canal) en memoria constante; para exportaciones.
+ * - uniendo con capacidad: cuando de verdad hace falta el String, un
+ *   StringBuilder con el tamaño estimado evita las copias al crecer.
+ * - unir una colección: se mide primero y se reserva el tamaño exacto.
+ */
+public final class Uniones {
+
+    private Uniones() {
+    }
+
+    /**
+     * Escribe los elementos del stream en el sumidero, en orden, y lo termina
+     *
+     * No es un Collector porque el sumidero es uno solo y escribe en orden:
+     * aquí se recorre con forEachOrdered, así que también vale para streams
+     * paralelos (las etapas anteriores siguen en paralelo). No cierra el
+     * stream ni el destino.
+     */
+    public static UnionEnFlujo escribir(Stream<? extends CharSequence> elementos, UnionEnFlujo sumidero) {
+        Objects.requireNonNull(sumidero, "sumidero");
+        elementos.forEachOrdered(sumidero);
+        return sumidero.terminar();
+    }
+
+    /**
+     * Como joining(delimitador, prefijo, sufijo) con el StringBuilder ya dimensionado
+     *
+     * capacidadEstimada son los caracteres esperados en total. Si acierta,
+     * el pico de memoria es el StringBuilder más el String final, frente a
+     * las copias al duplicar de joining. Pensado para streams secuenciales:
+     * en paralelo cada hoja reservaría esa capacidad.
+     */
+    public static Collector<CharSequence, ?, String> uniendo(
+            CharSequence delimitador, CharSequence prefijo, CharSequence sufijo, int capacidadEstimada) {
+        if (capacidadEstimada < 0) {
+            throw new IllegalArgumentException("Capacidad negativa: " + capacidadEstimada);
+        }
+        String separador = delimitador.toString();
+        String inicio = prefijo.toString();
+        String fin = sufijo.toString();
+        return Collector.<CharSequence, Acumulado, String>of(
+            () -> new Acumulado(separador, inicio, capacidadEstimada),
+            Acumulado::agregar,
+            Acumulado::combinar,
+            acumulado -> acumulado.terminar(fin));
+    }
+
+    /**
+     * String.join con prefijo y sufijo, reservando exactamente el tamaño final
+     */
+    public static String unir(Collection<? extends CharSequence> partes,
+                              CharSequence delimitador, CharSequence prefijo, CharSequence sufijo) {
+        long total = prefijo.length() + sufijo.length() + (long) Math.max(0, partes.size() - 1) * delimitador.length();
+        for (CharSequence parte : partes) {
+            total += parte.length();
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("El resultado no cabe en un String: " + total + " caracteres");
+        }
+        StringBuilder resultado = new StringBuilder((int) total).append(prefijo);
+        boolean primera = true;
+        for (CharSequence parte : partes) {
+            if (!primera) {
+                resultado.append(delimitador);
+            }
+            resultado.append(parte);
+            primera = false;
+        }
+        return resultado.append(sufijo).toString();
+    }
+
+    // El texto empieza con el prefijo, como en StringJoiner; al combinar se salta el del otro
+    private static final class Acumulado {
+        private final String separador;
+        private final String prefijo;
+        private final int capacidad;
+        // null hasta el primer elemento, para no reservar la capacidad en hojas vacías
+        private StringBuilder texto;
+
+        Acumulado(String separador, String prefijo, int capacidad) {
+            this.separador = separador;
+            this.prefijo = prefijo;
+            this.capacidad = capacidad;
+        }
+
+        void agregar(CharSequence elemento) {
+            if (texto == null) {
+                texto = new StringBuilder(Math.max(capacidad, prefijo.length() + elemento.length()))
+                    .append(prefijo);
+            } else {
+                texto.append(separador);
+            }
+            texto.append(elemento);
+        }
+
+        Acumulado combinar(Acumulado otro) {
+            if (otro.texto == null) {
+                return this;
+            }
+            if (texto == null) {
+                return otro;
+            }
+            texto.append(separador).append(otro.texto, prefijo.length(), otro.texto.length());
+            return this;
+        }
+
+        String terminar(String sufijo) {
+            return texto == null ? prefijo + sufijo : texto.append(sufijo).toString();
+        }
+    }
+}
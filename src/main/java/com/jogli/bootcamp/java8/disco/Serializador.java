@@ -0,0 +1,36 @@
+package com.jogli.bootcamp.java8.disco;
+
+import java.io.*;
+
+/**
+ * Formato binario compacto para volcar elementos a disco
+ *
+ * Lo usan los algoritmos que no caben en memoria (agrupación y ordenación
+ * externas). Además de escribir y leer, estima cuánta memoria ocupa un
+ * elemento en el heap, para decidir cuándo hay que volcar.
+ */
+public interface Serializador<T> {
+
+    void escribir(T valor, DataOutput salida) throws IOException;
+
+    T leer(DataInput entrada) throws IOException;
+
+    /**
+     * Bytes aproximados que ocupa el valor en el heap, incluida la referencia
+     */
+    long memoria(T valor);
+
+    /**
+     * Cadenas en UTF-8 precedidas de su longitud (sin el límite de 64 KB de writeUTF)
+     */
+    static Serializador<String> cadenas() {
+        return Serializadores.Cadenas.INSTANCIA;
+    }
+
+    /**
+     * Enteros de 4 bytes
+     */
+    static Serializador<Integer> enteros() {
+        return Serializadores.Enteros.INSTANCIA;
+    }
+}
@@ -0,0 +1,82 @@
+package com.jogli.bootcamp.java8.disco;
+
+import java.io.*;
+import java.nio.charset.*;
+
+// Implementaciones de los serializadores de Serializador.cadenas() y enteros()
+final class Serializadores {
+
+    private Serializadores() {
+    }
+
+    static final class Cadenas implements Serializador<String> {
+        static final Cadenas INSTANCIA = new Cadenas();
+
+        private Cadenas() {
+        }
+
+        @Override
+        public void escribir(String valor, DataOutput salida) throws IOException {
+            byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+            escribirLongitud(bytes.length, salida);
+            salida.write(bytes);
+        }
+
+        @Override
+        public String leer(DataInput entrada) throws IOException {
+            byte[] bytes = new byte[leerLongitud(entrada)];
+            entrada.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public long memoria(String valor) {
+            // Referencia + cabecera de String + array de char
+            return 8 + 24 + 16 + 2L * valor.length();
+        }
+
+        // Longitud en 7 bits por byte: 1 byte para las cadenas de menos de 128 bytes
+        private static void escribirLongitud(int longitud, DataOutput salida) throws IOException {
+            while ((longitud & ~0x7f) != 0) {
+                salida.writeByte((longitud & 0x7f) | 0x80);
+                longitud >>>= 7;
+            }
+            salida.writeByte(longitud);
+        }
+
+        private static int leerLongitud(DataInput entrada) throws IOException {
+            int longitud = 0;
+            for (int desplazamiento = 0; desplazamiento < 32; desplazamiento += 7) {
+                int b = entrada.readUnsignedByte();
+                longitud |= (b & 0x7f) << desplazamiento;
+                if ((b & 0x80) == 0) {
+                    return longitud;
+                }
+            }
+            throw new IOException("Longitud de cadena corrupta");
+        }
+    }
+
+    static final class Enteros implements Serializador<Integer> {
+        static final Enteros INSTANCIA = new Enteros();
+
+        private Enteros() {
+        }
+
+        @Override
+        public void escribir(Integer valor, DataOutput salida) throws IOException {
+            salida.writeInt(valor);
+        }
+
+        @Override
+        public Integer leer(DataInput entrada) throws IOException {
+            return entrada.readInt();
+        }
+
+        @Override
+        public long memoria(Integer valor) {
+            // Referencia + Integer
+            return 8 + 16;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.jogli.bootcamp.java8.lambdas;
+
+import com.jogli.bootcamp.java8.lambdas.LambdaExamples.Calculadora;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Evaluación de una {@link Calculadora} sobre arrays de operandos
+ *
+ * Aplicar una calculadora par a par desde distintos sitios hace que la
+ * llamada a calcular(a, b) sea megamórfica (una llamada de interfaz por
+ * par). Aquí se recorre el array en un único bucle, y para las operaciones
+ * básicas (SUMA, MULTIPLICACION, POTENCIA) el bucle es especializado y no
+ * llama a la interfaz, así el JIT puede desenrollarlo y vectorizarlo.
+ *
+ * La versión paralela divide el rango en tramos contiguos y los reparte en
+ * el ForkJoinPool del hilo actual (o en el común).
+ */
+public final class CalculosEnLote {
+
+    // Por debajo de este tamaño no compensa dividir más el trabajo
+    private static final int TRAMO_MINIMO = 1 << 16;
+
+    public static final Calculadora SUMA = Basica.SUMA;
+    public static final Calculadora MULTIPLICACION = Basica.MULTIPLICACION;
+    public static final Calculadora POTENCIA = Basica.POTENCIA;
+
+    private CalculosEnLote() {
+    }
+
+    /**
+     * resultado[i] = calculadora.calcular(a[i], b[i]) para todo i
+     */
+    public static void calcular(Calculadora calculadora, int[] a, int[] b, int[] resultado) {
+        comprobar(calculadora, a, b, resultado);
+        aplicar(calculadora, a, b, resultado, 0, a.length);
+    }
+
+    /**
+     * Igual que calcular(...), repartiendo tramos del array entre varios hilos
+     */
+    public static void calcularEnParalelo(Calculadora calculadora, int[] a, int[] b, int[] resultado) {
+        comprobar(calculadora, a, b, resultado);
+        int paralelismo = ForkJoinTask.inForkJoinPool()
+            ? ForkJoinTask.getPool().getParallelism()
+            : ForkJoinPool.getCommonPoolParallelism();
+        // Unos cuantos tramos por hilo para equilibrar la carga
+        int umbral = Math.max(TRAMO_MINIMO, a.length / (paralelismo * 4) + 1);
+        new Tramo(calculadora, a, b, resultado, 0, a.length, umbral).invoke();
+    }
+
+    /**
+     * a elevado a b con aritmética entera (exponenciación por cuadrados)
+     *
+     * Como la multiplicación de int, desborda sin avisar. Con exponente
+     * negativo devuelve lo mismo que (int) Math.pow(a, b): 1 o -1 para
+     * bases 1 y -1, Integer.MAX_VALUE para base 0 y 0 en el resto.
+     */
+    public static int potencia(int base, int exponente) {
+        if (exponente < 0) {
+            if (base == 1) {
+                return 1;
+            }
+            if (base == -1) {
+                return (exponente & 1) == 0 ? 1 : -1;
+            }
+            return base == 0 ? Integer.MAX_VALUE : 0;
+        }
+        int resultado = 1;
+        while (exponente != 0) {
+            if ((exponente & 1) != 0) {
+                resultado *= base;
+            }
+            base *= base;
+            exponente >>>= 1;
+        }
+        return resultado;
+    }
+
+    private static void comprobar(Calculadora calculadora, int[] a, int[] b, int[] resultado) {
+        Objects.requireNonNull(calculadora, "calculadora");
+        if (a.length != b.length || a.length != resultado.length) {
+            throw new IllegalArgumentException("Los arrays deben tener la misma longitud: "
+                + a.length + ", " + b.length + ", " + resultado.length);
+        }
+    }
+
+    static void aplicar(Calculadora calculadora, int[] a, int[] b, int[] resultado, int desde, int hasta) {
+        if (calculadora instanceof Basica) {
+            ((Basica) calculadora).aplicar(a, b, resultado, desde, hasta);
+            return;
+        }
+        for (int i = desde; i < hasta; i++) {
+            resultado[i] = calculadora.calcular(a[i], b[i]);
+        }
+    }
+
+    // Operaciones básicas con su bucle especializado
+    private enum Basica implements Calculadora {
+        SUMA {
+            @Override
+            public int calcular(int a, int b) {
+                return a + b;
+            }
+
+            @Override
+            void aplicar(int[] a, int[] b, int[] resultado, int desde, int hasta) {
+                for (int i = desde; i < hasta; i++) {
+                    resultado[i] = a[i] + b[i];
+                }
+            }
+        },
+        MULTIPLICACION {
+            @Override
+            public int calcular(int a, int b) {
+                return a * b;
+            }
+
+            @Override
+            void aplicar(int[] a, int[] b, int[] resultado, int desde, int hasta) {
+                for (int i = desde; i < hasta; i++) {
+                    resultado[i] = a[i] * b[i];
+                }
+            }
+        },
+        POTENCIA {
+            @Override
+            public int calcular(int a, int b) {
+                return potencia(a, b);
+            }
+
+            @Override
+            void aplicar(int[] a, int[] b, int[] resultado, int desde, int hasta) {
+                for (int i = desde; i < hasta; i++) {
+                    resultado[i] = potencia(a[i], b[i]);
+                }
+            }
+        };
+
+        abstract void aplicar(int[] a, int[] b, int[] resultado, int desde, int hasta);
+    }
+
+    // Divide [desde, hasta) por la mitad hasta llegar al umbral
+    private static final class Tramo extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Calculadora calculadora;
+        private final int[] a;
+        private final int[] b;
+        private final int[] resultado;
+        private final int desde;
+        private final int hasta;
+        private final int umbral;
+
+        Tramo(Calculadora calculadora, int[] a, int[] b, int[] resultado, int desde, int hasta, int umbral) {
+            this.calculadora = calculadora;
+            this.a = a;
+            this.b = b;
+            this.resultado = resultado;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.umbral = umbral;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= umbral) {
+                aplicar(calculadora, a, b, resultado, desde, hasta);
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(
+                new Tramo(calculadora, a, b, resultado, desde, medio, umbral),
+                new Tramo(calculadora, a, b, resultado, medio, hasta, umbral));
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.jogli.bootcamp.java8.lambdas;
 import java.util.*;
 import java.util.function.*;
 
+import static com.jogli.bootcamp.java8.salida.Salidas.salida;
+
 /**
  * Ejemplos de Lambdas en Java 8
  * 
@@ -24,33 +26,33 @@ public class LambdaExamples {
      * Demuestra la sintaxis básica de las lambdas
      */
     public static void ejemplo1_LambdasBasicas() {
-        System.out.println("1. LAMBDAS BÁSICAS");
-        System.out.println("-------------------");
+        salida().println("1. LAMBDAS BÁSICAS");
+        salida().println("-------------------");
         
         // Lambda sin parámetros
-        Runnable runnable = () -> System.out.println("Hola desde lambda!");
+        Runnable runnable = () -> salida().println("Hola desde lambda!");
         runnable.run();
         
         // Lambda con un parámetro
-        Consumer<String> consumer = (String mensaje) -> System.out.println("Mensaje: " + mensaje);
+        Consumer<String> consumer = (String mensaje) -> salida().println("Mensaje: " + mensaje);
         consumer.accept("¡Hola mundo!");
         
         // Lambda con inferencia de tipos
-        Consumer<String> consumer2 = mensaje -> System.out.println("Mensaje inferido: " + mensaje);
+        Consumer<String> consumer2 = mensaje -> salida().println("Mensaje inferido: " + mensaje);
         consumer2.accept("¡Tipos inferidos!");
         
         // Lambda con múltiples parámetros
         BiFunction<Integer, Integer, Integer> suma = (a, b) -> a + b;
-        System.out.println("Suma: " + suma.apply(5, 3));
+        salida().println("Suma: " + suma.apply(5, 3));
         
         // Lambda con bloque de código
         BiFunction<Integer, Integer, Integer> multiplicacion = (a, b) -> {
             int resultado = a * b;
-            System.out.println("Multiplicando " + a + " * " + b + " = " + resultado);
+            salida().println("Multiplicando " + a + " * " + b + " = " + resultado);
             return resultado;
         };
         multiplicacion.apply(4, 6);
-        System.out.println();
+        salida().println();
     }
     
     /**
@@ -58,8 +60,8 @@ public class LambdaExamples {
      * Demuestra diferentes formas de usar parámetros en lambdas
      */
     public static void ejemplo2_LambdasConParametros() {
-        System.out.println("2. LAMBDAS CON PARÁMETROS");
-        System.out.println("-------------------------");
+        salida().println("2. LAMBDAS CON PARÁMETROS");
+        salida().println("-------------------------");
         
         // Predicate: evalúa una condición
         Predicate<String> esVacio = str -> str.isEmpty();
@@ -67,9 +69,9 @@ public class LambdaExamples {
         
         List<String> palabras = Arrays.asList("", "hola", "programación", "java", "lambda");
         
-        System.out.println("Palabras originales: " + palabras);
-        System.out.println("¿Está vacía 'hola'? " + esVacio.test("hola"));
-        System.out.println("¿Es largo 'programación'? " + esLargo.test("programación"));
+        salida().println("Palabras originales: " + palabras);
+        salida().println("¿Está vacía 'hola'? " + esVacio.test("hola"));
+        salida().println("¿Es largo 'programación'? " + esLargo.test("programación"));
         
         // Combinar predicates
         Predicate<String> noVacioYLargo = esVacio.negate().and(esLargo);
@@ -79,17 +81,34 @@ public class LambdaExamples {
                 filtradas.add(palabra);
             }
         }
-        System.out.println("Palabras no vacías y largas: " + filtradas);
+        salida().println("Palabras no vacías y largas: " + filtradas);
+        
+        // Conjunción adaptativa: mismo resultado, reordena según coste y selectividad
+        PredicadoAdaptativo<String> adaptativo = PredicadoAdaptativo.todos(esVacio.negate(), esLargo);
+        List<String> filtradasAdaptativo = new ArrayList<>();
+        for (String palabra : palabras) {
+            if (adaptativo.test(palabra)) {
+                filtradasAdaptativo.add(palabra);
+            }
+        }
+        salida().println("Palabras no vacías y largas (adaptativo): " + filtradasAdaptativo);
+        
+        // Con una guarda: su tramo se evalúa siempre antes que los términos que protege
+        Predicate<String> noNulo = Objects::nonNull;
+        PredicadoAdaptativo<String> conGuarda = PredicadoAdaptativo.todosPorTramos(Arrays.asList(
+            Collections.singletonList(noNulo),
+            Arrays.asList(esVacio.negate(), esLargo)));
+        salida().println("Con guarda de null: " + conGuarda.test(null) + ", " + conGuarda.test("programacion"));
         
         // Function: transforma un valor
         Function<String, Integer> longitud = String::length;
         Function<String, String> mayusculas = String::toUpperCase;
         
         String texto = "hola mundo";
-        System.out.println("Texto original: " + texto);
-        System.out.println("Longitud: " + longitud.apply(texto));
-        System.out.println("En mayúsculas: " + mayusculas.apply(texto));
-        System.out.println();
+        salida().println("Texto original: " + texto);
+        salida().println("Longitud: " + longitud.apply(texto));
+        salida().println("En mayúsculas: " + mayusculas.apply(texto));
+        salida().println();
     }
     
     /**
@@ -97,24 +116,24 @@ public class LambdaExamples {
      * Demuestra el uso de lambdas con listas y mapas
      */
     public static void ejemplo3_LambdasEnColecciones() {
-        System.out.println("3. LAMBDAS EN COLECCIONES");
-        System.out.println("-------------------------");
+        salida().println("3. LAMBDAS EN COLECCIONES");
+        salida().println("-------------------------");
         
         List<String> nombres = Arrays.asList("Ana", "Carlos", "Beatriz", "David");
         
         // forEach con lambda
-        System.out.println("Nombres originales:");
-        nombres.forEach(nombre -> System.out.println("  - " + nombre));
+        salida().println("Nombres originales:");
+        nombres.forEach(nombre -> salida().println("  - " + nombre));
         
         // removeIf con lambda
         List<String> nombresCopia = new ArrayList<>(nombres);
         nombresCopia.removeIf(nombre -> nombre.startsWith("A"));
-        System.out.println("Nombres sin 'A': " + nombresCopia);
+        salida().println("Nombres sin 'A': " + nombresCopia);
         
         // replaceAll con lambda
         List<String> nombresModificados = new ArrayList<>(nombres);
         nombresModificados.replaceAll(String::toLowerCase);
-        System.out.println("Nombres en minúsculas: " + nombresModificados);
+        salida().println("Nombres en minúsculas: " + nombresModificados);
         
         // Map con lambdas
         Map<String, Integer> edades = new HashMap<>();
@@ -123,14 +142,14 @@ public class LambdaExamples {
         edades.put("Beatriz", 22);
         
         // forEach en map
-        System.out.println("Edades:");
+        salida().println("Edades:");
         edades.forEach((nombre, edad) -> 
-            System.out.println("  " + nombre + " tiene " + edad + " años"));
+            salida().println("  " + nombre + " tiene " + edad + " años"));
         
         // computeIfAbsent
         edades.computeIfAbsent("David", nombre -> 28);
-        System.out.println("Edades después de agregar David: " + edades);
-        System.out.println();
+        salida().println("Edades después de agregar David: " + edades);
+        salida().println();
     }
     
     /**
@@ -138,37 +157,37 @@ public class LambdaExamples {
      * Demuestra las referencias a métodos como forma concisa de lambdas
      */
     public static void ejemplo4_MethodReferences() {
-        System.out.println("4. METHOD REFERENCES");
-        System.out.println("--------------------");
+        salida().println("4. METHOD REFERENCES");
+        salida().println("--------------------");
         
         List<String> palabras = Arrays.asList("casa", "coche", "árbol", "libro");
         
         // Referencia a método estático
-        palabras.forEach(System.out::println);
+        palabras.forEach(salida()::println);
         
         // Referencia a método de instancia
         List<String> mayusculas = new ArrayList<>();
         palabras.forEach(mayusculas::add);
-        System.out.println("Lista en mayúsculas: " + mayusculas);
+        salida().println("Lista en mayúsculas: " + mayusculas);
         
         // Referencia a constructor
         List<String> palabrasList = palabras.stream()
             .map(String::new)
             .collect(java.util.stream.Collectors.toList());
-        System.out.println("Nuevas instancias: " + palabrasList);
+        salida().println("Nuevas instancias: " + palabrasList);
         
         // Referencia a método de instancia de clase arbitraria
         List<Integer> longitudes = palabras.stream()
             .map(String::length)
             .collect(java.util.stream.Collectors.toList());
-        System.out.println("Longitudes: " + longitudes);
+        salida().println("Longitudes: " + longitudes);
         
         // Referencia a método estático personalizado
         List<String> palabrasFormateadas = palabras.stream()
             .map(LambdaExamples::formatearPalabra)
             .collect(java.util.stream.Collectors.toList());
-        System.out.println("Palabras formateadas: " + palabrasFormateadas);
-        System.out.println();
+        salida().println("Palabras formateadas: " + palabrasFormateadas);
+        salida().println();
     }
     
     /**
@@ -176,28 +195,45 @@ public class LambdaExamples {
      * Demuestra cómo crear y usar interfaces funcionales propias
      */
     public static void ejemplo5_InterfacesFuncionales() {
-        System.out.println("5. INTERFACES FUNCIONALES PERSONALIZADAS");
-        System.out.println("----------------------------------------");
+        salida().println("5. INTERFACES FUNCIONALES PERSONALIZADAS");
+        salida().println("----------------------------------------");
         
         // Interfaz funcional personalizada
         Calculadora suma = (a, b) -> a + b;
         Calculadora multiplicacion = (a, b) -> a * b;
-        Calculadora potencia = (a, b) -> (int) Math.pow(a, b);
+        Calculadora potencia = CalculosEnLote::potencia;
         
-        System.out.println("5 + 3 = " + suma.calcular(5, 3));
-        System.out.println("4 * 6 = " + multiplicacion.calcular(4, 6));
-        System.out.println("2 ^ 8 = " + potencia.calcular(2, 8));
+        salida().println("5 + 3 = " + suma.calcular(5, 3));
+        salida().println("4 * 6 = " + multiplicacion.calcular(4, 6));
+        salida().println("2 ^ 8 = " + potencia.calcular(2, 8));
+        
+        // Evaluación por lotes: un bucle por array en lugar de una llamada por par
+        int[] bases = {1, 2, 3, 4, 5};
+        int[] exponentes = {5, 4, 3, 2, 1};
+        int[] resultados = new int[bases.length];
+        CalculosEnLote.POTENCIA.calcularLote(bases, exponentes, resultados);
+        salida().println("Potencias por lotes: " + Arrays.toString(resultados));
+        suma.calcularLoteEnParalelo(bases, exponentes, resultados);
+        salida().println("Sumas por lotes (paralelo): " + Arrays.toString(resultados));
         
         // Interfaz funcional con método por defecto
         Validador<String> validadorLargo = str -> str.length() > 5;
         Validador<String> validadorVocal = str -> str.matches(".*[aeiou].*");
         
         String texto = "programación";
-        System.out.println("Texto: " + texto);
-        System.out.println("¿Es largo? " + validadorLargo.validar(texto));
-        System.out.println("¿Tiene vocales? " + validadorVocal.validar(texto));
-        System.out.println("¿Es válido? " + validadorLargo.and(validadorVocal).validar(texto));
-        System.out.println();
+        salida().println("Texto: " + texto);
+        salida().println("¿Es largo? " + validadorLargo.validar(texto));
+        salida().println("¿Tiene vocales? " + validadorVocal.validar(texto));
+        salida().println("¿Es válido? " + validadorLargo.and(validadorVocal).validar(texto));
+        
+        // Motor de validación: patrón compilado una vez y reglas aplanadas
+        Validador<String> vocalPrecompilada = MotorValidacion.regex(".*[aeiou].*");
+        Validador<String> soloLetras = MotorValidacion.todosEn("abcdefghijklmnñopqrstuvwxyzáéíóú");
+        Validador<String> reglas = MotorValidacion.compilar(
+            validadorLargo.and(vocalPrecompilada).and(soloLetras.negate().negate()));
+        salida().println("¿Tiene vocales (precompilado)? " + vocalPrecompilada.validar(texto));
+        salida().println("¿Es válido (compilado)? " + reglas.validar(texto));
+        salida().println();
     }
     
     // Método auxiliar para method references
@@ -206,18 +242,36 @@ public class LambdaExamples {
     }
     
     // Interfaz funcional personalizada
+    // Las versiones por lotes evitan una llamada de interfaz por par (ver CalculosEnLote)
     @FunctionalInterface
-    interface Calculadora {
+    public interface Calculadora {
         int calcular(int a, int b);
+        
+        default void calcularLote(int[] a, int[] b, int[] resultado) {
+            CalculosEnLote.calcular(this, a, b, resultado);
+        }
+        
+        default void calcularLoteEnParalelo(int[] a, int[] b, int[] resultado) {
+            CalculosEnLote.calcularEnParalelo(this, a, b, resultado);
+        }
     }
     
-    // Interfaz funcional con método por defecto
+    // Interfaz funcional con métodos por defecto
+    // Las composiciones son inspeccionables para que MotorValidacion.compilar las aplane
     @FunctionalInterface
-    interface Validador<T> {
+    public interface Validador<T> {
         boolean validar(T t);
         
         default Validador<T> and(Validador<T> otro) {
-            return t -> this.validar(t) && otro.validar(t);
+            return MotorValidacion.y(this, otro);
+        }
+        
+        default Validador<T> or(Validador<T> otro) {
+            return MotorValidacion.o(this, otro);
+        }
+        
+        default Validador<T> negate() {
+            return MotorValidacion.no(this);
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,375 @@
+package com.jogli.bootcamp.java8.lambdas;
+
+import com.jogli.bootcamp.java8.lambdas.LambdaExamples.Validador;
+import com.jogli.bootcamp.java8.optionals.CacheAcotada;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.regex.*;
+
+/**
+ * Motor de validación sobre la interfaz {@link Validador}
+ *
+ * - regex(...) compila cada expresión una sola vez (guarda las
+ *   {@value #EXPRESIONES_MAXIMAS} usadas más recientemente) y reutiliza un
+ *   Matcher por hilo; las expresiones de la forma ".*[clase].*" se convierten en un
+ *   escáner de caracteres que no usa regex.
+ * - contieneAlguno / todosEn: escáneres de clases de caracteres sin regex.
+ * - y / o / no construyen reglas compuestas inspeccionables, y compilar(...)
+ *   aplana cualquier combinación de ellas en un único evaluador basado en
+ *   arrays, con las negaciones empujadas hasta las hojas (De Morgan).
+ *
+ * Ninguno de los validadores asigna memoria por llamada.
+ */
+public final class MotorValidacion {
+
+    // ".*[clase].*" sin rangos ni escapes: equivale a "contiene alguno de"
+    private static final Pattern CLASE_SIMPLE = Pattern.compile("\\.\\*\\[([^\\]\\\\^\\-\\[&]+)\\]\\.\\*");
+
+    private static final int EXPRESIONES_MAXIMAS = 256;
+
+    // LRU acotada: expresiones construidas a partir de datos no la hacen crecer sin límite
+    private static final CacheAcotada<String, Validador<String>> EXPRESIONES = new CacheAcotada<>(
+        expresion -> Optional.of(compilarExpresion(expresion)),
+        EXPRESIONES_MAXIMAS, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+    private MotorValidacion() {
+    }
+
+    /**
+     * Validador equivalente a str.matches(expresion), compilado una sola vez
+     *
+     * Para expresiones que se usan en bucle conviene guardar el validador
+     * devuelto: la caché solo retiene las más recientes.
+     */
+    public static Validador<String> regex(String expresion) {
+        return EXPRESIONES.obtener(expresion).get();
+    }
+
+    private static Validador<String> compilarExpresion(String expresion) {
+        Matcher simple = CLASE_SIMPLE.matcher(expresion);
+        if (simple.matches()) {
+            // "." no acepta terminadores de línea, así que el escáner tampoco
+            return new EscanerCaracteres(simple.group(1), EscanerCaracteres.Modo.CONTIENE_SIN_SALTOS);
+        }
+        return new PatronCompilado(Pattern.compile(expresion));
+    }
+
+    /**
+     * ¿Contiene el texto alguno de los caracteres indicados?
+     */
+    public static Validador<String> contieneAlguno(String caracteres) {
+        return new EscanerCaracteres(caracteres, EscanerCaracteres.Modo.CONTIENE);
+    }
+
+    /**
+     * ¿Están todos los caracteres del texto entre los indicados?
+     */
+    public static Validador<String> todosEn(String caracteres) {
+        return new EscanerCaracteres(caracteres, EscanerCaracteres.Modo.TODOS);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs") // de() solo lee el array
+    public static <T> Validador<T> y(Validador<T>... reglas) {
+        return Compuesta.de(Compuesta.Y, reglas);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("varargs") // de() solo lee el array
+    public static <T> Validador<T> o(Validador<T>... reglas) {
+        return Compuesta.de(Compuesta.O, reglas);
+    }
+
+    public static <T> Validador<T> no(Validador<T> regla) {
+        if (regla instanceof Negacion) {
+            return ((Negacion<T>) regla).regla;
+        }
+        return new Negacion<>(Objects.requireNonNull(regla, "regla"));
+    }
+
+    /**
+     * Aplana una regla compuesta en un único evaluador basado en arrays
+     */
+    public static <T> Validador<T> compilar(Validador<T> regla) {
+        if (regla instanceof Programa) {
+            return regla;
+        }
+        Programa.Constructor<T> constructor = new Programa.Constructor<>();
+        constructor.emitir(regla, false);
+        return constructor.construir();
+    }
+
+    // Escáner de clase de caracteres: bits para ASCII, búsqueda binaria para el resto
+    static final class EscanerCaracteres implements Validador<String> {
+        enum Modo { CONTIENE, CONTIENE_SIN_SALTOS, TODOS }
+
+        private final long bajos;
+        private final long altos;
+        private final char[] otros;
+        private final Modo modo;
+
+        EscanerCaracteres(String caracteres, Modo modo) {
+            long b = 0;
+            long a = 0;
+            StringBuilder resto = new StringBuilder();
+            for (int i = 0; i < caracteres.length(); i++) {
+                char c = caracteres.charAt(i);
+                if (c < 64) {
+                    b |= 1L << c;
+                } else if (c < 128) {
+                    a |= 1L << (c - 64);
+                } else {
+                    resto.append(c);
+                }
+            }
+            char[] o = resto.toString().toCharArray();
+            Arrays.sort(o);
+            this.bajos = b;
+            this.altos = a;
+            this.otros = o;
+            this.modo = modo;
+        }
+
+        boolean pertenece(char c) {
+            if (c < 64) {
+                return (bajos & (1L << c)) != 0;
+            }
+            if (c < 128) {
+                return (altos & (1L << (c - 64))) != 0;
+            }
+            return otros.length > 0 && Arrays.binarySearch(otros, c) >= 0;
+        }
+
+        @Override
+        public boolean validar(String texto) {
+            int n = texto.length();
+            switch (modo) {
+                case TODOS:
+                    for (int i = 0; i < n; i++) {
+                        if (!pertenece(texto.charAt(i))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                case CONTIENE:
+                    for (int i = 0; i < n; i++) {
+                        if (pertenece(texto.charAt(i))) {
+                            return true;
+                        }
+                    }
+                    return false;
+                default:
+                    boolean encontrado = false;
+                    for (int i = 0; i < n; i++) {
+                        char c = texto.charAt(i);
+                        if (esTerminadorDeLinea(c)) {
+                            return false;
+                        }
+                        encontrado |= pertenece(c);
+                    }
+                    return encontrado;
+            }
+        }
+
+        private static boolean esTerminadorDeLinea(char c) {
+            return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
+    }
+
+    // Expresión regular general: un Matcher reutilizable por hilo
+    static final class PatronCompilado implements Validador<String> {
+        private final ThreadLocal<Matcher> matcher;
+
+        PatronCompilado(Pattern patron) {
+            this.matcher = ThreadLocal.withInitial(() -> patron.matcher(""));
+        }
+
+        @Override
+        public boolean validar(String texto) {
+            return matcher.get().reset(texto).matches();
+        }
+    }
+
+    static final class Negacion<T> implements Validador<T> {
+        final Validador<T> regla;
+
+        Negacion(Validador<T> regla) {
+            this.regla = regla;
+        }
+
+        @Override
+        public boolean validar(T t) {
+            return !regla.validar(t);
+        }
+    }
+
+    // Conjunción o disyunción n-aria; las del mismo tipo se fusionan al construirse
+    static final class Compuesta<T> implements Validador<T> {
+        static final int Y = 0;
+        static final int O = 1;
+
+        final int operador;
+        final Validador<T>[] reglas;
+
+        private Compuesta(int operador, Validador<T>[] reglas) {
+            this.operador = operador;
+            this.reglas = reglas;
+        }
+
+        @SafeVarargs
+        static <T> Compuesta<T> de(int operador, Validador<T>... reglas) {
+            List<Validador<T>> planas = new ArrayList<>();
+            for (Validador<T> regla : reglas) {
+                Objects.requireNonNull(regla, "regla");
+                if (regla instanceof Compuesta && ((Compuesta<T>) regla).operador == operador) {
+                    planas.addAll(Arrays.asList(((Compuesta<T>) regla).reglas));
+                } else {
+                    planas.add(regla);
+                }
+            }
+            @SuppressWarnings("unchecked")
+            Validador<T>[] array = planas.toArray((Validador<T>[]) new Validador<?>[planas.size()]);
+            return new Compuesta<>(operador, array);
+        }
+
+        @Override
+        public boolean validar(T t) {
+            boolean cortocircuito = operador == O;
+            for (Validador<T> regla : reglas) {
+                if (regla.validar(t) == cortocircuito) {
+                    return cortocircuito;
+                }
+            }
+            return !cortocircuito;
+        }
+    }
+
+    /**
+     * Árbol Y/O aplanado en arrays en preorden
+     *
+     * Cada nodo i tiene un tipo, el número de hijos y el índice donde termina
+     * su subárbol (para saltarlo). Las hojas guardan el validador y si van
+     * negadas. No hay nodos de negación: se eliminan al compilar.
+     */
+    static final class Programa<T> implements Validador<T> {
+        private static final byte HOJA = 0;
+        private static final byte Y = 1;
+        private static final byte O = 2;
+
+        private final byte[] tipos;
+        private final boolean[] negadas;
+        private final int[] hijos;
+        private final int[] finSubarbol;
+        private final Validador<T>[] hojas;
+
+        private Programa(byte[] tipos, boolean[] negadas, int[] hijos, int[] finSubarbol, Validador<T>[] hojas) {
+            this.tipos = tipos;
+            this.negadas = negadas;
+            this.hijos = hijos;
+            this.finSubarbol = finSubarbol;
+            this.hojas = hojas;
+        }
+
+        @Override
+        public boolean validar(T t) {
+            return evaluar(0, t);
+        }
+
+        private boolean evaluar(int nodo, T t) {
+            byte tipo = tipos[nodo];
+            if (tipo == HOJA) {
+                return hojas[nodo].validar(t) != negadas[nodo];
+            }
+            boolean cortocircuito = tipo == O;
+            int hijo = nodo + 1;
+            for (int i = hijos[nodo]; i > 0; i--) {
+                if (evaluar(hijo, t) == cortocircuito) {
+                    return cortocircuito;
+                }
+                hijo = finSubarbol[hijo];
+            }
+            return !cortocircuito;
+        }
+
+        int tamanio() {
+            return tipos.length;
+        }
+
+        static final class Constructor<T> {
+            private final List<Byte> tipos = new ArrayList<>();
+            private final List<Boolean> negadas = new ArrayList<>();
+            private final List<Integer> hijos = new ArrayList<>();
+            private final List<Integer> fines = new ArrayList<>();
+            private final List<Validador<T>> hojas = new ArrayList<>();
+
+            void emitir(Validador<T> regla, boolean negada) {
+                if (regla instanceof Negacion) {
+                    emitir(((Negacion<T>) regla).regla, !negada);
+                    return;
+                }
+                if (!(regla instanceof Compuesta)) {
+                    int nodo = nuevoNodo(HOJA, negada, regla);
+                    fines.set(nodo, tipos.size());
+                    return;
+                }
+                Compuesta<T> compuesta = (Compuesta<T>) regla;
+                // De Morgan: no(a y b) = no a o no b
+                byte tipo = (compuesta.operador == Compuesta.Y) != negada ? Y : O;
+                int nodo = nuevoNodo(tipo, false, null);
+                int numeroHijos = emitirHijos(compuesta, negada, tipo);
+                hijos.set(nodo, numeroHijos);
+                fines.set(nodo, tipos.size());
+            }
+
+            // Emite los hijos fusionando los que, tras la negación, tienen el mismo operador
+            private int emitirHijos(Compuesta<T> compuesta, boolean negada, byte tipoPadre) {
+                int emitidos = 0;
+                for (Validador<T> hijo : compuesta.reglas) {
+                    boolean negadaHijo = negada;
+                    while (hijo instanceof Negacion) {
+                        hijo = ((Negacion<T>) hijo).regla;
+                        negadaHijo = !negadaHijo;
+                    }
+                    if (hijo instanceof Compuesta) {
+                        Compuesta<T> sub = (Compuesta<T>) hijo;
+                        byte tipoHijo = (sub.operador == Compuesta.Y) != negadaHijo ? Y : O;
+                        if (tipoHijo == tipoPadre) {
+                            emitidos += emitirHijos(sub, negadaHijo, tipoPadre);
+                            continue;
+                        }
+                    }
+                    emitir(hijo, negadaHijo);
+                    emitidos++;
+                }
+                return emitidos;
+            }
+
+            private int nuevoNodo(byte tipo, boolean negada, Validador<T> hoja) {
+                tipos.add(tipo);
+                negadas.add(negada);
+                hijos.add(0);
+                fines.add(0);
+                hojas.add(hoja);
+                return tipos.size() - 1;
+            }
+
+            Programa<T> construir() {
+                int n = tipos.size();
+                byte[] t = new byte[n];
+                boolean[] neg = new boolean[n];
+                int[] h = new int[n];
+                int[] f = new int[n];
+                for (int i = 0; i < n; i++) {
+                    t[i] = tipos.get(i);
+                    neg[i] = negadas.get(i);
+                    h[i] = hijos.get(i);
+                    f[i] = fines.get(i);
+                }
+                @SuppressWarnings("unchecked")
+                Validador<T>[] v = hojas.toArray((Validador<T>[]) new Validador<?>[hojas.size()]);
+                return new Programa<>(t, neg, h, f, v);
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.jogli.bootcamp.java8.lambdas;
+
+import com.jogli.bootcamp.java8.lambdas.LambdaExamples.Validador;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Conjunción o disyunción de predicados que reordena sus términos en ejecución
+ *
+ * Predicate.and evalúa siempre en el orden escrito, así que un predicado caro
+ * que casi nunca falla puede ejecutarse antes que uno barato que falla a
+ * menudo. Este predicado mide, en una de cada {@code periodoMuestreo}
+ * llamadas, el coste y la selectividad de cada término, y cada
+ * {@code muestrasPorReorden} muestras reordena la evaluación para minimizar
+ * el coste esperado:
+ * - todos (Y): orden ascendente de coste / P(falso)
+ * - alguno (O): orden ascendente de coste / P(verdadero)
+ *
+ * Las muestras también cortan en el primer término que decide, así que
+ * solo se evalúa lo que evaluaría el orden escrito. Para que el resultado
+ * sea siempre el mismo, los términos que se reordenan deben ser totales
+ * (no lanzan para ninguna entrada), independientes entre sí y sin efectos
+ * secundarios. Un término que protege a otros (s -> s != null antes de
+ * s -> s.length() > 3) va en un tramo anterior: con todosPorTramos y
+ * algunoPorTramos cada tramo se evalúa entero antes que el siguiente y
+ * solo se reordena por dentro. El orden vigente se publica como un array
+ * inmutable en un campo volatile, así que se puede usar desde varios
+ * hilos a la vez.
+ */
+public final class PredicadoAdaptativo<T> implements Predicate<T> {
+
+    private static final int PERIODO_MUESTREO = 64;
+    private static final int MUESTRAS_POR_REORDEN = 256;
+
+    private final Predicate<? super T>[] terminos;
+    // finTramos[k]: índice (excluido) donde acaba el tramo k; solo se reordena dentro de cada tramo
+    private final int[] finTramos;
+    private final boolean conjuncion;
+    private final int periodoMuestreo;
+    private final int muestrasPorReorden;
+
+    private final LongAdder[] nanos;
+    private final LongAdder[] evaluaciones;
+    private final LongAdder[] cortes;
+    private final LongAdder muestras = new LongAdder();
+    private final AtomicBoolean reordenando = new AtomicBoolean();
+    private final AtomicLong reordenaciones = new AtomicLong();
+    private volatile int[] orden;
+
+    private PredicadoAdaptativo(boolean conjuncion, int periodoMuestreo, int muestrasPorReorden,
+                                List<? extends List<? extends Predicate<? super T>>> tramos) {
+        if (periodoMuestreo <= 0 || muestrasPorReorden <= 0) {
+            throw new IllegalArgumentException("El periodo y las muestras deben ser positivos");
+        }
+        List<Predicate<? super T>> todosLosTerminos = new ArrayList<>();
+        int[] fines = new int[tramos.size()];
+        for (int k = 0; k < fines.length; k++) {
+            List<? extends Predicate<? super T>> tramo = tramos.get(k);
+            if (tramo.isEmpty()) {
+                throw new IllegalArgumentException("Tramo vacío: " + k);
+            }
+            for (Predicate<? super T> termino : tramo) {
+                todosLosTerminos.add(Objects.requireNonNull(termino, "predicado"));
+            }
+            fines[k] = todosLosTerminos.size();
+        }
+        if (todosLosTerminos.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos un predicado");
+        }
+        int total = todosLosTerminos.size();
+        @SuppressWarnings("unchecked")
+        Predicate<? super T>[] array = (Predicate<? super T>[]) new Predicate<?>[total];
+        this.terminos = todosLosTerminos.toArray(array);
+        this.finTramos = fines;
+        this.conjuncion = conjuncion;
+        this.periodoMuestreo = periodoMuestreo;
+        this.muestrasPorReorden = muestrasPorReorden;
+        this.nanos = new LongAdder[total];
+        this.evaluaciones = new LongAdder[total];
+        this.cortes = new LongAdder[total];
+        int[] inicial = new int[total];
+        for (int i = 0; i < total; i++) {
+            nanos[i] = new LongAdder();
+            evaluaciones[i] = new LongAdder();
+            cortes[i] = new LongAdder();
+            inicial[i] = i;
+        }
+        this.orden = inicial;
+    }
+
+    /**
+     * Conjunción adaptativa: equivale a p1.and(p2).and(...) con términos totales e independientes
+     */
+    @SafeVarargs
+    public static <T> PredicadoAdaptativo<T> todos(Predicate<? super T>... predicados) {
+        // Se copian a una lista para no dejar escapar el array genérico
+        List<Predicate<? super T>> lista = new ArrayList<>(predicados.length);
+        for (Predicate<? super T> predicado : predicados) {
+            lista.add(predicado);
+        }
+        return todos(PERIODO_MUESTREO, MUESTRAS_POR_REORDEN, lista);
+    }
+
+    /**
+     * Disyunción adaptativa: equivale a p1.or(p2).or(...) con términos totales e independientes
+     */
+    @SafeVarargs
+    public static <T> PredicadoAdaptativo<T> alguno(Predicate<? super T>... predicados) {
+        List<Predicate<? super T>> lista = new ArrayList<>(predicados.length);
+        for (Predicate<? super T> predicado : predicados) {
+            lista.add(predicado);
+        }
+        return alguno(PERIODO_MUESTREO, MUESTRAS_POR_REORDEN, lista);
+    }
+
+    /**
+     * Conjunción con frecuencia de muestreo y de reordenación configurables
+     */
+    public static <T> PredicadoAdaptativo<T> todos(int periodoMuestreo, int muestrasPorReorden,
+                                                   List<? extends Predicate<? super T>> predicados) {
+        return new PredicadoAdaptativo<T>(true, periodoMuestreo, muestrasPorReorden,
+            Collections.singletonList(predicados));
+    }
+
+    /**
+     * Disyunción con frecuencia de muestreo y de reordenación configurables
+     */
+    public static <T> PredicadoAdaptativo<T> alguno(int periodoMuestreo, int muestrasPorReorden,
+                                                    List<? extends Predicate<? super T>> predicados) {
+        return new PredicadoAdaptativo<T>(false, periodoMuestreo, muestrasPorReorden,
+            Collections.singletonList(predicados));
+    }
+
+    /**
+     * Conjunción por tramos: cada tramo se evalúa entero, y en su orden, antes que el siguiente
+     *
+     * Las guardas van en un tramo propio por delante, p. ej.
+     * todosPorTramos(asList(asList(noNulo), asList(largo, caro))).
+     */
+    public static <T> PredicadoAdaptativo<T> todosPorTramos(
+            List<? extends List<? extends Predicate<? super T>>> tramos) {
+        return new PredicadoAdaptativo<T>(true, PERIODO_MUESTREO, MUESTRAS_POR_REORDEN, tramos);
+    }
+
+    /**
+     * Disyunción por tramos: cada tramo se evalúa entero, y en su orden, antes que el siguiente
+     */
+    public static <T> PredicadoAdaptativo<T> algunoPorTramos(
+            List<? extends List<? extends Predicate<? super T>>> tramos) {
+        return new PredicadoAdaptativo<T>(false, PERIODO_MUESTREO, MUESTRAS_POR_REORDEN, tramos);
+    }
+
+    @Override
+    public boolean test(T t) {
+        if (ThreadLocalRandom.current().nextInt(periodoMuestreo) == 0) {
+            return muestrear(t);
+        }
+        // Y: el primer falso decide; O: el primer verdadero decide
+        for (int i : orden) {
+            if (terminos[i].test(t) != conjuncion) {
+                return !conjuncion;
+            }
+        }
+        return conjuncion;
+    }
+
+    /**
+     * Vista como Validador para componer con MotorValidacion
+     */
+    public Validador<T> comoValidador() {
+        return this::test;
+    }
+
+    /**
+     * Índices de los predicados en el orden de evaluación actual
+     */
+    public int[] getOrden() {
+        return orden.clone();
+    }
+
+    public long getReordenaciones() {
+        return reordenaciones.get();
+    }
+
+    // Evalúa en el orden vigente, cortando igual que test, y mide coste y cortes de lo evaluado
+    private boolean muestrear(T t) {
+        boolean resultado = conjuncion;
+        for (int i : orden) {
+            long inicio = System.nanoTime();
+            boolean valor = terminos[i].test(t);
+            nanos[i].add(System.nanoTime() - inicio);
+            evaluaciones[i].increment();
+            if (valor != conjuncion) {
+                cortes[i].increment();
+                resultado = !conjuncion;
+                break;
+            }
+        }
+        muestras.increment();
+        if (muestras.sum() >= muestrasPorReorden && reordenando.compareAndSet(false, true)) {
+            try {
+                reordenar();
+            } finally {
+                reordenando.set(false);
+            }
+        }
+        return resultado;
+    }
+
+    private void reordenar() {
+        muestras.reset();
+        int total = terminos.length;
+        double[] rango = new double[total];
+        for (int i = 0; i < total; i++) {
+            long n = evaluaciones[i].sumThenReset();
+            long nanosTermino = nanos[i].sumThenReset();
+            long cortesTermino = cortes[i].sumThenReset();
+            if (n == 0) {
+                // Nunca llegó a evaluarse: los anteriores ya deciden, se queda detrás
+                rango[i] = Double.POSITIVE_INFINITY;
+                continue;
+            }
+            // Suavizado para no dividir por cero con términos que nunca cortan
+            double probabilidadCorte = (cortesTermino + 1.0) / (n + 2.0);
+            rango[i] = ((double) nanosTermino / n) / probabilidadCorte;
+        }
+        int[] actual = orden;
+        Integer[] indices = new Integer[total];
+        for (int i = 0; i < total; i++) {
+            indices[i] = actual[i];
+        }
+        // Ordenación estable dentro de cada tramo: los tramos no se mezclan
+        int inicio = 0;
+        for (int fin : finTramos) {
+            Arrays.sort(indices, inicio, fin, Comparator.comparingDouble(i -> rango[i]));
+            inicio = fin;
+        }
+        int[] nuevo = new int[total];
+        for (int i = 0; i < total; i++) {
+            nuevo[i] = indices[i];
+        }
+        if (!Arrays.equals(nuevo, actual)) {
+            orden = nuevo;
+            reordenaciones.incrementAndGet();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return (conjuncion ? "todos" : "alguno") + Arrays.toString(orden);
+    }
+}
@@ -0,0 +1,285 @@
+package com.jogli.bootcamp.java8.optionals;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Caché en memoria acotada para búsquedas que devuelven Optional
+ *
+ * - Desalojo LRU por tamaño, repartido en segmentos con su propio bloqueo
+ *   para que lecturas de claves distintas no compitan entre sí.
+ * - Caducidad (TTL) desde el momento de la carga.
+ * - Cachea también los resultados negativos (Optional.empty()).
+ * - Une las cargas concurrentes de la misma clave: solo un hilo llama al
+ *   cargador y el resto espera su resultado.
+ * - Contadores de aciertos, fallos, desalojos y tiempo de carga.
+ */
+public class CacheAcotada<K, V> {
+
+    private static final int SEGMENTOS = 16;
+
+    private final Function<? super K, Optional<V>> cargador;
+    private final long ttlNanos;
+    private final Segmento<K, V>[] segmentos;
+    private final ConcurrentHashMap<K, CompletableFuture<Optional<V>>> enVuelo = new ConcurrentHashMap<>();
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder desalojos = new LongAdder();
+    private final LongAdder cargas = new LongAdder();
+    private final LongAdder cargasUnidas = new LongAdder();
+    private final LongAdder erroresDeCarga = new LongAdder();
+    private final LongAdder nanosDeCarga = new LongAdder();
+
+    public CacheAcotada(Function<? super K, Optional<V>> cargador, int capacidad, long ttl, TimeUnit unidad) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacidad);
+        }
+        this.cargador = Objects.requireNonNull(cargador, "cargador");
+        this.ttlNanos = unidad.toNanos(ttl);
+        int numeroSegmentos = Math.min(SEGMENTOS, capacidad);
+        @SuppressWarnings("unchecked")
+        Segmento<K, V>[] array = (Segmento<K, V>[]) new Segmento<?, ?>[numeroSegmentos];
+        this.segmentos = array;
+        for (int i = 0; i < numeroSegmentos; i++) {
+            // Reparte el resto para que la suma de capacidades sea exactamente la pedida
+            int capacidadSegmento = capacidad / numeroSegmentos + (i < capacidad % numeroSegmentos ? 1 : 0);
+            segmentos[i] = new Segmento<>(capacidadSegmento, desalojos);
+        }
+    }
+
+    /**
+     * Devuelve el valor cacheado o lo carga en el hilo actual
+     */
+    public Optional<V> obtener(K clave) {
+        Optional<V> cacheado = leer(clave);
+        if (cacheado != null) {
+            return cacheado;
+        }
+        try {
+            return cargaCompartida(clave, null).join();
+        } catch (CompletionException e) {
+            // Propaga la excepción original del cargador, como si se hubiera llamado directamente
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Devuelve el valor cacheado o lo carga de forma asíncrona en el executor
+     */
+    public CompletableFuture<Optional<V>> obtenerAsync(K clave, Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        Optional<V> cacheado = leer(clave);
+        if (cacheado != null) {
+            return CompletableFuture.completedFuture(cacheado);
+        }
+        return cargaCompartida(clave, executor);
+    }
+
+    /**
+     * Elimina una clave de la caché (por ejemplo, tras modificar el dato)
+     *
+     * Una carga de la clave que esté en curso ya no guardará su valor; quien
+     * la estaba esperando lo recibe igualmente y la siguiente lectura carga
+     * de nuevo.
+     */
+    public void invalidar(K clave) {
+        Segmento<K, V> segmento = segmento(clave);
+        synchronized (segmento) {
+            segmento.remove(clave);
+            // Bajo el mismo bloqueo con el que cargar() comprueba que sigue registrada
+            enVuelo.remove(clave);
+        }
+    }
+
+    public int tamanio() {
+        int total = 0;
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                total += segmento.size();
+            }
+        }
+        return total;
+    }
+
+    public Estadisticas estadisticas() {
+        return new Estadisticas(aciertos.sum(), fallos.sum(), desalojos.sum(),
+            cargas.sum(), cargasUnidas.sum(), erroresDeCarga.sum(), nanosDeCarga.sum());
+    }
+
+    // Devuelve null si no hay entrada vigente (fallo)
+    private Optional<V> leer(K clave) {
+        Optional<V> valor = vigente(clave);
+        if (valor == null) {
+            fallos.increment();
+        } else {
+            aciertos.increment();
+        }
+        return valor;
+    }
+
+    private Optional<V> vigente(K clave) {
+        Segmento<K, V> segmento = segmento(clave);
+        synchronized (segmento) {
+            Entrada<V> entrada = segmento.get(clave);
+            if (entrada == null) {
+                return null;
+            }
+            if (System.nanoTime() - entrada.cargadaEn >= ttlNanos) {
+                segmento.remove(clave);
+                return null;
+            }
+            return entrada.valor;
+        }
+    }
+
+    // Une las cargas concurrentes de una clave; executor null = cargar en el hilo actual
+    private CompletableFuture<Optional<V>> cargaCompartida(K clave, Executor executor) {
+        CompletableFuture<Optional<V>> nueva = new CompletableFuture<>();
+        CompletableFuture<Optional<V>> existente = enVuelo.putIfAbsent(clave, nueva);
+        if (existente != null) {
+            cargasUnidas.increment();
+            return existente;
+        }
+        // Otra carga pudo terminar entre la lectura fallida y el registro
+        Optional<V> recienCargado = vigente(clave);
+        if (recienCargado != null) {
+            enVuelo.remove(clave, nueva);
+            nueva.complete(recienCargado);
+            return nueva;
+        }
+        if (executor == null) {
+            cargar(clave, nueva);
+        } else {
+            try {
+                executor.execute(() -> cargar(clave, nueva));
+            } catch (RuntimeException e) {
+                // Si el executor rechaza la tarea nadie completaría el futuro y las esperas serían eternas
+                enVuelo.remove(clave, nueva);
+                nueva.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return nueva;
+    }
+
+    private void cargar(K clave, CompletableFuture<Optional<V>> futuro) {
+        long inicio = System.nanoTime();
+        try {
+            Optional<V> valor = Objects.requireNonNull(cargador.apply(clave), "el cargador devolvió null");
+            long fin = System.nanoTime();
+            nanosDeCarga.add(fin - inicio);
+            cargas.increment();
+            Segmento<K, V> segmento = segmento(clave);
+            synchronized (segmento) {
+                // Si se invalidó mientras cargaba, el valor puede estar ya obsoleto
+                if (enVuelo.get(clave) == futuro) {
+                    segmento.put(clave, new Entrada<>(valor, fin));
+                }
+            }
+            futuro.complete(valor);
+        } catch (Throwable e) {
+            // También excepciones comprobadas lanzadas a escondidas: el futuro debe completarse siempre
+            erroresDeCarga.increment();
+            futuro.completeExceptionally(e);
+        } finally {
+            enVuelo.remove(clave, futuro);
+        }
+    }
+
+    private Segmento<K, V> segmento(K clave) {
+        int h = clave.hashCode();
+        h ^= (h >>> 16);
+        return segmentos[(h & 0x7fffffff) % segmentos.length];
+    }
+
+    private static final class Entrada<V> {
+        final Optional<V> valor;
+        final long cargadaEn;
+
+        Entrada(Optional<V> valor, long cargadaEn) {
+            this.valor = valor;
+            this.cargadaEn = cargadaEn;
+        }
+    }
+
+    // LinkedHashMap en orden de acceso: el primero es el menos usado recientemente
+    private static final class Segmento<K, V> extends LinkedHashMap<K, Entrada<V>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacidad;
+        private final LongAdder desalojos;
+
+        Segmento(int capacidad, LongAdder desalojos) {
+            super(16, 0.75f, true);
+            this.capacidad = capacidad;
+            this.desalojos = desalojos;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> mayor) {
+            if (size() > capacidad) {
+                desalojos.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Instantánea de los contadores de la caché
+     */
+    public static final class Estadisticas {
+        private final long aciertos;
+        private final long fallos;
+        private final long desalojos;
+        private final long cargas;
+        private final long cargasUnidas;
+        private final long erroresDeCarga;
+        private final long nanosDeCarga;
+
+        Estadisticas(long aciertos, long fallos, long desalojos, long cargas,
+                     long cargasUnidas, long erroresDeCarga, long nanosDeCarga) {
+            this.aciertos = aciertos;
+            this.fallos = fallos;
+            this.desalojos = desalojos;
+            this.cargas = cargas;
+            this.cargasUnidas = cargasUnidas;
+            this.erroresDeCarga = erroresDeCarga;
+            this.nanosDeCarga = nanosDeCarga;
+        }
+
+        public long getAciertos() { return aciertos; }
+        public long getFallos() { return fallos; }
+        public long getDesalojos() { return desalojos; }
+        public long getCargas() { return cargas; }
+        public long getCargasUnidas() { return cargasUnidas; }
+        public long getErroresDeCarga() { return erroresDeCarga; }
+        public long getNanosDeCarga() { return nanosDeCarga; }
+
+        public double getTasaDeAciertos() {
+            long total = aciertos + fallos;
+            return total > 0 ? (double) aciertos / total : 0.0;
+        }
+
+        public double getTiempoMedioDeCargaMs() {
+            return cargas > 0 ? nanosDeCarga / 1_000_000.0 / cargas : 0.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("aciertos=%d, fallos=%d (%.1f%% aciertos), desalojos=%d, cargas=%d, "
+                    + "cargas unidas=%d, errores=%d, carga media=%.3f ms",
+                aciertos, fallos, getTasaDeAciertos() * 100, desalojos, cargas,
+                cargasUnidas, erroresDeCarga, getTiempoMedioDeCargaMs());
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.jogli.bootcamp.java8.optionals;
+
+import com.jogli.bootcamp.java8.optionals.OptionalExamples.Configuracion;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+import static com.jogli.bootcamp.java8.salida.Salidas.salida;
+
+/**
+ * Configuración leída de un archivo de propiedades
+ *
+ * Al construir cada instantánea el archivo se lee de una vez con
+ * Files.readAllBytes y se decodifican todas sus claves y valores. Así una
+ * instantánea es de verdad inmutable aunque el archivo se edite en el
+ * sitio o se trunque después, y solo ocupa lo que tiene el archivo. Las lecturas no bloquean ni asignan memoria: una
+ * lectura volatile de la instantánea actual y un get de un HashMap que ya
+ * no cambia.
+ *
+ * Al recargar (a mano o vigilando el archivo) se construye una instantánea
+ * nueva y se publica con una única escritura volatile; si la lectura
+ * falla, sigue la instantánea anterior.
+ *
+ * Formato: líneas "clave=valor" o "clave: valor" en UTF-8; las líneas que
+ * empiezan por # o ! son comentarios. No se admiten escapes ni líneas
+ * continuadas. Si una clave se repite, gana la última.
+ */
+public class FuenteConfiguracion implements Closeable {
+
+    private final Path archivo;
+    private volatile Instantanea actual;
+    private volatile long recargas;
+    private volatile long ultimaRecargaNanos;
+    private WatchService vigilante;
+
+    public FuenteConfiguracion(Path archivo) throws IOException {
+        this.archivo = archivo.toAbsolutePath();
+        recargar();
+    }
+
+    /**
+     * Instantánea vigente; nunca cambia una vez obtenida
+     */
+    public Instantanea actual() {
+        return actual;
+    }
+
+    /**
+     * Configuración tipada de la instantánea vigente
+     */
+    public Configuracion configuracion() {
+        return actual.getConfiguracion();
+    }
+
+    public Optional<String> get(String clave) {
+        return actual.get(clave);
+    }
+
+    /**
+     * Vuelve a leer el archivo y publica una instantánea nueva
+     */
+    public synchronized void recargar() throws IOException {
+        long inicio = System.nanoTime();
+        Instantanea nueva = new Instantanea(Instantanea.decodificar(Files.readAllBytes(archivo)));
+        actual = nueva;
+        ultimaRecargaNanos = System.nanoTime() - inicio;
+        recargas++;
+    }
+
+    /**
+     * Empieza a vigilar el archivo y recarga cada vez que se modifica
+     */
+    public synchronized void vigilar() throws IOException {
+        if (vigilante != null) {
+            return;
+        }
+        Path directorio = archivo.getParent();
+        vigilante = directorio.getFileSystem().newWatchService();
+        directorio.register(vigilante,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+        WatchService servicio = vigilante;
+        Thread hilo = new Thread(() -> vigilarCambios(servicio), "vigilante-configuracion");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    private void vigilarCambios(WatchService servicio) {
+        Path nombre = archivo.getFileName();
+        try {
+            while (true) {
+                WatchKey clave = servicio.take();
+                boolean cambiado = false;
+                for (WatchEvent<?> evento : clave.pollEvents()) {
+                    if (nombre.equals(evento.context())) {
+                        cambiado = true;
+                    }
+                }
+                if (cambiado) {
+                    try {
+                        recargar();
+                    } catch (IOException e) {
+                        // Se mantiene la instantánea anterior hasta el siguiente cambio
+                        salida().println("No se pudo recargar " + archivo + ": " + e.getMessage());
+                    }
+                }
+                if (!clave.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // close() detiene la vigilancia
+        }
+    }
+
+    public long getRecargas() {
+        return recargas;
+    }
+
+    public long getUltimaRecargaNanos() {
+        return ultimaRecargaNanos;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (vigilante != null) {
+            vigilante.close();
+            vigilante = null;
+        }
+    }
+
+    /**
+     * Vista inmutable de una versión del archivo
+     */
+    public static final class Instantanea {
+        private final Map<String, Optional<String>> valores;
+        private volatile Configuracion configuracion;
+
+        Instantanea(Map<String, Optional<String>> valores) {
+            this.valores = valores;
+        }
+
+        /**
+         * Valor de una clave, ya decodificado al construir la instantánea
+         */
+        public Optional<String> get(String clave) {
+            return valores.getOrDefault(clave, Optional.empty());
+        }
+
+        /**
+         * Configuración tipada (host y puerto), construida en el primer acceso
+         */
+        public Configuracion getConfiguracion() {
+            Configuracion c = configuracion;
+            if (c == null) {
+                // Si dos hilos llegan a la vez ambos construyen el mismo valor
+                c = new Configuracion(
+                    get("host"),
+                    get("puerto").flatMap(Instantanea::entero));
+                configuracion = c;
+            }
+            return c;
+        }
+
+        private static Optional<Integer> entero(String texto) {
+            try {
+                return Optional.of(Integer.valueOf(texto));
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+
+        // Decodifica todas las líneas clave=valor; los valores van ya envueltos para no crear Optional al leer
+        static Map<String, Optional<String>> decodificar(byte[] b) {
+            Map<String, Optional<String>> valores = new HashMap<>();
+            int inicioLinea = 0;
+            while (inicioLinea < b.length) {
+                int finLinea = inicioLinea;
+                while (finLinea < b.length && b[finLinea] != '\n') {
+                    finLinea++;
+                }
+                decodificarLinea(b, inicioLinea, finLinea, valores);
+                inicioLinea = finLinea + 1;
+            }
+            return Collections.unmodifiableMap(valores);
+        }
+
+        // Añade la pareja de la línea [inicio, fin) si la hay; si la clave se repite gana la última
+        private static void decodificarLinea(byte[] b, int inicio, int fin, Map<String, Optional<String>> valores) {
+            int i = saltarEspacios(b, inicio, fin);
+            if (i == fin || b[i] == '#' || b[i] == '!') {
+                return;
+            }
+            int separador = i;
+            while (separador < fin && b[separador] != '=' && b[separador] != ':') {
+                separador++;
+            }
+            if (separador == fin) {
+                return;
+            }
+            String clave = new String(b, i, recortar(b, i, separador) - i, StandardCharsets.UTF_8);
+            int desde = saltarEspacios(b, separador + 1, fin);
+            String valor = new String(b, desde, recortar(b, desde, fin) - desde, StandardCharsets.UTF_8);
+            valores.put(clave, Optional.of(valor));
+        }
+
+        // Fin de [desde, hasta) sin los espacios finales
+        private static int recortar(byte[] b, int desde, int hasta) {
+            while (hasta > desde && esEspacio(b[hasta - 1])) {
+                hasta--;
+            }
+            return hasta;
+        }
+
+        private static int saltarEspacios(byte[] b, int i, int fin) {
+            while (i < fin && esEspacio(b[i])) {
+                i++;
+            }
+            return i;
+        }
+
+        private static boolean esEspacio(byte c) {
+            return c == ' ' || c == '\t' || c == '\r' || c == '\f';
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.jogli.bootcamp.java8.optionals;
 
+import java.io.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.function.*;
 
+import static com.jogli.bootcamp.java8.salida.Salidas.salida;
+
 /**
  * Ejemplos de Optional en Java 8
  * 
@@ -24,34 +29,34 @@ public class OptionalExamples {
      * Demuestra cómo crear y usar Optional
      */
     public static void ejemplo1_CreacionYBasicos() {
-        System.out.println("1. CREACIÓN Y MÉTODOS BÁSICOS");
-        System.out.println("-----------------------------");
+        salida().println("1. CREACIÓN Y MÉTODOS BÁSICOS");
+        salida().println("-----------------------------");
         
         // Crear Optional con valor
         Optional<String> optionalConValor = Optional.of("Hola mundo");
-        System.out.println("Optional con valor: " + optionalConValor);
+        salida().println("Optional con valor: " + optionalConValor);
         
         // Crear Optional vacío
         Optional<String> optionalVacio = Optional.empty();
-        System.out.println("Optional vacío: " + optionalVacio);
+        salida().println("Optional vacío: " + optionalVacio);
         
         // Crear Optional que puede ser null
         String valorPosiblementeNull = null;
         Optional<String> optionalDeNull = Optional.ofNullable(valorPosiblementeNull);
-        System.out.println("Optional de null: " + optionalDeNull);
+        salida().println("Optional de null: " + optionalDeNull);
         
         // Verificar si tiene valor
-        System.out.println("¿Tiene valor 'Hola mundo'? " + optionalConValor.isPresent());
-        System.out.println("¿Está vacío? " + optionalVacio.isEmpty());
+        salida().println("¿Tiene valor 'Hola mundo'? " + optionalConValor.isPresent());
+        salida().println("¿Está vacío? " + optionalVacio.isEmpty());
         
         // Obtener valor (puede lanzar NoSuchElementException)
         try {
             String valor = optionalConValor.get();
-            System.out.println("Valor obtenido: " + valor);
+            salida().println("Valor obtenido: " + valor);
         } catch (Exception e) {
-            System.out.println("Error al obtener valor: " + e.getMessage());
+            salida().println("Error al obtener valor: " + e.getMessage());
         }
-        System.out.println();
+        salida().println();
     }
     
     /**
@@ -59,8 +64,8 @@ public class OptionalExamples {
      * Demuestra métodos que evitan excepciones
      */
     public static void ejemplo2_MetodosDeAcceso() {
-        System.out.println("2. MÉTODOS DE ACCESO SEGUROS");
-        System.out.println("---------------------------");
+        salida().println("2. MÉTODOS DE ACCESO SEGUROS");
+        salida().println("---------------------------");
         
         Optional<String> optionalConValor = Optional.of("Texto de ejemplo");
         Optional<String> optionalVacio = Optional.empty();
@@ -68,42 +73,42 @@ public class OptionalExamples {
         // orElse - valor por defecto si está vacío
         String resultado1 = optionalConValor.orElse("Valor por defecto");
         String resultado2 = optionalVacio.orElse("Valor por defecto");
-        System.out.println("Con valor: " + resultado1);
-        System.out.println("Sin valor: " + resultado2);
+        salida().println("Con valor: " + resultado1);
+        salida().println("Sin valor: " + resultado2);
         
         // orElseGet - valor por defecto calculado (lazy)
         String resultado3 = optionalVacio.orElseGet(() -> {
-            System.out.println("Calculando valor por defecto...");
+            salida().println("Calculando valor por defecto...");
             return "Valor calculado";
         });
-        System.out.println("Valor calculado: " + resultado3);
+        salida().println("Valor calculado: " + resultado3);
         
         // orElseThrow - lanzar excepción si está vacío
         try {
             String valor = optionalVacio.orElseThrow(() -> 
                 new RuntimeException("No hay valor disponible"));
         } catch (RuntimeException e) {
-            System.out.println("Excepción capturada: " + e.getMessage());
+            salida().println("Excepción capturada: " + e.getMessage());
         }
         
         // ifPresent - ejecutar acción si tiene valor
         optionalConValor.ifPresent(valor -> 
-            System.out.println("Procesando valor: " + valor.toUpperCase()));
+            salida().println("Procesando valor: " + valor.toUpperCase()));
         
         optionalVacio.ifPresent(valor -> 
-            System.out.println("Esto no se ejecuta"));
+            salida().println("Esto no se ejecuta"));
         
         // ifPresentOrElse - ejecutar acción diferente si está vacío
         optionalConValor.ifPresentOrElse(
-            valor -> System.out.println("Valor encontrado: " + valor),
-            () -> System.out.println("No hay valor")
+            valor -> salida().println("Valor encontrado: " + valor),
+            () -> salida().println("No hay valor")
         );
         
         optionalVacio.ifPresentOrElse(
-            valor -> System.out.println("Valor encontrado: " + valor),
-            () -> System.out.println("No hay valor")
+            valor -> salida().println("Valor encontrado: " + valor),
+            () -> salida().println("No hay valor")
         );
-        System.out.println();
+        salida().println();
     }
     
     /**
@@ -111,8 +116,8 @@ public class OptionalExamples {
      * Demuestra map(), flatMap(), filter()
      */
     public static void ejemplo3_TransformacionYFiltrado() {
-        System.out.println("3. TRANSFORMACIÓN Y FILTRADO");
-        System.out.println("---------------------------");
+        salida().println("3. TRANSFORMACIÓN Y FILTRADO");
+        salida().println("---------------------------");
         
         Optional<String> optionalTexto = Optional.of("  hola mundo  ");
         Optional<String> optionalVacio = Optional.empty();
@@ -121,25 +126,25 @@ public class OptionalExamples {
         Optional<String> mayusculas = optionalTexto.map(String::toUpperCase);
         Optional<String> mayusculasVacio = optionalVacio.map(String::toUpperCase);
         
-        System.out.println("Texto original: " + optionalTexto.get());
-        System.out.println("En mayúsculas: " + mayusculas.get());
-        System.out.println("Vacio transformado: " + mayusculasVacio);
+        salida().println("Texto original: " + optionalTexto.get());
+        salida().println("En mayúsculas: " + mayusculas.get());
+        salida().println("Vacio transformado: " + mayusculasVacio);
         
         // map con transformación compleja
         Optional<Integer> longitud = optionalTexto.map(String::length);
-        System.out.println("Longitud: " + longitud.get());
+        salida().println("Longitud: " + longitud.get());
         
         // flatMap - transformar a otro Optional
         Optional<String> sinEspacios = optionalTexto.flatMap(texto -> 
             Optional.of(texto.trim()));
-        System.out.println("Sin espacios: " + sinEspacios.get());
+        salida().println("Sin espacios: " + sinEspacios.get());
         
         // filter - filtrar por condición
         Optional<String> textoLargo = optionalTexto.filter(texto -> texto.length() > 10);
         Optional<String> textoCorto = optionalTexto.filter(texto -> texto.length() < 20);
         
-        System.out.println("¿Es largo? " + textoLargo.isPresent());
-        System.out.println("¿Es corto? " + textoCorto.isPresent());
+        salida().println("¿Es largo? " + textoLargo.isPresent());
+        salida().println("¿Es corto? " + textoCorto.isPresent());
         
         // Cadena de operaciones
         Optional<String> resultado = optionalTexto
@@ -147,7 +152,7 @@ public class OptionalExamples {
             .filter(texto -> !texto.isEmpty())
             .map(String::toUpperCase);
         
-        System.out.println("Resultado final: " + resultado.get());
+        salida().println("Resultado final: " + resultado.get());
         
         // Con Optional vacío
         Optional<String> resultadoVacio = optionalVacio
@@ -155,8 +160,8 @@ public class OptionalExamples {
             .filter(texto -> !texto.isEmpty())
             .map(String::toUpperCase);
         
-        System.out.println("Resultado con vacío: " + resultadoVacio);
-        System.out.println();
+        salida().println("Resultado con vacío: " + resultadoVacio);
+        salida().println();
     }
     
     /**
@@ -164,8 +169,8 @@ public class OptionalExamples {
      * Demuestra cómo combinar múltiples Optional
      */
     public static void ejemplo4_CombinacionDeOptionals() {
-        System.out.println("4. COMBINACIÓN DE OPTIONALS");
-        System.out.println("--------------------------");
+        salida().println("4. COMBINACIÓN DE OPTIONALS");
+        salida().println("--------------------------");
         
         Optional<String> nombre = Optional.of("Juan");
         Optional<String> apellido = Optional.of("Pérez");
@@ -174,7 +179,7 @@ public class OptionalExamples {
         // Combinar con map
         Optional<String> nombreCompleto = nombre.flatMap(n -> 
             apellido.map(a -> n + " " + a));
-        System.out.println("Nombre completo: " + nombreCompleto.get());
+        salida().println("Nombre completo: " + nombreCompleto.get());
         
         // Combinar múltiples Optional
         Optional<String> informacion = nombre.flatMap(n -> 
@@ -182,18 +187,18 @@ public class OptionalExamples {
                 email.map(e -> n + " " + a + " (" + e + ")")
                     .or(() -> Optional.of(n + " " + a + " (sin email)"))
             ));
-        System.out.println("Información completa: " + informacion.get());
+        salida().println("Información completa: " + informacion.get());
         
         // Usar or() para alternativas
         Optional<String> emailAlternativo = email.or(() -> 
             Optional.of("juan.perez@default.com"));
-        System.out.println("Email (con alternativo): " + emailAlternativo.get());
+        salida().println("Email (con alternativo): " + emailAlternativo.get());
         
         // Combinar con orElse
         String resultado = nombre
             .flatMap(n -> apellido.map(a -> n + " " + a))
             .orElse("Nombre desconocido");
-        System.out.println("Resultado final: " + resultado);
+        salida().println("Resultado final: " + resultado);
         
         // Ejemplo con números
         Optional<Integer> numero1 = Optional.of(10);
@@ -202,12 +207,12 @@ public class OptionalExamples {
         
         Optional<Integer> suma = numero1.flatMap(n1 -> 
             numero2.map(n2 -> n1 + n2));
-        System.out.println("Suma: " + suma.get());
+        salida().println("Suma: " + suma.get());
         
         Optional<Integer> sumaConVacio = numero1.flatMap(n1 -> 
             numero3.map(n3 -> n1 + n3));
-        System.out.println("Suma con vacío: " + sumaConVacio);
-        System.out.println();
+        salida().println("Suma con vacío: " + sumaConVacio);
+        salida().println();
     }
     
     /**
@@ -215,8 +220,8 @@ public class OptionalExamples {
      * Demuestra aplicaciones reales de Optional
      */
     public static void ejemplo5_CasosDeUsoPracticos() {
-        System.out.println("5. CASOS DE USO PRÁCTICOS");
-        System.out.println("------------------------");
+        salida().println("5. CASOS DE USO PRÁCTICOS");
+        salida().println("------------------------");
         
         // Simular búsqueda en base de datos
         Optional<Usuario> usuario = buscarUsuario("juan");
@@ -224,21 +229,21 @@ public class OptionalExamples {
         
         // Procesar usuario encontrado
         usuario.ifPresent(u -> {
-            System.out.println("Usuario encontrado: " + u.getNombre());
-            System.out.println("Email: " + u.getEmail().orElse("Sin email"));
+            salida().println("Usuario encontrado: " + u.getNombre());
+            salida().println("Email: " + u.getEmail().orElse("Sin email"));
         });
         
         // Procesar usuario no encontrado
         usuarioNoEncontrado.ifPresentOrElse(
-            u -> System.out.println("Usuario: " + u.getNombre()),
-            () -> System.out.println("Usuario no encontrado")
+            u -> salida().println("Usuario: " + u.getNombre()),
+            () -> salida().println("Usuario no encontrado")
         );
         
         // Obtener información segura
         String nombreUsuario = usuario
             .map(Usuario::getNombre)
             .orElse("Usuario desconocido");
-        System.out.println("Nombre para mostrar: " + nombreUsuario);
+        salida().println("Nombre para mostrar: " + nombreUsuario);
         
         // Validar y procesar
         Optional<String> emailValido = usuario
@@ -247,7 +252,7 @@ public class OptionalExamples {
             .map(String::toLowerCase);
         
         emailValido.ifPresent(email -> 
-            System.out.println("Email válido: " + email));
+            salida().println("Email válido: " + email));
         
         // Simular configuración
         Optional<Configuracion> config = cargarConfiguracion();
@@ -255,12 +260,12 @@ public class OptionalExamples {
         int puerto = config
             .flatMap(Configuracion::getPuerto)
             .orElse(8080);
-        System.out.println("Puerto del servidor: " + puerto);
+        salida().println("Puerto del servidor: " + puerto);
         
         String host = config
             .flatMap(Configuracion::getHost)
             .orElse("localhost");
-        System.out.println("Host del servidor: " + host);
+        salida().println("Host del servidor: " + host);
         
         // Procesar lista de Optional
         List<Optional<String>> opcionales = Arrays.asList(
@@ -273,19 +278,56 @@ public class OptionalExamples {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .toList();
-        System.out.println("Valores no vacíos: " + valores);
-        System.out.println();
+        salida().println("Valores no vacíos: " + valores);
+        
+        // Las búsquedas repetidas se sirven desde la caché del repositorio
+        buscarUsuario("juan");
+        buscarUsuario("inexistente");
+        salida().println("Caché de usuarios: " + REPOSITORIO.estadisticas());
+        salida().println();
     }
     
     // Métodos auxiliares para simular casos reales
+    private static final UsuarioRepository REPOSITORIO =
+        new UsuarioRepository(OptionalExamples::cargarUsuario, 1_000, 5, TimeUnit.MINUTES);
+    
+    // Fuente de -Dconfiguracion: la JVM la abre y vigila una sola vez, en el primer uso
+    private static final class FuenteCompartida {
+        static final Optional<FuenteConfiguracion> FUENTE = abrir(System.getProperty("configuracion"));
+        
+        // Si no se puede leer se avisa y se usan los valores por defecto
+        private static Optional<FuenteConfiguracion> abrir(String archivo) {
+            if (archivo == null) {
+                return Optional.empty();
+            }
+            try {
+                FuenteConfiguracion fuente = new FuenteConfiguracion(Paths.get(archivo));
+                fuente.vigilar();
+                return Optional.of(fuente);
+            } catch (IOException e) {
+                salida().println("No se pudo leer o vigilar la configuración " + archivo + ": " + e);
+                return Optional.empty();
+            }
+        }
+    }
+    
     private static Optional<Usuario> buscarUsuario(String id) {
+        return REPOSITORIO.buscarUsuario(id);
+    }
+    
+    // Simula la consulta al almacén lento que hay detrás del repositorio
+    private static Optional<Usuario> cargarUsuario(String id) {
         if ("juan".equals(id)) {
             return Optional.of(new Usuario("Juan Pérez", Optional.of("juan@email.com")));
         }
         return Optional.empty();
     }
     
+    // Con -Dconfiguracion=archivo.properties la configuración se lee del archivo
     private static Optional<Configuracion> cargarConfiguracion() {
+        if (FuenteCompartida.FUENTE.isPresent()) {
+            return FuenteCompartida.FUENTE.map(FuenteConfiguracion::configuracion);
+        }
         return Optional.of(new Configuracion(
             Optional.of("servidor.com"),
             Optional.of(9090)
@@ -0,0 +1,44 @@
+package com.jogli.bootcamp.java8.optionals;
+
+import com.jogli.bootcamp.java8.optionals.OptionalExamples.Usuario;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+/**
+ * Repositorio de usuarios con caché delante de un almacén lento
+ *
+ * El cargador es intercambiable (base de datos, servicio remoto, simulación)
+ * y sus resultados, incluidos los "no encontrado", se guardan en una
+ * {@link CacheAcotada} con desalojo LRU y caducidad.
+ */
+public class UsuarioRepository {
+
+    private final CacheAcotada<String, Usuario> cache;
+
+    public UsuarioRepository(Function<String, Optional<Usuario>> cargador,
+                             int capacidad, long ttl, TimeUnit unidad) {
+        this.cache = new CacheAcotada<>(cargador, capacidad, ttl, unidad);
+    }
+
+    public Optional<Usuario> buscarUsuario(String id) {
+        return cache.obtener(id);
+    }
+
+    public CompletableFuture<Optional<Usuario>> buscarUsuarioAsync(String id, Executor executor) {
+        return cache.obtenerAsync(id, executor);
+    }
+
+    public CompletableFuture<Optional<Usuario>> buscarUsuarioAsync(String id) {
+        return cache.obtenerAsync(id, ForkJoinPool.commonPool());
+    }
+
+    public void invalidar(String id) {
+        cache.invalidar(id);
+    }
+
+    public CacheAcotada.Estadisticas estadisticas() {
+        return cache.estadisticas();
+    }
+}
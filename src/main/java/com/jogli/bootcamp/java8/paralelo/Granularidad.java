@@ -0,0 +1,115 @@
+package com.jogli.bootcamp.java8.paralelo;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Limita cuánto se parte un stream paralelo
+ *
+ * El framework de streams sigue partiendo la fuente hasta trozos de
+ * tamaño/(4 * paralelismo); con operaciones baratas por elemento, las
+ * tareas salen tan pequeñas que pesa más crearlas y robarlas que el
+ * trabajo. Estos envoltorios no parten trozos de {@code minimo} elementos
+ * o menos (según estimateSize de la fuente).
+ *
+ * Conviene aplicarlo a la fuente (colección o stream recién creado): sobre
+ * un stream con operaciones intermedias se pierde la fusión del pipeline.
+ */
+public final class Granularidad {
+
+    private Granularidad() {
+    }
+
+    public static <T> Stream<T> limitar(Stream<T> stream, long minimo) {
+        comprobar(minimo);
+        return StreamSupport.stream(new Acotado<>(stream.spliterator(), minimo), true)
+            .onClose(stream::close);
+    }
+
+    public static IntStream limitar(IntStream stream, long minimo) {
+        comprobar(minimo);
+        return StreamSupport.intStream(new AcotadoInt(stream.spliterator(), minimo), true)
+            .onClose(stream::close);
+    }
+
+    private static void comprobar(long minimo) {
+        if (minimo < 1) {
+            throw new IllegalArgumentException("La granularidad debe ser al menos 1: " + minimo);
+        }
+    }
+
+    private static class Acotado<T> implements Spliterator<T> {
+        final Spliterator<T> fuente;
+        final long minimo;
+
+        Acotado(Spliterator<T> fuente, long minimo) {
+            this.fuente = fuente;
+            this.minimo = minimo;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            if (fuente.estimateSize() <= minimo) {
+                return null;
+            }
+            Spliterator<T> parte = fuente.trySplit();
+            return parte == null ? null : new Acotado<>(parte, minimo);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> accion) {
+            return fuente.tryAdvance(accion);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> accion) {
+            fuente.forEachRemaining(accion);
+        }
+
+        @Override
+        public long estimateSize() {
+            return fuente.estimateSize();
+        }
+
+        @Override
+        public long getExactSizeIfKnown() {
+            return fuente.getExactSizeIfKnown();
+        }
+
+        @Override
+        public int characteristics() {
+            return fuente.characteristics();
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return fuente.getComparator();
+        }
+    }
+
+    private static final class AcotadoInt extends Acotado<Integer> implements Spliterator.OfInt {
+        AcotadoInt(Spliterator.OfInt fuente, long minimo) {
+            super(fuente, minimo);
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            if (fuente.estimateSize() <= minimo) {
+                return null;
+            }
+            Spliterator.OfInt parte = ((Spliterator.OfInt) fuente).trySplit();
+            return parte == null ? null : new AcotadoInt(parte, minimo);
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer accion) {
+            return ((Spliterator.OfInt) fuente).tryAdvance(accion);
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer accion) {
+            ((Spliterator.OfInt) fuente).forEachRemaining(accion);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.jogli.bootcamp.java8.paralelo;
+
+/**
+ * Foto de las métricas de un {@link PoolDedicado} en un instante
+ *
+ * Los robos y las tareas son acumulados desde que se creó el pool; las
+ * colas y los hilos, el valor del momento. Las latencias son de las
+ * tareas enviadas con ejecutar (desde que se envían hasta que terminan),
+ * en microsegundos.
+ */
+public final class MetricasPool {
+
+    private final String nombre;
+    private final int paralelismo;
+    private final long robos;
+    private final long tareasEnCola;
+    private final int envioEnCola;
+    private final int hilosActivos;
+    private final int hilosTrabajando;
+    private final long tareasTerminadas;
+    private final int latenciaP50;
+    private final int latenciaP99;
+    private final int latenciaMaxima;
+
+    MetricasPool(String nombre, int paralelismo, long robos, long tareasEnCola, int envioEnCola,
+                 int hilosActivos, int hilosTrabajando, long tareasTerminadas,
+                 int latenciaP50, int latenciaP99, int latenciaMaxima) {
+        this.nombre = nombre;
+        this.paralelismo = paralelismo;
+        this.robos = robos;
+        this.tareasEnCola = tareasEnCola;
+        this.envioEnCola = envioEnCola;
+        this.hilosActivos = hilosActivos;
+        this.hilosTrabajando = hilosTrabajando;
+        this.tareasTerminadas = tareasTerminadas;
+        this.latenciaP50 = latenciaP50;
+        this.latenciaP99 = latenciaP99;
+        this.latenciaMaxima = latenciaMaxima;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    /**
+     * Subtareas robadas de la cola de otro hilo (acumulado)
+     */
+    public long getRobos() {
+        return robos;
+    }
+
+    /**
+     * Subtareas pendientes en las colas de los hilos
+     */
+    public long getTareasEnCola() {
+        return tareasEnCola;
+    }
+
+    /**
+     * Tareas enviadas desde fuera del pool que aún no han empezado
+     */
+    public int getEnviosEnCola() {
+        return envioEnCola;
+    }
+
+    public int getHilosActivos() {
+        return hilosActivos;
+    }
+
+    /**
+     * Hilos que no están bloqueados esperando (un subconjunto de los activos)
+     */
+    public int getHilosTrabajando() {
+        return hilosTrabajando;
+    }
+
+    public long getTareasTerminadas() {
+        return tareasTerminadas;
+    }
+
+    public int getLatenciaP50() {
+        return latenciaP50;
+    }
+
+    public int getLatenciaP99() {
+        return latenciaP99;
+    }
+
+    public int getLatenciaMaxima() {
+        return latenciaMaxima;
+    }
+
+    @Override
+    public String toString() {
+        return nombre + "{paralelismo=" + paralelismo + ", robos=" + robos + ", enCola=" + tareasEnCola
+            + ", enviosEnCola=" + envioEnCola + ", activos=" + hilosActivos
+            + ", trabajando=" + hilosTrabajando + ", terminadas=" + tareasTerminadas
+            + ", latencia p50/p99/max=" + latenciaP50 + "/" + latenciaP99 + "/" + latenciaMaxima + " µs}";
+    }
+}
@@ -0,0 +1,170 @@
+package com.jogli.bootcamp.java8.paralelo;
+
+import com.jogli.bootcamp.java8.collectors.HistogramaCuantiles;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * ForkJoinPool con nombre y tamaño propios para ejecutar streams paralelos
+ *
+ * Un stream paralelo usa el pool del hilo que ejecuta la operación
+ * terminal: si es un trabajador de este pool, todas sus subtareas se
+ * quedan aquí y no compiten con el pool común del resto de la aplicación.
+ * ejecutar() lanza el pipeline dentro del pool y mide cuánto tarda; los
+ * métodos paralelo() aplican además la granularidad mínima configurada.
+ *
+ * Los hilos se llaman "nombre-N" (útil en volcados de hilos) y son
+ * daemon. Al cerrar el pool se espera a que terminen las tareas en curso.
+ */
+public final class PoolDedicado implements AutoCloseable {
+
+    private final String nombre;
+    private final ForkJoinPool pool;
+    private final long granularidad;
+    // Latencias en microsegundos; el acceso se sincroniza sobre el histograma
+    private final HistogramaCuantiles latencias = HistogramaCuantiles.paraError(0.01);
+
+    private PoolDedicado(String nombre, int hilos, long granularidad) {
+        if (hilos < 1) {
+            throw new IllegalArgumentException("El pool necesita al menos un hilo: " + hilos);
+        }
+        if (granularidad < 1) {
+            throw new IllegalArgumentException("La granularidad debe ser al menos 1: " + granularidad);
+        }
+        this.nombre = Objects.requireNonNull(nombre, "nombre");
+        this.granularidad = granularidad;
+        AtomicInteger numero = new AtomicInteger();
+        this.pool = new ForkJoinPool(hilos, p -> {
+            ForkJoinWorkerThread hilo = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            hilo.setName(nombre + "-" + numero.incrementAndGet());
+            return hilo;
+        }, null, false);
+    }
+
+    /**
+     * Pool con la granularidad por defecto de los streams
+     */
+    public static PoolDedicado crear(String nombre, int hilos) {
+        return new PoolDedicado(nombre, hilos, 1);
+    }
+
+    /**
+     * Pool cuyos streams de paralelo() no se parten en trozos de granularidad elementos o menos
+     */
+    public static PoolDedicado crear(String nombre, int hilos, long granularidad) {
+        return new PoolDedicado(nombre, hilos, granularidad);
+    }
+
+    /**
+     * Ejecuta el pipeline en el pool y espera el resultado
+     *
+     * Las excepciones del pipeline se propagan tal cual.
+     */
+    public <T> T ejecutar(Supplier<T> pipeline) {
+        Supplier<T> medido = medir(pipeline);
+        return pool.invoke(ForkJoinTask.adapt(medido::get));
+    }
+
+    public void ejecutar(Runnable pipeline) {
+        ejecutar(() -> {
+            pipeline.run();
+            return null;
+        });
+    }
+
+    /**
+     * Lanza el pipeline en el pool sin esperar
+     */
+    public <T> CompletableFuture<T> ejecutarAsincrono(Supplier<T> pipeline) {
+        return CompletableFuture.supplyAsync(medir(pipeline), pool);
+    }
+
+    private <T> Supplier<T> medir(Supplier<T> pipeline) {
+        Objects.requireNonNull(pipeline, "pipeline");
+        long envio = System.nanoTime();
+        return () -> {
+            try {
+                return pipeline.get();
+            } finally {
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - envio);
+                synchronized (latencias) {
+                    latencias.agregar((int) Math.min(Integer.MAX_VALUE, micros));
+                }
+            }
+        };
+    }
+
+    /**
+     * Stream paralelo de la colección con la granularidad del pool
+     *
+     * La operación terminal debe ejecutarse dentro de ejecutar() para que
+     * use este pool.
+     */
+    public <T> Stream<T> paralelo(Collection<T> coleccion) {
+        return paralelo(coleccion.stream());
+    }
+
+    public <T> Stream<T> paralelo(Stream<T> stream) {
+        return granularidad > 1 ? Granularidad.limitar(stream, granularidad) : stream.parallel();
+    }
+
+    public IntStream paralelo(IntStream stream) {
+        return granularidad > 1 ? Granularidad.limitar(stream, granularidad) : stream.parallel();
+    }
+
+    public MetricasPool metricas() {
+        int p50;
+        int p99;
+        int maxima;
+        long terminadas;
+        synchronized (latencias) {
+            p50 = latencias.cuantil(0.5);
+            p99 = latencias.cuantil(0.99);
+            maxima = latencias.cuantil(1);
+            terminadas = latencias.getCantidad();
+        }
+        return new MetricasPool(nombre, pool.getParallelism(), pool.getStealCount(),
+            pool.getQueuedTaskCount(), pool.getQueuedSubmissionCount(), pool.getActiveThreadCount(),
+            pool.getRunningThreadCount(), terminadas, p50, p99, maxima);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public int getHilos() {
+        return pool.getParallelism();
+    }
+
+    public long getGranularidad() {
+        return granularidad;
+    }
+
+    /**
+     * Deja de aceptar tareas y espera a que terminen las que están en curso
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+        boolean interrumpido = false;
+        while (!pool.isTerminated()) {
+            try {
+                pool.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PoolDedicado{" + nombre + ", hilos=" + getHilos() + ", granularidad=" + granularidad + "}";
+    }
+}
@@ -0,0 +1,45 @@
+package com.jogli.bootcamp.java8.salida;
+
+/**
+ * Destino de lo que imprimen los ejemplos
+ *
+ * Los ejemplos escriben en {@link Salidas#salida()} en lugar de en
+ * System.out, así se puede cambiar el destino sin tocarlos:
+ * - {@link SalidaEstandar}: igual que System.out.println
+ * - {@link SalidaAsincrona}: encola las líneas y otro hilo las escribe
+ *   por lotes en un canal NIO
+ * - {@link SalidaNula}: descarta todo (para medir sin E/S)
+ */
+public interface Salida extends AutoCloseable {
+
+    void print(String texto);
+
+    void println(String linea);
+
+    default void print(Object valor) {
+        print(String.valueOf(valor));
+    }
+
+    default void println(Object valor) {
+        println(String.valueOf(valor));
+    }
+
+    default void println() {
+        println("");
+    }
+
+    default void printf(String formato, Object... argumentos) {
+        print(String.format(formato, argumentos));
+    }
+
+    /**
+     * Espera a que todo lo impreso hasta ahora haya llegado a su destino
+     */
+    void flush();
+
+    /**
+     * Vacía la salida y libera sus recursos
+     */
+    @Override
+    void close();
+}
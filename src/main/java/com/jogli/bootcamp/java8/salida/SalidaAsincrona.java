@@ -0,0 +1,244 @@
+package com.jogli.bootcamp.java8.salida;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
+
+/**
+ * Salida asíncrona: los hilos dejan las líneas en un buffer circular y un
+ * único hilo escritor las codifica y las escribe por lotes en un canal
+ *
+ * Imprimir no hace E/S ni toma bloqueos: reserva una posición con un
+ * getAndIncrement y publica la línea con una escritura volatile. El
+ * escritor junta las líneas en un ByteBuffer directo y hace una escritura
+ * al canal cuando se llena o cuando no quedan líneas pendientes. Si el
+ * buffer circular está lleno, quien imprime espera a que haya hueco (así
+ * la memoria queda acotada).
+ *
+ * Las líneas de un mismo hilo salen en el orden en que se imprimieron.
+ * flush() espera a que todo lo impreso antes se haya escrito en el canal;
+ * close() debe llamarse cuando ya nadie imprime.
+ */
+public final class SalidaAsincrona implements Salida {
+
+    private static final int CAPACIDAD = 1 << 14;
+    private static final int TAMANIO_LOTE = 1 << 16;
+    private static final long ESPERA_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final WritableByteChannel canal;
+    private final boolean cerrarCanal;
+    private final CharsetEncoder codificador;
+    private final ByteBuffer lote;
+    private final CharBuffer salto;
+
+    private final AtomicReferenceArray<String> textos;
+    private final boolean[] conSalto;
+    private final int mascara;
+    private final AtomicLong reservadas = new AtomicLong();
+    private final AtomicLong vaciadoPedido = new AtomicLong();
+    private final AtomicBoolean escritorDormido = new AtomicBoolean();
+    private volatile long consumidas;
+    private volatile long escritas;
+    private volatile boolean cerrada;
+    private volatile IOException error;
+    private final Thread escritor;
+
+    /**
+     * Salida asíncrona sobre la salida estándar del proceso
+     */
+    public static SalidaAsincrona consola() {
+        // Lo que quede en System.out debe salir antes que lo nuevo
+        System.out.flush();
+        FileOutputStream salidaEstandar = new FileOutputStream(FileDescriptor.out);
+        return new SalidaAsincrona(salidaEstandar.getChannel(), false, CAPACIDAD, TAMANIO_LOTE, Charset.defaultCharset());
+    }
+
+    public SalidaAsincrona(WritableByteChannel canal) {
+        this(canal, true, CAPACIDAD, TAMANIO_LOTE, Charset.defaultCharset());
+    }
+
+    /**
+     * @param capacidad número de textos pendientes (se redondea a potencia de 2)
+     * @param tamanioLote bytes por escritura al canal
+     */
+    public SalidaAsincrona(WritableByteChannel canal, boolean cerrarCanal, int capacidad,
+                           int tamanioLote, Charset charset) {
+        if (capacidad <= 0 || tamanioLote <= 0) {
+            throw new IllegalArgumentException("La capacidad y el lote deben ser positivos");
+        }
+        this.canal = canal;
+        this.cerrarCanal = cerrarCanal;
+        this.codificador = charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.lote = ByteBuffer.allocateDirect(Math.max(tamanioLote, 16));
+        this.salto = CharBuffer.wrap(System.lineSeparator());
+        int potencia = Integer.highestOneBit(Math.max(capacidad - 1, 1)) << 1;
+        this.textos = new AtomicReferenceArray<>(potencia);
+        this.conSalto = new boolean[potencia];
+        this.mascara = potencia - 1;
+        this.escritor = new Thread(this::escribir, "salida-asincrona");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    @Override
+    public void print(String texto) {
+        publicar(texto, false);
+    }
+
+    @Override
+    public void println(String linea) {
+        publicar(linea, true);
+    }
+
+    private void publicar(String texto, boolean saltoDeLinea) {
+        if (cerrada) {
+            throw new IllegalStateException("La salida está cerrada");
+        }
+        long posicion = reservadas.getAndIncrement();
+        while (posicion - consumidas >= textos.length()) {
+            // Buffer lleno: se espera al escritor en lugar de crecer sin límite
+            if (!escritor.isAlive()) {
+                // Nadie va a vaciar el buffer (el escritor murió o se cerró la salida)
+                throw new IllegalStateException("El hilo escritor ha terminado; no se puede publicar", error);
+            }
+            despertarEscritor();
+            LockSupport.parkNanos(this, ESPERA_NANOS / 16);
+        }
+        int i = (int) posicion & mascara;
+        conSalto[i] = saltoDeLinea;
+        // La escritura volatile publica también conSalto[i]
+        textos.set(i, texto == null ? "null" : texto);
+        if (escritorDormido.get()) {
+            despertarEscritor();
+        }
+    }
+
+    private void despertarEscritor() {
+        if (escritorDormido.compareAndSet(true, false)) {
+            LockSupport.unpark(escritor);
+        }
+    }
+
+    @Override
+    public void flush() {
+        long objetivo = reservadas.get();
+        vaciadoPedido.accumulateAndGet(objetivo, Math::max);
+        while (escritas < objetivo && escritor.isAlive()) {
+            despertarEscritor();
+            LockSupport.parkNanos(this, ESPERA_NANOS / 16);
+        }
+        IOException e = error;
+        if (e != null) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (cerrada) {
+            return;
+        }
+        cerrada = true;
+        LockSupport.unpark(escritor);
+        boolean interrumpido = false;
+        while (escritor.isAlive()) {
+            try {
+                escritor.join();
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (cerrarCanal) {
+                canal.close();
+            }
+        } catch (IOException e) {
+            if (error == null) {
+                error = e;
+            }
+        }
+        IOException e = error;
+        if (e != null) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Bucle del hilo escritor
+    private void escribir() {
+        long siguiente = 0;
+        while (true) {
+            int i = (int) siguiente & mascara;
+            String texto = textos.get(i);
+            if (texto != null) {
+                boolean saltoDeLinea = conSalto[i];
+                textos.lazySet(i, null);
+                consumidas = ++siguiente;
+                codificar(CharBuffer.wrap(texto));
+                if (saltoDeLinea) {
+                    salto.rewind();
+                    codificar(salto);
+                }
+                long pedido = vaciadoPedido.get();
+                if (pedido > escritas && siguiente >= pedido) {
+                    volcar();
+                    escritas = siguiente;
+                }
+                continue;
+            }
+            // No hay nada pendiente: se escribe lo acumulado y se espera
+            volcar();
+            escritas = siguiente;
+            if (cerrada && siguiente == reservadas.get()) {
+                return;
+            }
+            escritorDormido.set(true);
+            if (textos.get(i) == null && !cerrada) {
+                LockSupport.parkNanos(this, ESPERA_NANOS);
+            }
+            escritorDormido.set(false);
+        }
+    }
+
+    private void codificar(CharBuffer caracteres) {
+        codificador.reset();
+        while (true) {
+            CoderResult resultado = codificador.encode(caracteres, lote, true);
+            if (resultado.isOverflow()) {
+                volcar();
+                continue;
+            }
+            break;
+        }
+        while (codificador.flush(lote).isOverflow()) {
+            volcar();
+        }
+    }
+
+    private void volcar() {
+        if (lote.position() == 0) {
+            return;
+        }
+        lote.flip();
+        try {
+            if (error == null) {
+                while (lote.hasRemaining()) {
+                    canal.write(lote);
+                }
+            }
+        } catch (IOException e) {
+            // Se sigue consumiendo para no bloquear a quien imprime; flush/close lo notifican
+            error = e;
+        } finally {
+            lote.clear();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.jogli.bootcamp.java8.salida;
+
+import java.io.*;
+
+/**
+ * Salida sobre un PrintStream: cada línea se escribe y se vacía al momento
+ *
+ * Sin argumentos escribe en el System.out vigente en cada llamada, que es
+ * el comportamiento original de los ejemplos.
+ */
+public final class SalidaEstandar implements Salida {
+
+    private final PrintStream destino;
+
+    public SalidaEstandar() {
+        this(null);
+    }
+
+    public SalidaEstandar(PrintStream destino) {
+        this.destino = destino;
+    }
+
+    private PrintStream destino() {
+        return destino != null ? destino : System.out;
+    }
+
+    @Override
+    public void print(String texto) {
+        destino().print(texto);
+    }
+
+    @Override
+    public void println(String linea) {
+        destino().println(linea);
+    }
+
+    @Override
+    public void println() {
+        destino().println();
+    }
+
+    @Override
+    public void flush() {
+        destino().flush();
+    }
+
+    @Override
+    public void close() {
+        // No se cierra el PrintStream: no es de esta salida
+        flush();
+    }
+}
@@ -0,0 +1,31 @@
+package com.jogli.bootcamp.java8.salida;
+
+/**
+ * Salida que descarta todo, para medir los ejemplos sin coste de E/S
+ *
+ * Los textos se siguen construyendo en el punto de llamada; solo se
+ * elimina la escritura.
+ */
+public final class SalidaNula implements Salida {
+
+    public static final SalidaNula INSTANCIA = new SalidaNula();
+
+    private SalidaNula() {
+    }
+
+    @Override
+    public void print(String texto) {
+    }
+
+    @Override
+    public void println(String linea) {
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
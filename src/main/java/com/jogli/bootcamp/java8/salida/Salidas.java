@@ -0,0 +1,48 @@
+package com.jogli.bootcamp.java8.salida;
+
+/**
+ * Salida vigente de los ejemplos
+ *
+ * Hay una salida global (por defecto, la estándar) y cada hilo puede
+ * usar la suya propia, por ejemplo para guardar aparte lo que imprime una
+ * suite que se ejecuta a la vez que otras.
+ */
+public final class Salidas {
+
+    private static volatile Salida global = new SalidaEstandar();
+    private static final ThreadLocal<Salida> DEL_HILO = new ThreadLocal<>();
+
+    private Salidas() {
+    }
+
+    /**
+     * Salida del hilo actual, o la global si el hilo no tiene una propia
+     */
+    public static Salida salida() {
+        Salida propia = DEL_HILO.get();
+        return propia != null ? propia : global;
+    }
+
+    /**
+     * Cambia la salida global y devuelve la anterior (sin cerrarla)
+     */
+    public static Salida usar(Salida salida) {
+        if (salida == null) {
+            throw new NullPointerException("salida");
+        }
+        Salida anterior = global;
+        global = salida;
+        return anterior;
+    }
+
+    /**
+     * Usa una salida propia en el hilo actual; null vuelve a la global
+     */
+    public static void usarEnEsteHilo(Salida salida) {
+        if (salida == null) {
+            DEL_HILO.remove();
+        } else {
+            DEL_HILO.set(salida);
+        }
+    }
+}
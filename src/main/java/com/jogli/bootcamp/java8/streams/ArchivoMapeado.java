@@ -0,0 +1,289 @@
+package com.jogli.bootcamp.java8.streams;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Archivo de texto UTF-8 mapeado en memoria, recorrido como stream de
+ * palabras o de líneas
+ *
+ * El archivo se mapea con FileChannel.map en regiones de hasta 1 GB (un
+ * MappedByteBuffer no puede pasar de 2 GB), cada una con un margen que
+ * solapa con la siguiente para que una palabra o línea que empieza en una
+ * región se pueda leer entera desde ella. No se decodifica nada por
+ * adelantado: el Spliterator busca los límites sobre los bytes y solo
+ * convierte a String cada palabra o línea que entrega.
+ *
+ * Al dividirse (stream paralelo) corta siempre justo después de un
+ * separador ASCII, que en UTF-8 nunca forma parte de un carácter de varios
+ * bytes, así que palabras como "árbol" no se parten.
+ *
+ * - Palabras: secuencias de letras y dígitos (Character.isLetterOrDigit,
+ *   más las marcas que combinan con ellos); lo demás separa, también la
+ *   puntuación no ASCII como ¿ ¡ « » — o el espacio duro. Los caracteres
+ *   ASCII se clasifican con una tabla; los demás se decodifican del UTF-8.
+ * - Líneas: separadas por '\n', sin el '\r' final; como Files.lines.
+ *
+ * Una palabra o línea no puede ser más larga que el margen (1 MB).
+ */
+public final class ArchivoMapeado {
+
+    private static final int TAMANIO_REGION = 1 << 30;
+    private static final int MARGEN = 1 << 20;
+    // Por debajo de este tamaño no se divide más
+    private static final int TROZO_MINIMO = 1 << 16;
+
+    private static final boolean[] DE_PALABRA = new boolean[128];
+
+    static {
+        for (int b = 0; b < 128; b++) {
+            DE_PALABRA[b] = (b >= '0' && b <= '9')
+                || (b >= 'a' && b <= 'z')
+                || (b >= 'A' && b <= 'Z');
+        }
+    }
+
+    private final ByteBuffer[] regiones;
+    private final long tamanio;
+    private final int tamanioRegion;
+    private final int margen;
+
+    private ArchivoMapeado(ByteBuffer[] regiones, long tamanio, int tamanioRegion, int margen) {
+        this.regiones = regiones;
+        this.tamanio = tamanio;
+        this.tamanioRegion = tamanioRegion;
+        this.margen = margen;
+    }
+
+    public static ArchivoMapeado abrir(Path archivo) throws IOException {
+        return abrir(archivo, TAMANIO_REGION, MARGEN);
+    }
+
+    static ArchivoMapeado abrir(Path archivo, int tamanioRegion, int margen) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamanio = canal.size();
+            int numero = (int) Math.max(1, (tamanio + tamanioRegion - 1) / tamanioRegion);
+            ByteBuffer[] regiones = new ByteBuffer[numero];
+            for (int i = 0; i < numero; i++) {
+                long inicio = (long) i * tamanioRegion;
+                long longitud = Math.min(tamanio - inicio, (long) tamanioRegion + margen);
+                // El mapeo sigue siendo válido después de cerrar el canal
+                regiones[i] = canal.map(FileChannel.MapMode.READ_ONLY, inicio, Math.max(longitud, 0));
+            }
+            return new ArchivoMapeado(regiones, tamanio, tamanioRegion, margen);
+        }
+    }
+
+    public long getTamanio() {
+        return tamanio;
+    }
+
+    /**
+     * Palabras del archivo en orden; usar .parallel() para procesarlo por trozos
+     */
+    public Stream<String> palabras() {
+        return StreamSupport.stream(new Trozo(0, tamanio, false), false);
+    }
+
+    /**
+     * Líneas del archivo en orden; usar .parallel() para procesarlo por trozos
+     */
+    public Stream<String> lineas() {
+        return StreamSupport.stream(new Trozo(0, tamanio, true), false);
+    }
+
+    private byte get(long posicion) {
+        int region = (int) (posicion / tamanioRegion);
+        return regiones[region].get((int) (posicion - (long) region * tamanioRegion));
+    }
+
+    /**
+     * Bytes del carácter UTF-8 que empieza en i: positivo si es de palabra,
+     * negativo si separa y 0 si está cortado por el límite. Un byte suelto
+     * o mal formado separa.
+     */
+    private static int caracter(ByteBuffer b, int i, int limite) {
+        int c = b.get(i) & 0xff;
+        if (c < 0x80) {
+            return DE_PALABRA[c] ? 1 : -1;
+        }
+        int bytes;
+        int punto;
+        if (c >= 0xF8 || c < 0xC2) {
+            return -1;
+        } else if (c >= 0xF0) {
+            bytes = 4;
+            punto = c & 0x07;
+        } else if (c >= 0xE0) {
+            bytes = 3;
+            punto = c & 0x0F;
+        } else {
+            bytes = 2;
+            punto = c & 0x1F;
+        }
+        if (i + bytes > limite) {
+            return 0;
+        }
+        for (int j = 1; j < bytes; j++) {
+            int continuacion = b.get(i + j) & 0xff;
+            if ((continuacion & 0xC0) != 0x80) {
+                return -1;
+            }
+            punto = (punto << 6) | (continuacion & 0x3F);
+        }
+        return esDePalabra(punto) ? bytes : -bytes;
+    }
+
+    private static boolean esDePalabra(int punto) {
+        if (Character.isLetterOrDigit(punto)) {
+            return true;
+        }
+        // Acentos combinados (a + U+0301) siguen dentro de la palabra
+        int tipo = Character.getType(punto);
+        return tipo == Character.NON_SPACING_MARK || tipo == Character.COMBINING_SPACING_MARK;
+    }
+
+    /**
+     * Elementos que empiezan en [posicion, hasta). Los límites de un trozo
+     * siempre caen justo después de un separador (o en 0 o en el final).
+     */
+    private final class Trozo implements Spliterator<String> {
+        private final boolean lineas;
+        private long posicion;
+        private long hasta;
+        private ByteBuffer[] vistas;
+        private byte[] bytes = new byte[64];
+
+        Trozo(long desde, long hasta, boolean lineas) {
+            this.posicion = desde;
+            this.hasta = hasta;
+            this.lineas = lineas;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> accion) {
+            while (posicion < hasta) {
+                int region = (int) (posicion / tamanioRegion);
+                long base = (long) region * tamanioRegion;
+                ByteBuffer b = regiones[region];
+                int i = (int) (posicion - base);
+                int finRegion = (int) Math.min(hasta - base, tamanioRegion);
+                if (!lineas) {
+                    int limite = b.limit();
+                    while (i < finRegion) {
+                        int n = caracter(b, i, limite);
+                        if (n > 0) {
+                            break;
+                        }
+                        i = n == 0 ? limite : i - n;
+                    }
+                    if (i >= finRegion) {
+                        posicion = base + i;
+                        continue;
+                    }
+                }
+                int inicio = i;
+                int fin = finElemento(b, base, inicio);
+                int longitud = fin - inicio;
+                if (lineas) {
+                    posicion = base + Math.min(fin + 1, b.limit());
+                    if (longitud > 0 && b.get(fin - 1) == '\r') {
+                        longitud--;
+                    }
+                } else {
+                    posicion = base + fin;
+                }
+                accion.accept(decodificar(region, inicio, longitud));
+                return true;
+            }
+            return false;
+        }
+
+        // Fin del elemento que empieza en inicio, leyendo si hace falta en el margen
+        private int finElemento(ByteBuffer b, long base, int inicio) {
+            int limite = b.limit();
+            int i = inicio;
+            if (lineas) {
+                while (i < limite && b.get(i) != '\n') {
+                    i++;
+                }
+            } else {
+                while (i < limite) {
+                    int n = caracter(b, i, limite);
+                    if (n <= 0) {
+                        // Un carácter cortado por el límite cuenta como agotar el margen
+                        i = n == 0 ? limite : i;
+                        break;
+                    }
+                    i += n;
+                }
+            }
+            if (i == limite && base + limite < tamanio) {
+                // Se ha agotado el margen sin llegar al final del elemento
+                throw new IllegalStateException("Elemento de más de " + margen + " bytes en la posición "
+                    + (base + inicio));
+            }
+            return i;
+        }
+
+        private String decodificar(int region, int inicio, int longitud) {
+            if (vistas == null) {
+                vistas = new ByteBuffer[regiones.length];
+            }
+            ByteBuffer vista = vistas[region];
+            if (vista == null) {
+                vista = regiones[region].duplicate();
+                vistas[region] = vista;
+            }
+            if (bytes.length < longitud) {
+                bytes = new byte[Math.max(longitud, bytes.length * 2)];
+            }
+            vista.position(inicio);
+            vista.get(bytes, 0, longitud);
+            return new String(bytes, 0, longitud, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            long restante = hasta - posicion;
+            if (restante < TROZO_MINIMO * 2L) {
+                return null;
+            }
+            // Se corta después del primer separador a partir de la mitad
+            long corte = posicion + restante / 2;
+            long limite = Math.min(hasta, corte + margen);
+            while (corte < limite && !esSeparador(get(corte))) {
+                corte++;
+            }
+            if (corte >= limite || corte + 1 >= hasta) {
+                return null;
+            }
+            corte++;
+            Trozo izquierda = new Trozo(posicion, corte, lineas);
+            posicion = corte;
+            return izquierda;
+        }
+
+        // Solo separadores ASCII: nunca forman parte de un carácter de varios bytes
+        private boolean esSeparador(byte b) {
+            return lineas ? b == '\n' : b >= 0 && !DE_PALABRA[b];
+        }
+
+        @Override
+        public long estimateSize() {
+            // Estimación grosera: unos 8 bytes por palabra, 64 por línea
+            return (hasta - posicion) / (lineas ? 64 : 8);
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.jogli.bootcamp.java8.streams;
+
+import com.jogli.bootcamp.java8.disco.Serializador;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * sorted() para streams que no caben en memoria (ordenación externa)
+ *
+ * 1. Se leen elementos hasta llenar el presupuesto de memoria, se ordenan
+ *    con Arrays.parallelSort y se escriben en un archivo temporal binario
+ *    (una "racha" ordenada) con el {@link Serializador} indicado.
+ * 2. Si hay demasiadas rachas se fusionan por grupos de
+ *    {@value #FUSION_MAXIMA} hasta que quedan pocas.
+ * 3. El stream resultante hace la fusión final de k rachas con una cola
+ *    de prioridad, leyendo cada archivo a medida que se consume.
+ *
+ * Como Arrays.parallelSort es estable y a igualdad se prefiere la racha
+ * anterior, el orden es estable, igual que en sorted(). Si todo cabe en
+ * una racha no se escribe nada en disco. Todo el trabajo se hace al pedir
+ * el primer elemento. Los archivos se borran al agotar el stream o al
+ * cerrarlo; si no se consume entero, conviene usar try-with-resources.
+ */
+public final class OrdenacionExterna {
+
+    private static final int FUSION_MAXIMA = 64;
+    private static final int BUFFER_ARCHIVO = 1 << 16;
+
+    private OrdenacionExterna() {
+    }
+
+    /**
+     * Equivalente a fuente.sorted() con rachas de como mucho memoriaMaxima bytes
+     */
+    public static <T extends Comparable<? super T>> Stream<T> ordenar(
+            Stream<T> fuente, Serializador<T> serializador, long memoriaMaxima) {
+        return ordenar(fuente, Comparator.naturalOrder(), serializador, memoriaMaxima);
+    }
+
+    /**
+     * Equivalente a fuente.sorted(comparador) con rachas de como mucho memoriaMaxima bytes
+     */
+    public static <T> Stream<T> ordenar(Stream<T> fuente, Comparator<? super T> comparador,
+                                        Serializador<T> serializador, long memoriaMaxima) {
+        Objects.requireNonNull(comparador, "comparador");
+        Objects.requireNonNull(serializador, "serializador");
+        if (memoriaMaxima <= 0) {
+            throw new IllegalArgumentException("La memoria máxima debe ser positiva: " + memoriaMaxima);
+        }
+        Ordenacion<T> ordenacion = new Ordenacion<>(fuente, comparador, serializador, memoriaMaxima);
+        return StreamSupport.stream(ordenacion::spliterator, Spliterator.ORDERED | Spliterator.NONNULL, false)
+            .onClose(ordenacion::cerrar);
+    }
+
+    private static final class Ordenacion<T> {
+        private final Stream<T> fuente;
+        private final Comparator<? super T> comparador;
+        private final Serializador<T> serializador;
+        private final long memoriaMaxima;
+
+        private Path directorio;
+        private final List<Racha> rachas = new ArrayList<>();
+        private final List<Lector<T>> abiertos = new ArrayList<>();
+
+        Ordenacion(Stream<T> fuente, Comparator<? super T> comparador, Serializador<T> serializador,
+                   long memoriaMaxima) {
+            this.fuente = fuente;
+            this.comparador = comparador;
+            this.serializador = serializador;
+            this.memoriaMaxima = memoriaMaxima;
+        }
+
+        Spliterator<T> spliterator() {
+            try {
+                T[] ultima = generarRachas();
+                if (rachas.isEmpty()) {
+                    return Spliterators.spliterator(ultima, Spliterator.ORDERED | Spliterator.NONNULL);
+                }
+                while (rachas.size() + 1 > FUSION_MAXIMA) {
+                    reducirRachas();
+                }
+                List<Iterator<T>> fuentes = new ArrayList<>();
+                for (Racha racha : rachas) {
+                    Lector<T> lector = new Lector<>(racha, serializador);
+                    abiertos.add(lector);
+                    fuentes.add(lector);
+                }
+                // La última racha no se ha escrito: se fusiona desde memoria
+                fuentes.add(Arrays.asList(ultima).iterator());
+                Iterator<T> fusion = new Fusion<>(fuentes, comparador, this::cerrar);
+                return Spliterators.spliteratorUnknownSize(fusion, Spliterator.ORDERED | Spliterator.NONNULL);
+            } catch (IOException e) {
+                cerrar();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Lee la fuente en rachas ordenadas; devuelve la última, que se queda en memoria
+        @SuppressWarnings("unchecked")
+        private T[] generarRachas() throws IOException {
+            List<T> buffer = new ArrayList<>();
+            long memoria = 0;
+            Iterator<T> iterador = fuente.iterator();
+            while (iterador.hasNext()) {
+                T elemento = Objects.requireNonNull(iterador.next(), "elemento nulo");
+                buffer.add(elemento);
+                memoria += serializador.memoria(elemento);
+                if (memoria > memoriaMaxima) {
+                    T[] racha = (T[]) buffer.toArray();
+                    // Se libera la lista antes de ordenar para no tener dos copias vivas
+                    buffer = new ArrayList<>();
+                    Arrays.parallelSort(racha, comparador);
+                    escribir(Arrays.asList(racha).iterator(), racha.length);
+                    memoria = 0;
+                }
+            }
+            T[] ultima = (T[]) buffer.toArray();
+            Arrays.parallelSort(ultima, comparador);
+            return ultima;
+        }
+
+        private void escribir(Iterator<T> elementos, long cantidad) throws IOException {
+            if (directorio == null) {
+                directorio = Files.createTempDirectory("ordenacion");
+            }
+            Path archivo = Files.createTempFile(directorio, "racha", ".bin");
+            try (DataOutputStream salida = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(archivo), BUFFER_ARCHIVO))) {
+                while (elementos.hasNext()) {
+                    serializador.escribir(elementos.next(), salida);
+                }
+            }
+            rachas.add(new Racha(archivo, cantidad));
+        }
+
+        // Fusiona las rachas consecutivas de FUSION_MAXIMA en FUSION_MAXIMA
+        private void reducirRachas() throws IOException {
+            List<Racha> anteriores = new ArrayList<>(rachas);
+            rachas.clear();
+            for (int desde = 0; desde < anteriores.size(); desde += FUSION_MAXIMA) {
+                List<Racha> grupo = anteriores.subList(desde, Math.min(desde + FUSION_MAXIMA, anteriores.size()));
+                if (grupo.size() == 1) {
+                    rachas.add(grupo.get(0));
+                    continue;
+                }
+                List<Lector<T>> lectores = new ArrayList<>();
+                long cantidad = 0;
+                try {
+                    for (Racha racha : grupo) {
+                        Lector<T> lector = new Lector<>(racha, serializador);
+                        abiertos.add(lector);
+                        lectores.add(lector);
+                        cantidad += racha.cantidad;
+                    }
+                    escribir(new Fusion<>(lectores, comparador, () -> { }), cantidad);
+                } finally {
+                    for (Lector<T> lector : lectores) {
+                        lector.cerrar();
+                        abiertos.remove(lector);
+                    }
+                }
+                for (Racha racha : grupo) {
+                    Files.deleteIfExists(racha.archivo);
+                }
+            }
+        }
+
+        void cerrar() {
+            for (Lector<T> lector : abiertos) {
+                lector.cerrar();
+            }
+            abiertos.clear();
+            rachas.clear();
+            if (directorio != null) {
+                // Se borra todo el directorio: también rachas intermedias de una fusión fallida
+                try (Stream<Path> archivos = Files.list(directorio)) {
+                    for (Path archivo : (Iterable<Path>) archivos::iterator) {
+                        Files.deleteIfExists(archivo);
+                    }
+                    Files.deleteIfExists(directorio);
+                } catch (IOException e) {
+                    // Los archivos temporales que no se puedan borrar se quedan
+                }
+                directorio = null;
+            }
+            fuente.close();
+        }
+    }
+
+    private static final class Racha {
+        final Path archivo;
+        final long cantidad;
+
+        Racha(Path archivo, long cantidad) {
+            this.archivo = archivo;
+            this.cantidad = cantidad;
+        }
+    }
+
+    // Lee una racha de forma secuencial, un elemento cada vez
+    private static final class Lector<T> implements Iterator<T> {
+        private final Serializador<T> serializador;
+        private final DataInputStream entrada;
+        private long restantes;
+
+        Lector(Racha racha, Serializador<T> serializador) throws IOException {
+            this.serializador = serializador;
+            this.entrada = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(racha.archivo), BUFFER_ARCHIVO));
+            this.restantes = racha.cantidad;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return restantes > 0;
+        }
+
+        @Override
+        public T next() {
+            if (restantes <= 0) {
+                throw new NoSuchElementException();
+            }
+            restantes--;
+            try {
+                T valor = serializador.leer(entrada);
+                if (restantes == 0) {
+                    cerrar();
+                }
+                return valor;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void cerrar() {
+            try {
+                entrada.close();
+            } catch (IOException e) {
+                // Solo se estaba leyendo
+            }
+        }
+    }
+
+    /**
+     * Fusión de k iteradores ordenados; a igualdad gana el de menor índice
+     */
+    private static final class Fusion<T> implements Iterator<T> {
+        private final PriorityQueue<Cabeza<T>> cola;
+        private final Runnable alTerminar;
+        private boolean terminado;
+
+        Fusion(List<? extends Iterator<T>> fuentes, Comparator<? super T> comparador, Runnable alTerminar) {
+            Comparator<Cabeza<T>> orden = (a, b) -> {
+                int c = comparador.compare(a.valor, b.valor);
+                return c != 0 ? c : Integer.compare(a.indice, b.indice);
+            };
+            this.cola = new PriorityQueue<>(Math.max(1, fuentes.size()), orden);
+            this.alTerminar = alTerminar;
+            for (int i = 0; i < fuentes.size(); i++) {
+                Iterator<T> fuente = fuentes.get(i);
+                if (fuente.hasNext()) {
+                    cola.add(new Cabeza<>(fuente.next(), i, fuente));
+                }
+            }
+            terminarSiVacia();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !cola.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Cabeza<T> cabeza = cola.poll();
+            if (cabeza == null) {
+                throw new NoSuchElementException();
+            }
+            T valor = cabeza.valor;
+            if (cabeza.fuente.hasNext()) {
+                // Se reutiliza la cabeza para no crear un objeto por elemento
+                cabeza.valor = cabeza.fuente.next();
+                cola.add(cabeza);
+            } else {
+                terminarSiVacia();
+            }
+            return valor;
+        }
+
+        private void terminarSiVacia() {
+            if (cola.isEmpty() && !terminado) {
+                terminado = true;
+                alTerminar.run();
+            }
+        }
+    }
+
+    private static final class Cabeza<T> {
+        T valor;
+        final int indice;
+        final Iterator<T> fuente;
+
+        Cabeza(T valor, int indice, Iterator<T> fuente) {
+            this.valor = valor;
+            this.indice = indice;
+            this.fuente = fuente;
+        }
+    }
+}
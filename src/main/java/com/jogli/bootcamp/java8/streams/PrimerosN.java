@@ -0,0 +1,244 @@
+package com.jogli.bootcamp.java8.streams;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+/**
+ * Búsqueda paralela de los primeros N elementos que cumplen un filtro
+ *
+ * Alternativa a parallelStream().filter(...).limit(n), que debe respetar el
+ * orden de encuentro y coordina todas las particiones aunque ya se tengan
+ * los resultados. Aquí la fuente se divide en trozos que se procesan en el
+ * ForkJoinPool actual y que dejan de avanzar en cuanto el resultado está
+ * decidido:
+ * - cualesquiera: N coincidencias en cualquier orden; todos los trozos
+ *   paran en cuanto entre todos encuentran N.
+ * - enOrden: las N primeras en orden de encuentro; cada trozo guarda como
+ *   mucho N coincidencias y los trozos posteriores al prefijo que ya reúne
+ *   N coincidencias se cancelan.
+ */
+public final class PrimerosN {
+
+    // Trozos por hilo: suficientes para repartir carga sin mucho coste de coordinación
+    private static final int TROZOS_POR_HILO = 4;
+
+    private PrimerosN() {
+    }
+
+    /**
+     * N elementos cualesquiera que cumplen el filtro (orden no garantizado)
+     */
+    public static <T> List<T> cualesquiera(Collection<T> fuente, Predicate<? super T> filtro, int n) {
+        return cualesquiera(fuente.spliterator(), filtro, n);
+    }
+
+    public static <T> List<T> cualesquiera(Spliterator<T> fuente, Predicate<? super T> filtro, int n) {
+        return buscar(fuente, filtro, n, false);
+    }
+
+    /**
+     * Los N primeros elementos, en orden de encuentro, que cumplen el filtro
+     */
+    public static <T> List<T> enOrden(Collection<T> fuente, Predicate<? super T> filtro, int n) {
+        return enOrden(fuente.spliterator(), filtro, n);
+    }
+
+    public static <T> List<T> enOrden(Spliterator<T> fuente, Predicate<? super T> filtro, int n) {
+        return buscar(fuente, filtro, n, true);
+    }
+
+    private static <T> List<T> buscar(Spliterator<T> fuente, Predicate<? super T> filtro, int n, boolean ordenado) {
+        Objects.requireNonNull(fuente, "fuente");
+        Objects.requireNonNull(filtro, "filtro");
+        if (n < 0) {
+            throw new IllegalArgumentException("n no puede ser negativo: " + n);
+        }
+        if (n == 0) {
+            return new ArrayList<>();
+        }
+        int hilos = ForkJoinTask.inForkJoinPool()
+            ? ForkJoinTask.getPool().getParallelism()
+            : ForkJoinPool.getCommonPoolParallelism();
+        List<Spliterator<T>> partes = new ArrayList<>();
+        dividir(fuente, 32 - Integer.numberOfLeadingZeros(Math.max(1, hilos * TROZOS_POR_HILO - 1)), partes);
+
+        Busqueda<T> busqueda = ordenado
+            ? new BusquedaOrdenada<>(filtro, n, partes.size())
+            : new BusquedaSinOrden<>(filtro, n);
+        List<Trozo<T>> trozos = new ArrayList<>(partes.size());
+        for (int i = 0; i < partes.size(); i++) {
+            trozos.add(new Trozo<>(busqueda, partes.get(i), i));
+        }
+        ForkJoinTask.invokeAll(trozos);
+        return busqueda.resultado();
+    }
+
+    // Divide la fuente en hasta 2^profundidad trozos conservando el orden de encuentro
+    private static <T> void dividir(Spliterator<T> fuente, int profundidad, List<Spliterator<T>> partes) {
+        Spliterator<T> prefijo = profundidad > 0 ? fuente.trySplit() : null;
+        if (prefijo == null) {
+            partes.add(fuente);
+            return;
+        }
+        dividir(prefijo, profundidad - 1, partes);
+        dividir(fuente, profundidad - 1, partes);
+    }
+
+    // Estado compartido por todos los trozos de una búsqueda
+    abstract static class Busqueda<T> {
+        final Predicate<? super T> filtro;
+        final int n;
+
+        Busqueda(Predicate<? super T> filtro, int n) {
+            this.filtro = filtro;
+            this.n = n;
+        }
+
+        /** Registra una coincidencia; devuelve false si el trozo debe parar */
+        abstract boolean encontrado(Trozo<T> trozo, T elemento);
+
+        /** ¿Debe el trozo dejar de avanzar? */
+        abstract boolean cancelado(Trozo<T> trozo);
+
+        abstract void terminado(Trozo<T> trozo);
+
+        abstract List<T> resultado();
+    }
+
+    static final class BusquedaSinOrden<T> extends Busqueda<T> {
+        private final AtomicInteger encontrados = new AtomicInteger();
+        // Crece con lo encontrado: n puede ser enorme (Integer.MAX_VALUE = "todos")
+        private final Queue<T> hallados = new ConcurrentLinkedQueue<>();
+        private volatile boolean completo;
+
+        BusquedaSinOrden(Predicate<? super T> filtro, int n) {
+            super(filtro, n);
+        }
+
+        @Override
+        boolean encontrado(Trozo<T> trozo, T elemento) {
+            int hueco = encontrados.getAndIncrement();
+            if (hueco < n) {
+                hallados.add(elemento);
+            }
+            if (hueco >= n - 1) {
+                completo = true;
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        boolean cancelado(Trozo<T> trozo) {
+            return completo;
+        }
+
+        @Override
+        void terminado(Trozo<T> trozo) {
+        }
+
+        @Override
+        List<T> resultado() {
+            // Se llama cuando todos los trozos han terminado: la cola ya no cambia
+            return new ArrayList<>(hallados);
+        }
+    }
+
+    static final class BusquedaOrdenada<T> extends Busqueda<T> {
+        private final boolean[] terminados;
+        private final List<List<T>> parciales;
+        private int prefijo;
+        private long acumulado;
+        // Índice del último trozo necesario; los posteriores se cancelan
+        private volatile int corte = Integer.MAX_VALUE;
+
+        BusquedaOrdenada(Predicate<? super T> filtro, int n, int trozos) {
+            super(filtro, n);
+            this.terminados = new boolean[trozos];
+            this.parciales = new ArrayList<>(Collections.nCopies(trozos, Collections.<T>emptyList()));
+        }
+
+        @Override
+        boolean encontrado(Trozo<T> trozo, T elemento) {
+            trozo.locales.add(elemento);
+            // Ninguna coincidencia posterior de este trozo puede entrar entre las N primeras
+            return trozo.locales.size() < n;
+        }
+
+        @Override
+        boolean cancelado(Trozo<T> trozo) {
+            return trozo.indice > corte;
+        }
+
+        @Override
+        synchronized void terminado(Trozo<T> trozo) {
+            parciales.set(trozo.indice, trozo.locales);
+            terminados[trozo.indice] = true;
+            if (corte != Integer.MAX_VALUE) {
+                return;
+            }
+            while (prefijo < terminados.length && terminados[prefijo]) {
+                acumulado += parciales.get(prefijo).size();
+                if (acumulado >= n) {
+                    corte = prefijo;
+                    return;
+                }
+                prefijo++;
+            }
+        }
+
+        @Override
+        synchronized List<T> resultado() {
+            long total = 0;
+            for (List<T> parcial : parciales) {
+                total += parcial.size();
+            }
+            List<T> resultado = new ArrayList<>((int) Math.min(total, n));
+            for (List<T> parcial : parciales) {
+                for (T elemento : parcial) {
+                    if (resultado.size() == n) {
+                        return resultado;
+                    }
+                    resultado.add(elemento);
+                }
+            }
+            return resultado;
+        }
+    }
+
+    static final class Trozo<T> extends RecursiveAction implements Consumer<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final Busqueda<T> busqueda;
+        private final Spliterator<T> fuente;
+        final int indice;
+        final List<T> locales = new ArrayList<>();
+        private boolean seguir = true;
+
+        Trozo(Busqueda<T> busqueda, Spliterator<T> fuente, int indice) {
+            this.busqueda = busqueda;
+            this.fuente = fuente;
+            this.indice = indice;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                while (seguir && !busqueda.cancelado(this) && fuente.tryAdvance(this)) {
+                    // el trabajo se hace en accept
+                }
+            } finally {
+                busqueda.terminado(this);
+            }
+        }
+
+        @Override
+        public void accept(T elemento) {
+            if (busqueda.filtro.test(elemento)) {
+                seguir = busqueda.encontrado(this, elemento);
+            }
+        }
+    }
+}
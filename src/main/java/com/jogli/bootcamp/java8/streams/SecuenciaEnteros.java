@@ -0,0 +1,139 @@
+package com.jogli.bootcamp.java8.streams;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Secuencia de enteros primitivos respaldada por un int[]
+ *
+ * Alternativa a {@code List<Integer>} para datos numéricos grandes: no hay objetos
+ * Integer ni punteros que seguir, y los streams que produce (IntStream) no
+ * asignan memoria por elemento. El único coste de memoria es el array.
+ */
+public final class SecuenciaEnteros {
+
+    private final int[] valores;
+
+    private SecuenciaEnteros(int[] valores) {
+        this.valores = valores;
+    }
+
+    /**
+     * Secuencia con los enteros de desde (incluido) a hasta (excluido)
+     */
+    public static SecuenciaEnteros rango(int desde, int hasta) {
+        // En long: hasta - desde se desborda con rangos como [Integer.MIN_VALUE, 1)
+        long longitud = Math.max(0, (long) hasta - desde);
+        if (longitud > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Rango demasiado grande para un array: " + longitud + " elementos");
+        }
+        int[] valores = new int[(int) longitud];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = desde + i;
+        }
+        return new SecuenciaEnteros(valores);
+    }
+
+    /**
+     * Secuencia con una copia de los valores indicados
+     */
+    public static SecuenciaEnteros de(int... valores) {
+        return new SecuenciaEnteros(valores.clone());
+    }
+
+    public int tamanio() {
+        return valores.length;
+    }
+
+    public int get(int indice) {
+        return valores[indice];
+    }
+
+    /**
+     * Stream secuencial sin boxing
+     */
+    public IntStream stream() {
+        return StreamSupport.intStream(new Divisor(valores, 0, valores.length), false);
+    }
+
+    /**
+     * Stream paralelo sin boxing; el divisor parte el array por la mitad
+     */
+    public IntStream parallelStream() {
+        return StreamSupport.intStream(new Divisor(valores, 0, valores.length), true);
+    }
+
+    /**
+     * Suma directa sobre el array, acumulando en long
+     */
+    public long suma() {
+        long suma = 0;
+        for (int valor : valores) {
+            suma += valor;
+        }
+        return suma;
+    }
+
+    @Override
+    public String toString() {
+        if (valores.length <= 10) {
+            return Arrays.toString(valores);
+        }
+        return "SecuenciaEnteros[" + valores.length + " elementos]";
+    }
+
+    // Spliterator sobre un rango [origen, fin) del array
+    static final class Divisor implements Spliterator.OfInt {
+        private final int[] valores;
+        private int origen;
+        private final int fin;
+
+        Divisor(int[] valores, int origen, int fin) {
+            this.valores = valores;
+            this.origen = origen;
+            this.fin = fin;
+        }
+
+        @Override
+        public OfInt trySplit() {
+            int mitad = (origen + fin) >>> 1;
+            if (mitad <= origen) {
+                return null;
+            }
+            Divisor prefijo = new Divisor(valores, origen, mitad);
+            origen = mitad;
+            return prefijo;
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer accion) {
+            if (origen < fin) {
+                accion.accept(valores[origen++]);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer accion) {
+            int[] a = valores;
+            int hasta = fin;
+            int i = origen;
+            origen = hasta;
+            for (; i < hasta; i++) {
+                accion.accept(a[i]);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fin - origen;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL;
+        }
+    }
+}
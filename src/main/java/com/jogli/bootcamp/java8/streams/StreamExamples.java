@@ -1,8 +1,21 @@
 package com.jogli.bootcamp.java8.streams;
 
+import com.jogli.bootcamp.java8.collectors.Aproximados;
+import com.jogli.bootcamp.java8.collectors.ReduccionesExactas;
+import com.jogli.bootcamp.java8.disco.Serializador;
+import com.jogli.bootcamp.java8.paralelo.PoolDedicado;
+import com.jogli.bootcamp.java8.ventanas.*;
+
+import java.io.*;
+import java.math.*;
+import java.nio.charset.*;
+import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.util.stream.*;
 
+import static com.jogli.bootcamp.java8.salida.Salidas.salida;
+
 /**
  * Ejemplos de Streams en Java 8
  * 
@@ -17,6 +30,8 @@ public class StreamExamples {
         ejemplo3_OrdenamientoYLimitacion();
         ejemplo4_OperacionesMatematicas();
         ejemplo5_StreamsParalelos();
+        ejemplo6_ArchivosGrandes();
+        ejemplo7_PoolsDedicados();
     }
     
     /**
@@ -24,8 +39,8 @@ public class StreamExamples {
      * Demuestra la creación y operaciones básicas
      */
     public static void ejemplo1_OperacionesBasicas() {
-        System.out.println("1. OPERACIONES BÁSICAS");
-        System.out.println("----------------------");
+        salida().println("1. OPERACIONES BÁSICAS");
+        salida().println("----------------------");
         
         List<String> palabras = Arrays.asList("casa", "coche", "árbol", "libro", "sol");
         
@@ -33,29 +48,35 @@ public class StreamExamples {
         Stream<String> stream = palabras.stream();
         
         // forEach - operación terminal
-        System.out.println("Palabras originales:");
-        stream.forEach(palabra -> System.out.println("  - " + palabra));
+        salida().println("Palabras originales:");
+        stream.forEach(palabra -> salida().println("  - " + palabra));
         
         // count - contar elementos
         long cantidad = palabras.stream().count();
-        System.out.println("Cantidad de palabras: " + cantidad);
+        salida().println("Cantidad de palabras: " + cantidad);
         
         // distinct - eliminar duplicados
         List<String> palabrasConDuplicados = Arrays.asList("casa", "coche", "casa", "árbol", "coche");
         List<String> sinDuplicados = palabrasConDuplicados.stream()
             .distinct()
             .collect(Collectors.toList());
-        System.out.println("Sin duplicados: " + sinDuplicados);
+        salida().println("Sin duplicados: " + sinDuplicados);
+        
+        // Sin repetidos en memoria fija (filtro de Bloom); válido también en paralelo
+        List<String> sinDuplicadosAprox = palabrasConDuplicados.stream()
+            .filter(Aproximados.sinRepetidos(1000, 0.01))
+            .collect(Collectors.toList());
+        salida().println("Sin duplicados (aproximado): " + sinDuplicadosAprox);
         
         // anyMatch, allMatch, noneMatch
         boolean hayPalabraLarga = palabras.stream().anyMatch(p -> p.length() > 4);
         boolean todasCortas = palabras.stream().allMatch(p -> p.length() <= 4);
         boolean ningunaVacia = palabras.stream().noneMatch(String::isEmpty);
         
-        System.out.println("¿Hay palabra larga? " + hayPalabraLarga);
-        System.out.println("¿Todas son cortas? " + todasCortas);
-        System.out.println("¿Ninguna está vacía? " + ningunaVacia);
-        System.out.println();
+        salida().println("¿Hay palabra larga? " + hayPalabraLarga);
+        salida().println("¿Todas son cortas? " + todasCortas);
+        salida().println("¿Ninguna está vacía? " + ningunaVacia);
+        salida().println();
     }
     
     /**
@@ -63,8 +84,8 @@ public class StreamExamples {
      * Demuestra filter() y map()
      */
     public static void ejemplo2_FiltradoYTransformacion() {
-        System.out.println("2. FILTRADO Y TRANSFORMACIÓN");
-        System.out.println("----------------------------");
+        salida().println("2. FILTRADO Y TRANSFORMACIÓN");
+        salida().println("----------------------------");
         
         List<Integer> numeros = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
         
@@ -72,20 +93,20 @@ public class StreamExamples {
         List<Integer> pares = numeros.stream()
             .filter(n -> n % 2 == 0)
             .collect(Collectors.toList());
-        System.out.println("Números pares: " + pares);
+        salida().println("Números pares: " + pares);
         
         // Transformar números (cuadrados)
         List<Integer> cuadrados = numeros.stream()
             .map(n -> n * n)
             .collect(Collectors.toList());
-        System.out.println("Cuadrados: " + cuadrados);
+        salida().println("Cuadrados: " + cuadrados);
         
         // Filtrar y transformar en cadena
         List<String> paresComoString = numeros.stream()
             .filter(n -> n % 2 == 0)
             .map(n -> "Par: " + n)
             .collect(Collectors.toList());
-        System.out.println("Pares como string: " + paresComoString);
+        salida().println("Pares como string: " + paresComoString);
         
         // flatMap - aplanar streams anidados
         List<List<String>> listasAnidadas = Arrays.asList(
@@ -97,15 +118,15 @@ public class StreamExamples {
         List<String> aplanado = listasAnidadas.stream()
             .flatMap(List::stream)
             .collect(Collectors.toList());
-        System.out.println("Lista aplanada: " + aplanado);
+        salida().println("Lista aplanada: " + aplanado);
         
         // mapToInt, mapToDouble
         IntStream intStream = numeros.stream().mapToInt(Integer::intValue);
         DoubleStream doubleStream = numeros.stream().mapToDouble(Integer::doubleValue);
         
-        System.out.println("Suma de enteros: " + intStream.sum());
-        System.out.println("Promedio de doubles: " + doubleStream.average().orElse(0.0));
-        System.out.println();
+        salida().println("Suma de enteros: " + intStream.sum());
+        salida().println("Promedio de doubles: " + doubleStream.average().orElse(0.0));
+        salida().println();
     }
     
     /**
@@ -113,8 +134,8 @@ public class StreamExamples {
      * Demuestra sorted(), limit(), skip()
      */
     public static void ejemplo3_OrdenamientoYLimitacion() {
-        System.out.println("3. ORDENAMIENTO Y LIMITACIÓN");
-        System.out.println("---------------------------");
+        salida().println("3. ORDENAMIENTO Y LIMITACIÓN");
+        salida().println("---------------------------");
         
         List<String> nombres = Arrays.asList("Carlos", "Ana", "Beatriz", "David", "Elena");
         
@@ -122,33 +143,33 @@ public class StreamExamples {
         List<String> ordenados = nombres.stream()
             .sorted()
             .collect(Collectors.toList());
-        System.out.println("Ordenados alfabéticamente: " + ordenados);
+        salida().println("Ordenados alfabéticamente: " + ordenados);
         
         // Ordenamiento por longitud
         List<String> ordenadosPorLongitud = nombres.stream()
             .sorted(Comparator.comparing(String::length))
             .collect(Collectors.toList());
-        System.out.println("Ordenados por longitud: " + ordenadosPorLongitud);
+        salida().println("Ordenados por longitud: " + ordenadosPorLongitud);
         
         // Ordenamiento descendente
         List<String> ordenadosDesc = nombres.stream()
             .sorted(Comparator.reverseOrder())
             .collect(Collectors.toList());
-        System.out.println("Ordenados descendente: " + ordenadosDesc);
+        salida().println("Ordenados descendente: " + ordenadosDesc);
         
         // limit - tomar solo los primeros elementos
         List<String> primeros3 = nombres.stream()
             .sorted()
             .limit(3)
             .collect(Collectors.toList());
-        System.out.println("Primeros 3 ordenados: " + primeros3);
+        salida().println("Primeros 3 ordenados: " + primeros3);
         
         // skip - saltar elementos
         List<String> saltando2 = nombres.stream()
             .sorted()
             .skip(2)
             .collect(Collectors.toList());
-        System.out.println("Saltando los primeros 2: " + saltando2);
+        salida().println("Saltando los primeros 2: " + saltando2);
         
         // Combinar limit y skip
         List<String> delMedio = nombres.stream()
@@ -156,8 +177,37 @@ public class StreamExamples {
             .skip(1)
             .limit(2)
             .collect(Collectors.toList());
-        System.out.println("Del medio (skip 1, limit 2): " + delMedio);
-        System.out.println();
+        salida().println("Del medio (skip 1, limit 2): " + delMedio);
+        
+        // Top-K acotado: mismo resultado sin ordenar toda la entrada
+        List<String> top3 = nombres.stream()
+            .collect(TopK.menores(3, Comparator.<String>naturalOrder()));
+        salida().println("Primeros 3 (top-K): " + top3);
+        
+        List<String> masCortos = nombres.stream()
+            .collect(TopK.menores(2, Comparator.comparing(String::length)));
+        salida().println("Los 2 más cortos (top-K): " + masCortos);
+        
+        List<String> ultimos2 = nombres.stream()
+            .collect(TopK.menores(2, Comparator.<String>reverseOrder()));
+        salida().println("Últimos 2 alfabéticamente (top-K): " + ultimos2);
+        
+        List<String> pagina = nombres.stream()
+            .collect(TopK.pagina(1, 2, Comparator.<String>naturalOrder()));
+        salida().println("Del medio (página 1+2): " + pagina);
+        
+        // Ordenación externa: rachas de como mucho 100 bytes en disco y fusión
+        try (Stream<String> externos = OrdenacionExterna.ordenar(
+                nombres.stream(), Serializador.cadenas(), 100)) {
+            salida().println("Ordenados (externa): " + externos.collect(Collectors.toList()));
+        }
+        
+        try (Stream<String> externosPorLongitud = OrdenacionExterna.ordenar(
+                nombres.stream(), Comparator.comparing(String::length), Serializador.cadenas(), 100)) {
+            salida().println("Ordenados por longitud (externa): "
+                + externosPorLongitud.limit(3).collect(Collectors.toList()));
+        }
+        salida().println();
     }
     
     /**
@@ -165,8 +215,8 @@ public class StreamExamples {
      * Demuestra operaciones de agregación
      */
     public static void ejemplo4_OperacionesMatematicas() {
-        System.out.println("4. OPERACIONES MATEMÁTICAS");
-        System.out.println("-------------------------");
+        salida().println("4. OPERACIONES MATEMÁTICAS");
+        salida().println("-------------------------");
         
         List<Integer> numeros = Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
         
@@ -174,13 +224,13 @@ public class StreamExamples {
         int suma = numeros.stream()
             .mapToInt(Integer::intValue)
             .sum();
-        System.out.println("Suma total: " + suma);
+        salida().println("Suma total: " + suma);
         
         // Promedio
         OptionalDouble promedio = numeros.stream()
             .mapToInt(Integer::intValue)
             .average();
-        promedio.ifPresent(p -> System.out.println("Promedio: " + p));
+        promedio.ifPresent(p -> salida().println("Promedio: " + p));
         
         // Máximo y mínimo
         OptionalInt maximo = numeros.stream()
@@ -190,42 +240,64 @@ public class StreamExamples {
             .mapToInt(Integer::intValue)
             .min();
         
-        maximo.ifPresent(max -> System.out.println("Máximo: " + max));
-        minimo.ifPresent(min -> System.out.println("Mínimo: " + min));
+        maximo.ifPresent(max -> salida().println("Máximo: " + max));
+        minimo.ifPresent(min -> salida().println("Mínimo: " + min));
         
         // reduce - operación personalizada
         int producto = numeros.stream()
             .reduce(1, (a, b) -> a * b);
-        System.out.println("Producto: " + producto);
+        salida().println("Producto: " + producto);
+        
+        // Producto exacto sin encajonar: el reduce de arriba desborda a partir de 13!
+        BigInteger productoExacto = ReduccionesExactas.producto(numeros.stream().mapToInt(Integer::intValue));
+        salida().println("Producto exacto: " + productoExacto);
+        salida().println("25! exacto: " + ReduccionesExactas.factorial(25));
         
         // reduce con Optional
         Optional<Integer> sumaOpcional = numeros.stream()
             .reduce(Integer::sum);
-        sumaOpcional.ifPresent(s -> System.out.println("Suma con reduce: " + s));
+        sumaOpcional.ifPresent(s -> salida().println("Suma con reduce: " + s));
         
         // Operaciones con filtros
         int sumaPares = numeros.stream()
             .filter(n -> n % 2 == 0)
             .mapToInt(Integer::intValue)
             .sum();
-        System.out.println("Suma de pares: " + sumaPares);
+        salida().println("Suma de pares: " + sumaPares);
         
         double promedioPares = numeros.stream()
             .filter(n -> n % 2 == 0)
             .mapToDouble(Integer::doubleValue)
             .average()
             .orElse(0.0);
-        System.out.println("Promedio de pares: " + promedioPares);
-        System.out.println();
+        salida().println("Promedio de pares: " + promedioPares);
+        
+        // Ventanas fijas de 3 y deslizantes de 4 (avanzando de 2 en 2), sin encajonar
+        Ventanas.fijas(numeros.stream().mapToLong(Integer::longValue), 3)
+            .forEach(v -> salida().println("Ventana fija " + v));
+        Ventanas.deslizantes(numeros.stream().mapToLong(Integer::longValue), 4, 2)
+            .forEach(v -> salida().println("Ventana deslizante " + v));
+        
+        // Ventana deslizante por tiempo: valores de los últimos 3 segundos
+        VentanaDeslizante ultimos3s = VentanaDeslizante.porTiempo(3000);
+        for (int segundo = 0; segundo < numeros.size(); segundo++) {
+            ultimos3s.agregar(segundo * 1000L, numeros.get(segundo));
+        }
+        salida().println("Últimos 3 s: suma " + ultimos3s.getSuma() + ", media " + ultimos3s.getMedia()
+            + ", mínimo " + ultimos3s.getMinimo() + ", máximo " + ultimos3s.getMaximo());
+        salida().println();
     }
     
     /**
      * Ejemplo 5: Streams paralelos
      * Demuestra el procesamiento paralelo
+     * 
+     * Los tiempos impresos son una sola medición sin calentamiento; para
+     * comparar secuencial y paralelo usar StreamExamplesBenchmark (./gradlew jmh).
      */
     public static void ejemplo5_StreamsParalelos() {
-        System.out.println("5. STREAMS PARALELOS");
-        System.out.println("-------------------");
+        salida().println("5. STREAMS PARALELOS");
+        salida().println("-------------------");
         
         // Crear lista grande para demostrar paralelismo
         List<Integer> numerosGrandes = IntStream.range(1, 1000001)
@@ -246,24 +318,167 @@ public class StreamExamples {
             .sum();
         long finParalelo = System.currentTimeMillis();
         
-        System.out.println("Suma secuencial: " + sumaSecuencial);
-        System.out.println("Tiempo secuencial: " + (finSecuencial - inicioSecuencial) + " ms");
-        System.out.println("Suma paralela: " + sumaParalela);
-        System.out.println("Tiempo paralelo: " + (finParalelo - inicioParalelo) + " ms");
+        salida().println("Suma secuencial: " + sumaSecuencial);
+        salida().println("Tiempo secuencial: " + (finSecuencial - inicioSecuencial) + " ms");
+        salida().println("Suma paralela: " + sumaParalela);
+        salida().println("Tiempo paralelo: " + (finParalelo - inicioParalelo) + " ms");
         
         // Procesamiento paralelo con filtros
         List<Integer> numerosPares = numerosGrandes.parallelStream()
             .filter(n -> n % 2 == 0)
             .limit(10)
             .collect(Collectors.toList());
-        System.out.println("Primeros 10 pares (paralelo): " + numerosPares);
+        salida().println("Primeros 10 pares (paralelo): " + numerosPares);
+        
+        // Búsqueda con cancelación temprana: se detiene al tener 10 coincidencias
+        List<Integer> paresCualesquiera = PrimerosN.cualesquiera(numerosGrandes, n -> n % 2 == 0, 10);
+        salida().println("10 pares cualesquiera (paralelo): " + paresCualesquiera.size() + " elementos");
+        
+        List<Integer> paresEnOrden = PrimerosN.enOrden(numerosGrandes, n -> n % 2 == 0, 10);
+        salida().println("Primeros 10 pares (paralelo, en orden): " + paresEnOrden);
         
         // Ordenamiento paralelo
         List<Integer> ordenadosParalelo = numerosGrandes.parallelStream()
             .limit(1000)
             .sorted()
             .collect(Collectors.toList());
-        System.out.println("Primeros 1000 ordenados (paralelo): " + ordenadosParalelo.size() + " elementos");
-        System.out.println();
+        salida().println("Primeros 1000 ordenados (paralelo): " + ordenadosParalelo.size() + " elementos");
+        
+        // Misma secuencia con enteros primitivos: sin objetos Integer
+        SecuenciaEnteros secuencia = SecuenciaEnteros.rango(1, 1000001);
+        
+        long inicioPrimitivo = System.currentTimeMillis();
+        long sumaPrimitiva = secuencia.stream()
+            .asLongStream()
+            .sum();
+        long finPrimitivo = System.currentTimeMillis();
+        
+        long inicioPrimitivoParalelo = System.currentTimeMillis();
+        long sumaPrimitivaParalela = secuencia.parallelStream()
+            .asLongStream()
+            .sum();
+        long finPrimitivoParalelo = System.currentTimeMillis();
+        
+        salida().println("Suma primitiva secuencial: " + sumaPrimitiva);
+        salida().println("Tiempo primitivo secuencial: " + (finPrimitivo - inicioPrimitivo) + " ms");
+        salida().println("Suma primitiva paralela: " + sumaPrimitivaParalela);
+        salida().println("Tiempo primitivo paralelo: " + (finPrimitivoParalelo - inicioPrimitivoParalelo) + " ms");
+        
+        int[] paresPrimitivos = secuencia.parallelStream()
+            .filter(n -> n % 2 == 0)
+            .limit(10)
+            .toArray();
+        salida().println("Primeros 10 pares (primitivo): " + Arrays.toString(paresPrimitivos));
+        
+        int[] ordenadosPrimitivos = secuencia.parallelStream()
+            .limit(1000)
+            .sorted()
+            .toArray();
+        salida().println("Primeros 1000 ordenados (primitivo): " + ordenadosPrimitivos.length + " elementos");
+        salida().println();
+    }
+    
+    /**
+     * Ejemplo 6: Streams sobre archivos grandes
+     * Demuestra los mismos pipelines sobre un archivo mapeado en memoria.
+     * Con -Dcorpus=<archivo> se usa ese archivo; si no, uno temporal con
+     * las palabras de los ejemplos.
+     */
+    public static void ejemplo6_ArchivosGrandes() {
+        salida().println("6. STREAMS SOBRE ARCHIVOS GRANDES");
+        salida().println("---------------------------------");
+        
+        Path archivo = null;
+        try {
+            String corpus = System.getProperty("corpus");
+            if (corpus != null) {
+                archivo = Paths.get(corpus);
+            } else {
+                archivo = Files.createTempFile("palabras", ".txt");
+                Files.write(archivo, Arrays.asList(
+                    "casa coche árbol", "libro sol", "casa, coche y árbol"), StandardCharsets.UTF_8);
+            }
+            
+            // El archivo se mapea y solo se decodifica cada palabra al entregarla
+            ArchivoMapeado mapeado = ArchivoMapeado.abrir(archivo);
+            salida().println("Archivo: " + mapeado.getTamanio() + " bytes");
+            
+            long palabras = mapeado.palabras().parallel().count();
+            salida().println("Palabras: " + palabras);
+            
+            List<String> distintas = mapeado.palabras().parallel()
+                .distinct()
+                .sorted()
+                .limit(10)
+                .collect(Collectors.toList());
+            salida().println("Primeras distintas (ordenadas): " + distintas);
+            
+            boolean hayArbol = mapeado.palabras().parallel().anyMatch("árbol"::equals);
+            salida().println("¿Aparece 'árbol'? " + hayArbol);
+            
+            List<String> largasEnMayusculas = mapeado.palabras().parallel()
+                .filter(p -> p.length() > 4)
+                .map(String::toUpperCase)
+                .distinct()
+                .sorted()
+                .limit(10)
+                .collect(Collectors.toList());
+            salida().println("Largas en mayúsculas: " + largasEnMayusculas);
+            
+            long lineas = mapeado.lineas().parallel().count();
+            salida().println("Líneas: " + lineas);
+        } catch (IOException e) {
+            salida().println("No se pudo leer el archivo: " + e.getMessage());
+        } finally {
+            if (archivo != null && System.getProperty("corpus") == null) {
+                try {
+                    Files.deleteIfExists(archivo);
+                } catch (IOException e) {
+                    // El archivo temporal se queda; no afecta al ejemplo
+                }
+            }
+        }
+        salida().println();
+    }
+    
+    /**
+     * Ejemplo 7: Pools dedicados
+     * Demuestra dos pipelines paralelos pesados, cada uno en su propio
+     * ForkJoinPool, sin ocupar el pool común
+     */
+    public static void ejemplo7_PoolsDedicados() {
+        salida().println("7. POOLS DEDICADOS");
+        salida().println("------------------");
+        
+        try (PoolDedicado calculo = PoolDedicado.crear("calculo", 2, 10_000);
+             PoolDedicado primos = PoolDedicado.crear("primos", 1)) {
+            
+            // Cada pipeline se lanza dentro de su pool: sus subtareas se quedan ahí
+            CompletableFuture<Double> raices = calculo.ejecutarAsincrono(() ->
+                calculo.paralelo(IntStream.range(0, 20_000_000))
+                    .mapToDouble(Math::sqrt)
+                    .sum());
+            CompletableFuture<Long> cuantosPrimos = primos.ejecutarAsincrono(() ->
+                primos.paralelo(IntStream.range(2, 300_000))
+                    .filter(n -> BigInteger.valueOf(n).isProbablePrime(20))
+                    .count());
+            
+            // Mientras tanto, el pool común sigue libre para el resto de la aplicación
+            long inicio = System.nanoTime();
+            int sumaComun = IntStream.rangeClosed(1, 1000).parallel().sum();
+            long microsComun = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio);
+            salida().println("Pool común mientras tanto: suma " + sumaComun + " en " + microsComun + " µs");
+            
+            salida().printf("Suma de raíces (%s): %.1f%n", calculo, raices.join());
+            salida().println("Primos menores que 300000 (" + primos + "): " + cuantosPrimos.join());
+            
+            // Varias tareas cortas seguidas para ver la latencia por tarea
+            for (int i = 0; i < 5; i++) {
+                calculo.ejecutar(() -> calculo.paralelo(IntStream.range(0, 1_000_000)).sum());
+            }
+            salida().println("Métricas: " + calculo.metricas());
+            salida().println("Métricas: " + primos.metricas());
+        }
+        salida().println();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,180 @@
+package com.jogli.bootcamp.java8.streams;
+
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * Collectors top-K acotados, alternativa a sorted().limit(k)
+ *
+ * sorted() guarda toda la entrada para quedarse con unos pocos elementos.
+ * Estos collectors mantienen un montículo (heap) de como mucho k elementos:
+ * O(n log k) en tiempo y O(k) en memoria para cualquier Comparator.
+ *
+ * El resultado es idéntico al de sorted(comparador).limit(k), incluido el
+ * orden de los empates (sorted es estable): cada elemento lleva su posición
+ * de llegada, y el combinador paralelo desplaza las posiciones de la parte
+ * derecha para respetar el orden de encuentro.
+ */
+public final class TopK {
+
+    private TopK() {
+    }
+
+    /**
+     * Los k menores según el comparador, ordenados: sorted(comparador).limit(k)
+     */
+    public static <T> Collector<T, ?, List<T>> menores(int k, Comparator<? super T> comparador) {
+        return pagina(0, k, comparador);
+    }
+
+    /**
+     * Los k mayores según el comparador, de mayor a menor:
+     * sorted(comparador.reversed()).limit(k)
+     */
+    public static <T> Collector<T, ?, List<T>> mayores(int k, Comparator<? super T> comparador) {
+        Objects.requireNonNull(comparador, "comparador");
+        Comparator<T> inverso = (a, b) -> comparador.compare(b, a);
+        return pagina(0, k, inverso);
+    }
+
+    /**
+     * Página de resultados ordenados: sorted(comparador).skip(desde).limit(limite)
+     *
+     * Solo necesita memoria para desde + limite elementos.
+     */
+    public static <T> Collector<T, ?, List<T>> pagina(long desde, int limite, Comparator<? super T> comparador) {
+        if (desde < 0 || limite < 0) {
+            throw new IllegalArgumentException("desde y limite no pueden ser negativos");
+        }
+        if (desde + limite > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Página demasiado grande: " + (desde + limite));
+        }
+        Objects.requireNonNull(comparador, "comparador");
+        int capacidad = (int) (desde + limite);
+        return Collector.of(
+            () -> new Monticulo<T>(capacidad, comparador),
+            Monticulo::aceptar,
+            Monticulo::combinar,
+            monticulo -> monticulo.ordenados((int) desde));
+    }
+
+    // Montículo de máximos acotado; la raíz es el peor elemento conservado
+    static final class Monticulo<T> {
+        private final int capacidad;
+        private final Comparator<? super T> comparador;
+        private Object[] elementos;
+        private long[] posiciones;
+        private int tamanio;
+        private long vistos;
+
+        Monticulo(int capacidad, Comparator<? super T> comparador) {
+            this.capacidad = capacidad;
+            this.comparador = comparador;
+            int inicial = Math.min(capacidad, 16);
+            this.elementos = new Object[inicial];
+            this.posiciones = new long[inicial];
+        }
+
+        void aceptar(T elemento) {
+            ofrecer(elemento, vistos++);
+        }
+
+        Monticulo<T> combinar(Monticulo<T> derecha) {
+            // Los elementos de la derecha llegaron después de todos los de la izquierda
+            long desplazamiento = vistos;
+            for (int i = 0; i < derecha.tamanio; i++) {
+                @SuppressWarnings("unchecked")
+                T elemento = (T) derecha.elementos[i];
+                ofrecer(elemento, derecha.posiciones[i] + desplazamiento);
+            }
+            vistos += derecha.vistos;
+            return this;
+        }
+
+        private void ofrecer(T elemento, long posicion) {
+            if (tamanio < capacidad) {
+                if (tamanio == elementos.length) {
+                    int nueva = (int) Math.min((long) capacidad, Math.max(16L, 2L * tamanio));
+                    elementos = Arrays.copyOf(elementos, nueva);
+                    posiciones = Arrays.copyOf(posiciones, nueva);
+                }
+                elementos[tamanio] = elemento;
+                posiciones[tamanio] = posicion;
+                subir(tamanio++);
+            } else if (capacidad > 0 && comparar(elemento, posicion, 0) < 0) {
+                elementos[0] = elemento;
+                posiciones[0] = posicion;
+                bajar(0, tamanio);
+            }
+        }
+
+        /**
+         * Vacía el montículo en orden ascendente y descarta los primeros desde
+         */
+        List<T> ordenados(int desde) {
+            // Heapsort in situ: cada extracción deja el máximo al final
+            for (int fin = tamanio - 1; fin > 0; fin--) {
+                intercambiar(0, fin);
+                bajar(0, fin);
+            }
+            List<T> resultado = new ArrayList<>(Math.max(0, tamanio - desde));
+            for (int i = desde; i < tamanio; i++) {
+                @SuppressWarnings("unchecked")
+                T elemento = (T) elementos[i];
+                resultado.add(elemento);
+            }
+            return resultado;
+        }
+
+        private void subir(int i) {
+            while (i > 0) {
+                int padre = (i - 1) >>> 1;
+                if (comparar(padre, i) >= 0) {
+                    return;
+                }
+                intercambiar(padre, i);
+                i = padre;
+            }
+        }
+
+        private void bajar(int i, int limite) {
+            while (true) {
+                int hijo = 2 * i + 1;
+                if (hijo >= limite) {
+                    return;
+                }
+                if (hijo + 1 < limite && comparar(hijo + 1, hijo) > 0) {
+                    hijo++;
+                }
+                if (comparar(i, hijo) >= 0) {
+                    return;
+                }
+                intercambiar(i, hijo);
+                i = hijo;
+            }
+        }
+
+        private int comparar(int i, int j) {
+            @SuppressWarnings("unchecked")
+            T a = (T) elementos[i];
+            return comparar(a, posiciones[i], j);
+        }
+
+        // Compara por el comparador y, en caso de empate, por posición de llegada
+        private int comparar(T elemento, long posicion, int j) {
+            @SuppressWarnings("unchecked")
+            T otro = (T) elementos[j];
+            int c = comparador.compare(elemento, otro);
+            return c != 0 ? c : Long.compare(posicion, posiciones[j]);
+        }
+
+        private void intercambiar(int i, int j) {
+            Object e = elementos[i];
+            elementos[i] = elementos[j];
+            elementos[j] = e;
+            long p = posiciones[i];
+            posiciones[i] = posiciones[j];
+            posiciones[j] = p;
+        }
+    }
+}
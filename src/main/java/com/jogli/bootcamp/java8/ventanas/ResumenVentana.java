@@ -0,0 +1,61 @@
+package com.jogli.bootcamp.java8.ventanas;
+
+/**
+ * Agregados de una ventana ya cerrada (o de una deslizante en un instante)
+ *
+ * inicio y fin son posiciones o instantes, según el tipo de ventana, con
+ * fin excluido. Sin elementos, mínimo y máximo valen Long.MAX_VALUE y
+ * Long.MIN_VALUE y la media 0, como en LongSummaryStatistics.
+ */
+public final class ResumenVentana {
+
+    private final long inicio;
+    private final long fin;
+    private final long cantidad;
+    private final long suma;
+    private final long minimo;
+    private final long maximo;
+
+    ResumenVentana(long inicio, long fin, long cantidad, long suma, long minimo, long maximo) {
+        this.inicio = inicio;
+        this.fin = fin;
+        this.cantidad = cantidad;
+        this.suma = suma;
+        this.minimo = minimo;
+        this.maximo = maximo;
+    }
+
+    public long getInicio() {
+        return inicio;
+    }
+
+    public long getFin() {
+        return fin;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public long getSuma() {
+        return suma;
+    }
+
+    public long getMinimo() {
+        return minimo;
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    public double getMedia() {
+        return cantidad == 0 ? 0.0 : (double) suma / cantidad;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + inicio + ", " + fin + "){cantidad=" + cantidad + ", suma=" + suma + ", min=" + minimo
+            + ", max=" + maximo + ", media=" + getMedia() + "}";
+    }
+}
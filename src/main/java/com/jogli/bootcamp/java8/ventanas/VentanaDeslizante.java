@@ -0,0 +1,211 @@
+package com.jogli.bootcamp.java8.ventanas;
+
+/**
+ * Suma, media, mínimo y máximo de los últimos N valores o del último intervalo
+ *
+ * Los valores de la ventana están en un array circular de long, sin
+ * encajonar. La suma se actualiza sumando lo que entra y restando lo que
+ * sale. Para mínimo y máximo la ventana se trata como una cola de dos
+ * pilas: la parte antigua guarda el mínimo y el máximo de cada sufijo y
+ * la reciente lleva el mínimo y el máximo acumulados, así que cada
+ * consulta combina dos valores. Cuando sale el último elemento de la
+ * parte antigua, la reciente pasa a ser la antigua recorriéndola una vez
+ * hacia atrás. Cada valor se recorre una sola vez: O(1) amortizado por
+ * elemento, y el mínimo y el máximo se calculan sin bifurcaciones que
+ * dependan de los datos.
+ *
+ * Se usan valores long (no double) para que la suma de una ventana
+ * deslizante no acumule error de redondeo al restar lo que sale.
+ * No es segura para varios hilos.
+ */
+public final class VentanaDeslizante {
+
+    private final boolean porTiempo;
+    // Elementos (por cantidad) o unidades de tiempo (por tiempo) que abarca
+    private final long alcance;
+
+    // Posición i del array: (int) i & mascara. Claves: secuencia o instante
+    private long[] claves;
+    private long[] valores;
+    private long[] sufijoMinimo;
+    private long[] sufijoMaximo;
+    private int mascara;
+
+    // [cabeza, frontera) es la parte antigua y [frontera, fin) la reciente
+    private long cabeza;
+    private long frontera;
+    private long fin;
+
+    private long recienteMinimo = Long.MAX_VALUE;
+    private long recienteMaximo = Long.MIN_VALUE;
+    private long suma;
+    private long ultimaClave = Long.MIN_VALUE;
+
+    private VentanaDeslizante(boolean porTiempo, long alcance, int capacidad) {
+        if (alcance < 1) {
+            throw new IllegalArgumentException("La ventana debe abarcar al menos 1: " + alcance);
+        }
+        this.porTiempo = porTiempo;
+        this.alcance = alcance;
+        int potencia = Integer.highestOneBit(Math.max(2, capacidad - 1)) << 1;
+        this.claves = new long[potencia];
+        this.valores = new long[potencia];
+        this.sufijoMinimo = new long[potencia];
+        this.sufijoMaximo = new long[potencia];
+        this.mascara = potencia - 1;
+    }
+
+    /**
+     * Ventana con los últimos tamanio valores
+     */
+    public static VentanaDeslizante porCantidad(int tamanio) {
+        return new VentanaDeslizante(false, tamanio, tamanio);
+    }
+
+    /**
+     * Ventana con los valores de instantes en (ahora - duracion, ahora]
+     *
+     * Los instantes los da quien agrega (milisegundos, nanosegundos...) y
+     * no pueden retroceder.
+     */
+    public static VentanaDeslizante porTiempo(long duracion) {
+        return new VentanaDeslizante(true, duracion, 64);
+    }
+
+    /**
+     * Agrega un valor a una ventana por cantidad
+     */
+    public void agregar(long valor) {
+        if (porTiempo) {
+            throw new IllegalStateException("La ventana es por tiempo: usa agregar(instante, valor)");
+        }
+        // La clave es la posición en la secuencia de valores
+        expulsarAntesDe(fin - alcance + 1);
+        insertar(fin, valor);
+    }
+
+    /**
+     * Agrega un valor con su instante a una ventana por tiempo
+     */
+    public void agregar(long instante, long valor) {
+        if (!porTiempo) {
+            throw new IllegalStateException("La ventana es por cantidad: usa agregar(valor)");
+        }
+        avanzar(instante);
+        insertar(instante, valor);
+    }
+
+    /**
+     * Mueve una ventana por tiempo hasta instante sin agregar nada
+     */
+    public void avanzar(long instante) {
+        if (!porTiempo) {
+            throw new IllegalStateException("La ventana es por cantidad");
+        }
+        if (instante < ultimaClave) {
+            throw new IllegalArgumentException("El instante " + instante + " es anterior a " + ultimaClave);
+        }
+        ultimaClave = instante;
+        expulsarAntesDe(instante - alcance + 1);
+    }
+
+    private void insertar(long clave, long valor) {
+        if (fin - cabeza == claves.length) {
+            crecer();
+        }
+        int posicion = (int) fin & mascara;
+        claves[posicion] = clave;
+        valores[posicion] = valor;
+        fin++;
+        suma += valor;
+        recienteMinimo = Math.min(recienteMinimo, valor);
+        recienteMaximo = Math.max(recienteMaximo, valor);
+    }
+
+    private void expulsarAntesDe(long limite) {
+        while (cabeza < fin && claves[(int) cabeza & mascara] < limite) {
+            if (cabeza == frontera) {
+                voltear();
+            }
+            suma -= valores[(int) cabeza & mascara];
+            cabeza++;
+        }
+    }
+
+    // La parte reciente pasa a ser la antigua, con sus mínimos y máximos por sufijo
+    private void voltear() {
+        long minimo = Long.MAX_VALUE;
+        long maximo = Long.MIN_VALUE;
+        for (long i = fin - 1; i >= frontera; i--) {
+            int posicion = (int) i & mascara;
+            minimo = Math.min(minimo, valores[posicion]);
+            maximo = Math.max(maximo, valores[posicion]);
+            sufijoMinimo[posicion] = minimo;
+            sufijoMaximo[posicion] = maximo;
+        }
+        frontera = fin;
+        recienteMinimo = Long.MAX_VALUE;
+        recienteMaximo = Long.MIN_VALUE;
+    }
+
+    private void crecer() {
+        int capacidad = claves.length * 2;
+        long[] nuevasClaves = new long[capacidad];
+        long[] nuevosValores = new long[capacidad];
+        long[] nuevoSufijoMinimo = new long[capacidad];
+        long[] nuevoSufijoMaximo = new long[capacidad];
+        for (long i = cabeza; i < fin; i++) {
+            int antes = (int) i & mascara;
+            int despues = (int) i & (capacidad - 1);
+            nuevasClaves[despues] = claves[antes];
+            nuevosValores[despues] = valores[antes];
+            nuevoSufijoMinimo[despues] = sufijoMinimo[antes];
+            nuevoSufijoMaximo[despues] = sufijoMaximo[antes];
+        }
+        claves = nuevasClaves;
+        valores = nuevosValores;
+        sufijoMinimo = nuevoSufijoMinimo;
+        sufijoMaximo = nuevoSufijoMaximo;
+        mascara = capacidad - 1;
+    }
+
+    public long getCantidad() {
+        return fin - cabeza;
+    }
+
+    public long getSuma() {
+        return suma;
+    }
+
+    public double getMedia() {
+        return fin == cabeza ? 0.0 : (double) suma / (fin - cabeza);
+    }
+
+    public long getMinimo() {
+        return cabeza < frontera
+            ? Math.min(sufijoMinimo[(int) cabeza & mascara], recienteMinimo)
+            : recienteMinimo;
+    }
+
+    public long getMaximo() {
+        return cabeza < frontera
+            ? Math.max(sufijoMaximo[(int) cabeza & mascara], recienteMaximo)
+            : recienteMaximo;
+    }
+
+    /**
+     * Foto de la ventana actual
+     */
+    public ResumenVentana resumen() {
+        if (porTiempo) {
+            long hasta = ultimaClave == Long.MIN_VALUE ? 0 : ultimaClave + 1;
+            return new ResumenVentana(hasta - alcance, hasta, getCantidad(), suma, getMinimo(), getMaximo());
+        }
+        return new ResumenVentana(cabeza, fin, getCantidad(), suma, getMinimo(), getMaximo());
+    }
+
+    @Override
+    public String toString() {
+        return "VentanaDeslizante" + resumen();
+    }
+}
@@ -0,0 +1,111 @@
+package com.jogli.bootcamp.java8.ventanas;
+
+import java.util.*;
+import java.util.function.*;
+
+/**
+ * Ventanas fijas consecutivas (tumbling): cada valor cae en una sola
+ *
+ * Mantiene cantidad, suma, mínimo y máximo de la ventana en curso (O(1)
+ * por valor, sin colas) y entrega un {@link ResumenVentana} al destino
+ * cuando la ventana se completa. Por tiempo, las ventanas están alineadas a
+ * múltiplos de la duración y las que no reciben ningún valor no se
+ * entregan. cerrar() entrega la ventana a medias, si tiene valores.
+ * No es segura para varios hilos.
+ */
+public final class VentanaFija {
+
+    private final boolean porTiempo;
+    private final long alcance;
+    private final Consumer<? super ResumenVentana> destino;
+
+    private long inicio;
+    private long cantidad;
+    private long suma;
+    private long minimo = Long.MAX_VALUE;
+    private long maximo = Long.MIN_VALUE;
+    private long ultimoInstante = Long.MIN_VALUE;
+    private long secuencia;
+
+    private VentanaFija(boolean porTiempo, long alcance, Consumer<? super ResumenVentana> destino) {
+        if (alcance < 1) {
+            throw new IllegalArgumentException("La ventana debe abarcar al menos 1: " + alcance);
+        }
+        this.porTiempo = porTiempo;
+        this.alcance = alcance;
+        this.destino = Objects.requireNonNull(destino, "destino");
+    }
+
+    /**
+     * Ventanas de tamanio valores consecutivos
+     */
+    public static VentanaFija porCantidad(int tamanio, Consumer<? super ResumenVentana> destino) {
+        return new VentanaFija(false, tamanio, destino);
+    }
+
+    /**
+     * Ventanas [k * duracion, (k + 1) * duracion) según el instante de cada valor
+     */
+    public static VentanaFija porTiempo(long duracion, Consumer<? super ResumenVentana> destino) {
+        return new VentanaFija(true, duracion, destino);
+    }
+
+    public void agregar(long valor) {
+        if (porTiempo) {
+            throw new IllegalStateException("La ventana es por tiempo: usa agregar(instante, valor)");
+        }
+        acumular(valor);
+        secuencia++;
+        if (cantidad == alcance) {
+            entregar(inicio + alcance);
+            inicio = secuencia;
+        }
+    }
+
+    public void agregar(long instante, long valor) {
+        if (!porTiempo) {
+            throw new IllegalStateException("La ventana es por cantidad: usa agregar(valor)");
+        }
+        if (instante < ultimoInstante) {
+            throw new IllegalArgumentException("El instante " + instante + " es anterior a " + ultimoInstante);
+        }
+        ultimoInstante = instante;
+        long ventana = Math.floorDiv(instante, alcance) * alcance;
+        if (ventana != inicio) {
+            if (cantidad > 0) {
+                entregar(inicio + alcance);
+            }
+            inicio = ventana;
+        }
+        acumular(valor);
+    }
+
+    private void acumular(long valor) {
+        cantidad++;
+        suma += valor;
+        if (valor < minimo) {
+            minimo = valor;
+        }
+        if (valor > maximo) {
+            maximo = valor;
+        }
+    }
+
+    /**
+     * Entrega la ventana en curso aunque no esté completa
+     */
+    public void cerrar() {
+        if (cantidad > 0) {
+            entregar(porTiempo ? inicio + alcance : secuencia);
+            inicio = porTiempo ? inicio + alcance : secuencia;
+        }
+    }
+
+    private void entregar(long fin) {
+        destino.accept(new ResumenVentana(inicio, fin, cantidad, suma, minimo, maximo));
+        cantidad = 0;
+        suma = 0;
+        minimo = Long.MAX_VALUE;
+        maximo = Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,99 @@
+package com.jogli.bootcamp.java8.ventanas;
+
+import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * Ventanas por cantidad sobre un LongStream, como stream de resúmenes
+ *
+ * Los resúmenes se calculan a medida que se consumen, así que la fuente
+ * puede ser infinita. Las ventanas dependen del orden, por lo que el
+ * stream resultante es secuencial.
+ */
+public final class Ventanas {
+
+    private Ventanas() {
+    }
+
+    /**
+     * Ventanas fijas de tamanio valores; la última puede ser más corta
+     */
+    public static Stream<ResumenVentana> fijas(LongStream valores, int tamanio) {
+        return resumenes(valores, (fuente, destino) -> {
+            VentanaFija ventana = VentanaFija.porCantidad(tamanio, destino);
+            return new Alimentador(fuente, ventana::agregar, ventana::cerrar);
+        });
+    }
+
+    /**
+     * Ventanas de tamanio valores que avanzan de paso en paso (solo completas)
+     *
+     * Con paso 1 hay un resumen por valor a partir del tamanio-ésimo.
+     */
+    public static Stream<ResumenVentana> deslizantes(LongStream valores, int tamanio, int paso) {
+        if (paso < 1) {
+            throw new IllegalArgumentException("El paso debe ser al menos 1: " + paso);
+        }
+        return resumenes(valores, (fuente, destino) -> {
+            VentanaDeslizante ventana = VentanaDeslizante.porCantidad(tamanio);
+            long[] vistos = new long[1];
+            return new Alimentador(fuente, valor -> {
+                ventana.agregar(valor);
+                long n = ++vistos[0];
+                if (n >= tamanio && (n - tamanio) % paso == 0) {
+                    destino.accept(ventana.resumen());
+                }
+            }, () -> { });
+        });
+    }
+
+    private static Stream<ResumenVentana> resumenes(
+            LongStream valores,
+            BiFunction<Spliterator.OfLong, Consumer<ResumenVentana>, Alimentador> crear) {
+        Spliterator.OfLong fuente = valores.spliterator();
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<ResumenVentana>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private final Deque<ResumenVentana> listos = new ArrayDeque<>();
+            private final Alimentador alimentador = crear.apply(fuente, listos::add);
+
+            @Override
+            public boolean tryAdvance(Consumer<? super ResumenVentana> accion) {
+                while (listos.isEmpty() && alimentador.siguiente()) {
+                    // Se leen valores hasta que se complete una ventana
+                }
+                ResumenVentana resumen = listos.poll();
+                if (resumen == null) {
+                    return false;
+                }
+                accion.accept(resumen);
+                return true;
+            }
+        }, false).onClose(valores::close);
+    }
+
+    // Pasa los valores de la fuente a una ventana de uno en uno
+    private static final class Alimentador {
+        private final Spliterator.OfLong fuente;
+        private final LongConsumer ventana;
+        private final Runnable alTerminar;
+        private boolean terminado;
+
+        Alimentador(Spliterator.OfLong fuente, LongConsumer ventana, Runnable alTerminar) {
+            this.fuente = fuente;
+            this.ventana = ventana;
+            this.alTerminar = alTerminar;
+        }
+
+        boolean siguiente() {
+            if (terminado) {
+                return false;
+            }
+            if (!fuente.tryAdvance(ventana)) {
+                terminado = true;
+                alTerminar.run();
+            }
+            return true;
+        }
+    }
+}